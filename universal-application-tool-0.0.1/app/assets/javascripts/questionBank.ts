@@ -1,30 +1,68 @@
-/** The question bank controller is responsible for manipulating the question bank. */
-
-class QuestionBankController {
-  static readonly FILTER_ID = 'question-bank-filter';
-  static readonly QUESTION_CLASS = 'cf-question-bank-element';
-
-  constructor() {
-    const questionBankFilter = document.getElementById(QuestionBankController.FILTER_ID);
-    if (questionBankFilter) {
-      questionBankFilter.addEventListener('input', QuestionBankController.filterQuestions, false);
-      QuestionBankController.filterQuestions();
-    }
-  }
-
-  /**
-   * Filter questions in the question bank with the filter input string, on the question name and description.
-   */
-  static filterQuestions() {
-    const filterString = (document.getElementById(QuestionBankController.FILTER_ID) as HTMLInputElement)
-      .value.toUpperCase();
-    const questions = Array.from(document.getElementsByClassName(QuestionBankController.QUESTION_CLASS));
-    questions.forEach(question => {
-      const questionElement = question as HTMLElement;
-      const questionContents = questionElement.innerText;
-      questionElement.classList.toggle("hidden", filterString.length && !questionContents.toUpperCase().includes(filterString));
-    });
-  }
-}
-
-new QuestionBankController();
+/**
+ * The question bank controller is responsible for manipulating the question bank.
+ *
+ * Questions are searched on the server, which responds with a page of matching questions as HTML.
+ */
+
+class QuestionBankController {
+  static readonly FILTER_ID = 'question-bank-filter';
+  static readonly RESULTS_ID = 'question-bank-results';
+  static readonly MORE_BUTTON_CLASS = 'cf-question-bank-more-button';
+  static readonly FILTER_DELAY_MS = 200;
+
+  private filterTimeout: number | undefined;
+  // Ignore responses to searches that have since been replaced by a newer one.
+  private latestSearch = 0;
+
+  constructor() {
+    const questionBankFilter = document.getElementById(QuestionBankController.FILTER_ID);
+    const results = document.getElementById(QuestionBankController.RESULTS_ID);
+    if (questionBankFilter && results) {
+      questionBankFilter.addEventListener('input', () => this.onFilterChanged(), false);
+      results.addEventListener('click', (event) => this.onResultsClicked(event), false);
+    }
+  }
+
+  private onFilterChanged() {
+    window.clearTimeout(this.filterTimeout);
+    this.filterTimeout = window.setTimeout(
+      () => this.search(1, /* append= */ false), QuestionBankController.FILTER_DELAY_MS);
+  }
+
+  private onResultsClicked(event: Event) {
+    const button = (event.target as HTMLElement).closest('.' + QuestionBankController.MORE_BUTTON_CLASS);
+    if (button) {
+      const nextPage = Number(button.getAttribute('data-next-page'));
+      button.remove();
+      this.search(nextPage, /* append= */ true);
+    }
+  }
+
+  /** Fetches a page of questions matching the filter, replacing or adding to the shown questions. */
+  private search(page: number, append: boolean) {
+    const filter = document.getElementById(QuestionBankController.FILTER_ID) as HTMLInputElement;
+    const url = new URL(filter.dataset.searchUrl || '', window.location.href);
+    url.searchParams.set('query', filter.value);
+    url.searchParams.set('page', String(page));
+    const search = ++this.latestSearch;
+    fetch(url.toString(), { credentials: 'same-origin' })
+      .then(response => response.ok ? response.text() : Promise.reject(response.status))
+      .then(html => {
+        if (search !== this.latestSearch) {
+          return;
+        }
+        const results = document.getElementById(QuestionBankController.RESULTS_ID);
+        if (!results) {
+          return;
+        }
+        if (append) {
+          results.insertAdjacentHTML('beforeend', html);
+        } else {
+          results.innerHTML = html;
+        }
+      })
+      .catch(status => console.error('Failed to search the question bank: ' + status));
+  }
+}
+
+new QuestionBankController();
@@ -0,0 +1,86 @@
+package auth;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableMap;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import org.pac4j.core.context.WebContext;
+import org.pac4j.play.PlayWebContext;
+import org.pac4j.play.store.DataEncrypter;
+import org.pac4j.play.store.PlayCookieSessionStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps pac4j sessions encrypted in the Play session cookie, in the compact form written by {@link
+ * SessionValuesSerializer}.
+ *
+ * <p>pac4j reads the session several times per request, and the same cookie is sent with every
+ * request until the session changes, so recently decoded cookies are kept in memory. Values read
+ * from the session must not be modified, since they are shared between requests.
+ */
+public final class CiviFormCookieSessionStore extends PlayCookieSessionStore {
+  private static final Logger LOG = LoggerFactory.getLogger(CiviFormCookieSessionStore.class);
+  private static final int MAX_DECODED_COOKIES = 10_000;
+  private static final Duration MAX_DECODED_COOKIE_IDLE = Duration.ofMinutes(10);
+
+  private final DataEncrypter dataEncrypter;
+  private final Cache<String, ImmutableMap<String, Object>> decodedCookies =
+      CacheBuilder.newBuilder()
+          .maximumSize(MAX_DECODED_COOKIES)
+          .expireAfterAccess(MAX_DECODED_COOKIE_IDLE)
+          .build();
+
+  public CiviFormCookieSessionStore(DataEncrypter dataEncrypter) {
+    super(dataEncrypter);
+    this.dataEncrypter = checkNotNull(dataEncrypter);
+  }
+
+  @Override
+  protected Map<String, Object> getSessionValues(WebContext context) {
+    Optional<String> cookie = ((PlayWebContext) context).getNativeSession().get(getSessionName());
+    if (cookie.isEmpty()) {
+      return new LinkedHashMap<>();
+    }
+    ImmutableMap<String, Object> values = decodedCookies.getIfPresent(cookie.get());
+    if (values == null) {
+      values = decode(cookie.get());
+      decodedCookies.put(cookie.get(), values);
+    }
+    // pac4j modifies the map it reads to make changes to the session.
+    return new LinkedHashMap<>(values);
+  }
+
+  private ImmutableMap<String, Object> decode(String cookie) {
+    try {
+      return SessionValuesSerializer.deserialize(
+              dataEncrypter.decrypt(Base64.getDecoder().decode(cookie)))
+          .map(ImmutableMap::copyOf)
+          .orElse(ImmutableMap.of());
+    } catch (IllegalArgumentException e) {
+      // The cookie was tampered with or its key has been rotated out, so start a new session.
+      LOG.warn("Ignoring unreadable session cookie: {}", e.getMessage());
+      return ImmutableMap.of();
+    }
+  }
+
+  @Override
+  protected void putSessionValues(WebContext context, Map<String, Object> values) {
+    PlayWebContext playContext = (PlayWebContext) context;
+    if (values == null) {
+      playContext.setNativeSession(playContext.getNativeSession().removing(getSessionName()));
+      return;
+    }
+    String cookie =
+        Base64.getEncoder()
+            .encodeToString(dataEncrypter.encrypt(SessionValuesSerializer.serialize(values)));
+    decodedCookies.put(cookie, ImmutableMap.copyOf(values));
+    playContext.setNativeSession(playContext.getNativeSession().adding(getSessionName(), cookie));
+  }
+}
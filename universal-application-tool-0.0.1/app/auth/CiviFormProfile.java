@@ -13,6 +13,7 @@ import javax.inject.Inject;
 import javax.persistence.EntityNotFoundException;
 import models.Account;
 import models.Applicant;
+import models.TrustedIntermediaryGroup;
 import play.libs.concurrent.HttpExecutionContext;
 import repository.DatabaseExecutionContext;
 
@@ -20,36 +21,77 @@ import repository.DatabaseExecutionContext;
  * This is a "pure" wrapper of CiviFormProfileData. Since CiviFormProfileData is the serialized data
  * about a profile, this class should not store any data that should be serialized. It should
  * contain only server-local information, like execution contexts, database connections, etc.
+ *
+ * <p>A request-scoped profile, see {@link RequestIdentity}, looks up its {@link Account}, {@link
+ * Applicant} and {@link TrustedIntermediaryGroup} at most once and reuses them for the rest of the
+ * request. Other profiles look them up on every call.
  */
 public class CiviFormProfile {
   private DatabaseExecutionContext dbContext;
   private HttpExecutionContext httpContext;
   private CiviFormProfileData profileData;
+  private final boolean requestScoped;
+  private CompletableFuture<Account> account;
+  private CompletableFuture<Applicant> applicant;
+  private CompletableFuture<Optional<TrustedIntermediaryGroup>> trustedIntermediaryGroup;
 
   @Inject
   public CiviFormProfile(
       DatabaseExecutionContext dbContext,
       HttpExecutionContext httpContext,
       CiviFormProfileData profileData) {
+    this(dbContext, httpContext, profileData, /* requestScoped= */ false);
+  }
+
+  CiviFormProfile(
+      DatabaseExecutionContext dbContext,
+      HttpExecutionContext httpContext,
+      CiviFormProfileData profileData,
+      boolean requestScoped) {
     this.dbContext = Preconditions.checkNotNull(dbContext);
     this.httpContext = Preconditions.checkNotNull(httpContext);
     this.profileData = Preconditions.checkNotNull(profileData);
+    this.requestScoped = requestScoped;
   }
 
   /** Get the latest {@link Applicant} associated with the profile. */
-  public CompletableFuture<Applicant> getApplicant() {
-    return this.getAccount()
-        .thenApplyAsync(
-            (a) ->
-                a.getApplicants().stream()
-                    .sorted(Comparator.comparing((applicant) -> applicant.getWhenCreated()))
-                    .findFirst()
-                    .orElseThrow(),
-            httpContext.current());
+  public synchronized CompletableFuture<Applicant> getApplicant() {
+    if (applicant == null || !requestScoped) {
+      applicant =
+          this.getAccount()
+              .thenApplyAsync(
+                  (a) ->
+                      a.getApplicants().stream()
+                          .sorted(Comparator.comparing((applicant) -> applicant.getWhenCreated()))
+                          .findFirst()
+                          .orElseThrow(),
+                  httpContext.current());
+    }
+    return applicant;
   }
 
   /** Look up the {@link Account} associated with the profile from database. */
-  public CompletableFuture<Account> getAccount() {
+  public synchronized CompletableFuture<Account> getAccount() {
+    if (account == null || !requestScoped) {
+      account = lookupAccount();
+    }
+    return account;
+  }
+
+  /** Get the {@link TrustedIntermediaryGroup} the profile's account is a member of, if any. */
+  public CompletableFuture<Optional<TrustedIntermediaryGroup>> getTrustedIntermediaryGroup() {
+    return getTrustedIntermediaryGroup(getAccount());
+  }
+
+  private synchronized CompletableFuture<Optional<TrustedIntermediaryGroup>>
+      getTrustedIntermediaryGroup(CompletableFuture<Account> account) {
+    if (trustedIntermediaryGroup == null || !requestScoped) {
+      trustedIntermediaryGroup = account.thenApplyAsync(Account::getMemberOfGroup, dbContext);
+    }
+    return trustedIntermediaryGroup;
+  }
+
+  private CompletableFuture<Account> lookupAccount() {
     return supplyAsync(
         () -> {
           Account account = new Account();
@@ -157,13 +199,14 @@ public class CiviFormProfile {
    * @return the future of the check
    */
   public CompletableFuture<Void> checkAuthorization(long applicantId) {
-    return getAccount()
-        .thenApplyAsync(
-            account ->
+    CompletableFuture<Account> futureAccount = getAccount();
+    return futureAccount
+        .thenCombine(
+            getTrustedIntermediaryGroup(futureAccount),
+            (account, tiGroup) ->
                 Stream.concat(
-                        account
-                            .getMemberOfGroup()
-                            .flatMap(tiGroup -> Optional.of(tiGroup.getManagedAccounts().stream()))
+                        tiGroup
+                            .flatMap(group -> Optional.of(group.getManagedAccounts().stream()))
                             .orElse(Stream.of()),
                         Stream.of(account))
                     .map(Account::ownedApplicantIds)
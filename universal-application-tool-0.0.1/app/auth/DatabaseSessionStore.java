@@ -0,0 +1,188 @@
+package auth;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import akka.actor.ActorSystem;
+import akka.actor.Cancellable;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableMap;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import org.pac4j.core.context.WebContext;
+import org.pac4j.play.PlayWebContext;
+import org.pac4j.play.store.PlayCookieSessionStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import play.Environment;
+import play.inject.ApplicationLifecycle;
+import repository.DatabaseExecutionContext;
+import repository.SessionRepository;
+
+/**
+ * Keeps pac4j sessions in the database, so that the session cookie only holds a random session ID
+ * and sessions can be ended on the server.
+ *
+ * <p>The cookie also holds a version that changes whenever the session does, and the session's row
+ * records the version it was last saved with. Each server keeps recently read sessions in memory by
+ * cookie, but checks the row's version before using one. So a server never uses a copy of a session
+ * that another server has since changed or ended, such as by logging out.
+ */
+@Singleton
+public final class DatabaseSessionStore extends PlayCookieSessionStore {
+  private static final Logger LOG = LoggerFactory.getLogger(DatabaseSessionStore.class);
+  private static final int MAX_CACHED_SESSIONS = 10_000;
+  /**
+   * Sessions are reloaded at least this often, which also records that they are still in use. Their
+   * version is checked on every use regardless.
+   */
+  private static final Duration MAX_CACHED_SESSION_AGE = Duration.ofHours(1);
+  /** Sessions that have not been used for this long are deleted. */
+  private static final Duration MAX_SESSION_IDLE = Duration.ofDays(30);
+
+  private static final Duration CLEANUP_INTERVAL = Duration.ofHours(1);
+  private static final char VERSION_SEPARATOR = '.';
+
+  private final SessionRepository sessionRepository;
+  private final SecureRandom random = new SecureRandom();
+  private final Cache<String, ImmutableMap<String, Object>> sessionsByCookie =
+      CacheBuilder.newBuilder()
+          .maximumSize(MAX_CACHED_SESSIONS)
+          .expireAfterWrite(MAX_CACHED_SESSION_AGE)
+          .build();
+
+  @Inject
+  public DatabaseSessionStore(
+      SessionRepository sessionRepository,
+      ActorSystem actorSystem,
+      DatabaseExecutionContext executionContext,
+      Environment environment,
+      ApplicationLifecycle appLifecycle) {
+    this.sessionRepository = checkNotNull(sessionRepository);
+
+    if (environment.isTest()) {
+      return;
+    }
+    Cancellable cleaner =
+        actorSystem
+            .scheduler()
+            .scheduleWithFixedDelay(
+                CLEANUP_INTERVAL, CLEANUP_INTERVAL, this::deleteIdleSessions, executionContext);
+    appLifecycle.addStopHook(
+        () -> {
+          cleaner.cancel();
+          return CompletableFuture.completedFuture(null);
+        });
+  }
+
+  @Override
+  protected Map<String, Object> getSessionValues(WebContext context) {
+    Optional<String> cookie = getCookie(context);
+    if (cookie.isEmpty()) {
+      return new LinkedHashMap<>();
+    }
+    String sessionId = sessionId(cookie.get());
+    ImmutableMap<String, Object> cached = sessionsByCookie.getIfPresent(cookie.get());
+    if (cached != null) {
+      if (sessionRepository.findVersion(sessionId).equals(Optional.of(version(cookie.get())))) {
+        // pac4j modifies the map it reads to make changes to the session.
+        return new LinkedHashMap<>(cached);
+      }
+      // Another server has changed or ended the session since it was cached.
+      sessionsByCookie.invalidate(cookie.get());
+    }
+    Optional<byte[]> data = sessionRepository.findAndTouch(sessionId);
+    if (data.isEmpty()) {
+      return new LinkedHashMap<>();
+    }
+    ImmutableMap<String, Object> values =
+        SessionValuesSerializer.deserialize(data.get())
+            .map(ImmutableMap::copyOf)
+            .orElse(ImmutableMap.of());
+    sessionsByCookie.put(cookie.get(), values);
+    return new LinkedHashMap<>(values);
+  }
+
+  @Override
+  protected void putSessionValues(WebContext context, Map<String, Object> values) {
+    Optional<String> cookie = getCookie(context);
+    if (values == null) {
+      cookie.ifPresent(
+          c -> {
+            sessionsByCookie.invalidate(c);
+            sessionRepository.delete(sessionId(c));
+          });
+      setCookie(context, Optional.empty());
+      return;
+    }
+    save(context, cookie.map(this::sessionId).orElseGet(this::newToken), values);
+  }
+
+  /** Moves the session to a new ID, so that an ID known before logging in is no use after. */
+  @Override
+  public boolean renewSession(WebContext context) {
+    Optional<String> cookie = getCookie(context);
+    if (cookie.isEmpty()) {
+      return true;
+    }
+    Map<String, Object> values = getSessionValues(context);
+    sessionsByCookie.invalidate(cookie.get());
+    sessionRepository.delete(sessionId(cookie.get()));
+    save(context, newToken(), values);
+    return true;
+  }
+
+  private void save(WebContext context, String sessionId, Map<String, Object> values) {
+    String version = newToken();
+    sessionRepository.save(sessionId, version, SessionValuesSerializer.serialize(values));
+    String cookie = sessionId + VERSION_SEPARATOR + version;
+    sessionsByCookie.put(cookie, ImmutableMap.copyOf(values));
+    setCookie(context, Optional.of(cookie));
+  }
+
+  private void deleteIdleSessions() {
+    try {
+      int deleted = sessionRepository.deleteIdleSince(Instant.now().minus(MAX_SESSION_IDLE));
+      LOG.info("Deleted {} idle sessions", deleted);
+    } catch (RuntimeException e) {
+      // Keep the schedule running; the next cleanup will try again.
+      LOG.error("Failed to delete idle sessions", e);
+    }
+  }
+
+  private Optional<String> getCookie(WebContext context) {
+    return ((PlayWebContext) context).getNativeSession().get(getSessionName());
+  }
+
+  private void setCookie(WebContext context, Optional<String> cookie) {
+    PlayWebContext playContext = (PlayWebContext) context;
+    playContext.setNativeSession(
+        cookie.isPresent()
+            ? playContext.getNativeSession().adding(getSessionName(), cookie.get())
+            : playContext.getNativeSession().removing(getSessionName()));
+  }
+
+  private String sessionId(String cookie) {
+    int separator = cookie.indexOf(VERSION_SEPARATOR);
+    return separator < 0 ? cookie : cookie.substring(0, separator);
+  }
+
+  private String version(String cookie) {
+    int separator = cookie.indexOf(VERSION_SEPARATOR);
+    return separator < 0 ? "" : cookie.substring(separator + 1);
+  }
+
+  private String newToken() {
+    byte[] token = new byte[24];
+    random.nextBytes(token);
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(token);
+  }
+}
@@ -50,6 +50,14 @@ public class ProfileFactory {
     return new CiviFormProfile(dbContext, httpContext, p);
   }
 
+  /**
+   * Wraps profile data for use during a single request, looking up the profile's account, applicant
+   * and trusted intermediary group at most once.
+   */
+  CiviFormProfile wrapProfileDataForRequest(CiviFormProfileData p) {
+    return new CiviFormProfile(dbContext, httpContext, p, /* requestScoped= */ true);
+  }
+
   private CiviFormProfileData create(Roles role) {
     CiviFormProfileData p = new CiviFormProfileData();
     p.init(dbContext);
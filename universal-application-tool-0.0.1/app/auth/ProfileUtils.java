@@ -2,7 +2,6 @@ package auth;
 
 import com.google.common.base.Preconditions;
 import java.util.Optional;
-import java.util.concurrent.CompletionException;
 import javax.inject.Inject;
 import org.pac4j.core.context.WebContext;
 import org.pac4j.core.context.session.SessionStore;
@@ -24,12 +23,34 @@ public class ProfileUtils {
   /**
    * Fetch the current profile from the session cookie, which the ProfileManager will fetch from the
    * request's cookies, using the injected session store to decrypt it.
+   *
+   * <p>If the request carries a {@link RequestIdentity}, its request-scoped profile is returned
+   * instead, so that every caller during the request shares the same lookups.
    */
   public Optional<CiviFormProfile> currentUserProfile(Http.RequestHeader request) {
+    Optional<RequestIdentity> identity = request.attrs().getOptional(RequestIdentity.ATTRIBUTE_KEY);
+    if (identity.isPresent()) {
+      return identity.get().getProfile();
+    }
     PlayWebContext webContext = new PlayWebContext(request);
     return currentUserProfile(webContext);
   }
 
+  /**
+   * Create the {@link RequestIdentity} for the request. The profile is only decoded from the
+   * request's cookies once it is first needed.
+   */
+  public RequestIdentity newRequestIdentity(Http.RequestHeader request) {
+    return new RequestIdentity(
+        () -> {
+          ProfileManager profileManager =
+              new ProfileManager(new PlayWebContext(request), sessionStore);
+          return profileManager
+              .getProfile(CiviFormProfileData.class)
+              .map(profileFactory::wrapProfileDataForRequest);
+        });
+  }
+
   /**
    * Fetch the current profile from the session cookie, which the ProfileManager will fetch from the
    * context's cookies, using the injected session store to decrypt it.
@@ -42,17 +63,4 @@ public class ProfileUtils {
     }
     return Optional.of(profileFactory.wrapProfileData(p.get()));
   }
-
-  /** Return true if the account referenced by the profile exists. */
-  public boolean validCiviFormProfile(CiviFormProfile profile) {
-    try {
-      profile.getAccount().join();
-      return true;
-    } catch (CompletionException e) {
-      if (e.getCause() instanceof AccountNonexistentException) {
-        return false;
-      }
-      throw new RuntimeException(e);
-    }
-  }
 }
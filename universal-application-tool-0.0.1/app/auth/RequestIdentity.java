@@ -0,0 +1,33 @@
+package auth;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
+import java.util.Optional;
+import play.libs.typedmap.TypedKey;
+
+/**
+ * The identity of the user making a request, attached to the request's attributes by {@link
+ * filters.RequestIdentityFilter}.
+ *
+ * <p>The profile is decoded from the session cookie the first time it is needed, and is the same
+ * request-scoped {@link CiviFormProfile} for the rest of the request, so the account, applicant and
+ * trusted intermediary group are each looked up at most once however many authorization checks,
+ * controllers and views ask for them.
+ */
+public final class RequestIdentity {
+  public static final TypedKey<RequestIdentity> ATTRIBUTE_KEY =
+      TypedKey.create("civiformRequestIdentity");
+
+  private final Supplier<Optional<CiviFormProfile>> profile;
+
+  RequestIdentity(Supplier<Optional<CiviFormProfile>> profileLookup) {
+    this.profile = Suppliers.memoize(checkNotNull(profileLookup));
+  }
+
+  /** Returns the profile of the user making the request, if they are logged in. */
+  public Optional<CiviFormProfile> getProfile() {
+    return profile.get();
+  }
+}
@@ -0,0 +1,94 @@
+package auth;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.collect.ImmutableList.toImmutableList;
+
+import com.google.common.base.Splitter;
+import com.google.common.collect.ImmutableList;
+import com.google.common.hash.Hashing;
+import com.typesafe.config.Config;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Random;
+import org.pac4j.play.store.DataEncrypter;
+import org.pac4j.play.store.ShiroAesDataEncrypter;
+
+/**
+ * Encrypts session cookies with the first of several AES keys, and decrypts cookies encrypted with
+ * any of them.
+ *
+ * <p>Every server must be configured with the same keys so that any of them can read any session.
+ * To rotate keys, add the new key first and remove the old key once the cookies it encrypted have
+ * expired.
+ */
+public final class RotatingDataEncrypter implements DataEncrypter {
+  static final String KEYS_CONFIG_PATH = "session_encryption_keys";
+  static final String ACCEPT_LEGACY_KEY_CONFIG_PATH = "session_accept_legacy_key";
+
+  private final ImmutableList<ShiroAesDataEncrypter> encrypters;
+
+  RotatingDataEncrypter(ImmutableList<byte[]> keys) {
+    checkArgument(!keys.isEmpty(), "At least one session encryption key is required");
+    this.encrypters = keys.stream().map(ShiroAesDataEncrypter::new).collect(toImmutableList());
+  }
+
+  /**
+   * Uses the comma-separated base64-encoded keys at {@link #KEYS_CONFIG_PATH}, or a key derived
+   * from the application secret if there are none. Unless {@link #ACCEPT_LEGACY_KEY_CONFIG_PATH} is
+   * false, cookies encrypted with the key that was derived from the secret by earlier versions are
+   * still accepted, so deploying this does not log everyone out.
+   */
+  public static RotatingDataEncrypter fromConfig(Config config) {
+    String secret = config.getString("play.http.secret.key");
+    ImmutableList.Builder<byte[]> keys = ImmutableList.builder();
+    String configuredKeys =
+        config.hasPath(KEYS_CONFIG_PATH) ? config.getString(KEYS_CONFIG_PATH) : "";
+    if (configuredKeys.isBlank()) {
+      keys.add(Hashing.sha256().hashString(secret, StandardCharsets.UTF_8).asBytes());
+    } else {
+      for (String key : Splitter.on(',').trimResults().omitEmptyStrings().split(configuredKeys)) {
+        byte[] decoded = Base64.getDecoder().decode(key);
+        checkArgument(
+            decoded.length == 16 || decoded.length == 24 || decoded.length == 32,
+            "Session encryption keys must be 128, 192 or 256 bits");
+        keys.add(decoded);
+      }
+    }
+    if (!config.hasPath(ACCEPT_LEGACY_KEY_CONFIG_PATH)
+        || config.getBoolean(ACCEPT_LEGACY_KEY_CONFIG_PATH)) {
+      keys.add(legacyKey(secret));
+    }
+    return new RotatingDataEncrypter(keys.build());
+  }
+
+  /** The key earlier versions derived from the secret, which only has 32 bits of entropy. */
+  private static byte[] legacyKey(String secret) {
+    Random random = new Random();
+    random.setSeed(secret.hashCode());
+    byte[] key = new byte[32];
+    random.nextBytes(key);
+    return key;
+  }
+
+  @Override
+  public byte[] encrypt(byte[] rawBytes) {
+    return encrypters.get(0).encrypt(rawBytes);
+  }
+
+  /**
+   * Decrypts with each key in turn.
+   *
+   * @throws IllegalArgumentException if none of the keys can decrypt the data
+   */
+  @Override
+  public byte[] decrypt(byte[] encryptedBytes) {
+    for (ShiroAesDataEncrypter encrypter : encrypters) {
+      try {
+        return encrypter.decrypt(encryptedBytes);
+      } catch (RuntimeException e) {
+        // Encrypted with a different key; try the next one.
+      }
+    }
+    throw new IllegalArgumentException("Session cookie was not encrypted with a known key");
+  }
+}
@@ -0,0 +1,183 @@
+package auth;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import org.pac4j.core.util.Pac4jConstants;
+import org.pac4j.play.store.PlayCookieSessionStore;
+
+/**
+ * Converts pac4j session values to and from a compact JSON form.
+ *
+ * <p>Strings and {@link CiviFormProfileData} profiles, which are nearly all that sessions hold, are
+ * written as plain JSON. Any other values, such as those stored during an OIDC login, fall back to
+ * Java serialization. Sessions serialized by earlier versions, entirely with Java serialization,
+ * can still be read.
+ */
+final class SessionValuesSerializer {
+  private static final byte FORMAT_VERSION = 1;
+  /** The first byte of gzip data, which is how earlier versions stored sessions. */
+  private static final byte LEGACY_FORMAT = 0x1f;
+
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+
+  private SessionValuesSerializer() {}
+
+  static byte[] serialize(Map<String, Object> values) {
+    ObjectNode strings = MAPPER.createObjectNode();
+    Map<String, Object> otherValues = new LinkedHashMap<>();
+    Optional<ArrayNode> profiles = Optional.empty();
+    for (Map.Entry<String, Object> entry : values.entrySet()) {
+      if (entry.getValue() instanceof String) {
+        strings.put(entry.getKey(), (String) entry.getValue());
+        continue;
+      }
+      if (entry.getKey().equals(Pac4jConstants.USER_PROFILES)) {
+        profiles = serializeProfiles(entry.getValue());
+        if (profiles.isPresent()) {
+          continue;
+        }
+      }
+      otherValues.put(entry.getKey(), entry.getValue());
+    }
+
+    ObjectNode json = MAPPER.createObjectNode();
+    json.set("strings", strings);
+    profiles.ifPresent(serializedProfiles -> json.set("profiles", serializedProfiles));
+    if (!otherValues.isEmpty()) {
+      json.put(
+          "java",
+          Base64.getEncoder()
+              .encodeToString(
+                  PlayCookieSessionStore.JAVA_SERIALIZER.serializeToBytes(
+                      new LinkedHashMap<>(otherValues))));
+    }
+    byte[] body;
+    try {
+      body = MAPPER.writeValueAsBytes(json);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    byte[] serialized = new byte[body.length + 1];
+    serialized[0] = FORMAT_VERSION;
+    System.arraycopy(body, 0, serialized, 1, body.length);
+    return serialized;
+  }
+
+  /**
+   * Returns the session values, or empty if they cannot be read, such as when the classes of Java
+   * serialized values have changed.
+   */
+  @SuppressWarnings("unchecked")
+  static Optional<Map<String, Object>> deserialize(byte[] serialized) {
+    if (serialized.length == 0) {
+      return Optional.empty();
+    }
+    if (serialized[0] == LEGACY_FORMAT) {
+      return Optional.ofNullable(
+          (Map<String, Object>)
+              PlayCookieSessionStore.JAVA_SERIALIZER.deserializeFromBytes(
+                  PlayCookieSessionStore.uncompressBytes(serialized)));
+    }
+    if (serialized[0] != FORMAT_VERSION) {
+      return Optional.empty();
+    }
+    JsonNode json;
+    try {
+      json = MAPPER.readTree(Arrays.copyOfRange(serialized, 1, serialized.length));
+    } catch (IOException e) {
+      return Optional.empty();
+    }
+    Map<String, Object> values = new LinkedHashMap<>();
+    if (json.has("java")) {
+      Object otherValues =
+          PlayCookieSessionStore.JAVA_SERIALIZER.deserializeFromBytes(
+              Base64.getDecoder().decode(json.get("java").asText()));
+      if (otherValues == null) {
+        return Optional.empty();
+      }
+      values.putAll((Map<String, Object>) otherValues);
+    }
+    json.get("strings")
+        .fields()
+        .forEachRemaining(e -> values.put(e.getKey(), e.getValue().asText()));
+    if (json.has("profiles")) {
+      values.put(Pac4jConstants.USER_PROFILES, deserializeProfiles(json.get("profiles")));
+    }
+    return Optional.of(values);
+  }
+
+  /**
+   * Serializes the user profiles if they are all {@link CiviFormProfileData} with only string
+   * attributes, and returns empty otherwise.
+   */
+  private static Optional<ArrayNode> serializeProfiles(Object value) {
+    if (!(value instanceof Map)) {
+      return Optional.empty();
+    }
+    ArrayNode profiles = MAPPER.createArrayNode();
+    for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+      if (!(entry.getKey() instanceof String)
+          || entry.getValue() == null
+          || entry.getValue().getClass() != CiviFormProfileData.class) {
+        return Optional.empty();
+      }
+      CiviFormProfileData profile = (CiviFormProfileData) entry.getValue();
+      if (!profile.getAuthenticationAttributes().isEmpty()) {
+        return Optional.empty();
+      }
+      ObjectNode attributes = MAPPER.createObjectNode();
+      for (Map.Entry<String, Object> attribute : profile.getAttributes().entrySet()) {
+        if (!(attribute.getValue() instanceof String)) {
+          return Optional.empty();
+        }
+        attributes.put(attribute.getKey(), (String) attribute.getValue());
+      }
+      ObjectNode serialized =
+          profiles
+              .addObject()
+              .put("key", (String) entry.getKey())
+              .put("id", profile.getId())
+              .put("clientName", profile.getClientName())
+              .put("linkedId", profile.getLinkedId())
+              .put("remembered", profile.isRemembered());
+      profile.getRoles().forEach(serialized.putArray("roles")::add);
+      profile.getPermissions().forEach(serialized.putArray("permissions")::add);
+      serialized.set("attributes", attributes);
+    }
+    return Optional.of(profiles);
+  }
+
+  private static LinkedHashMap<String, CiviFormProfileData> deserializeProfiles(JsonNode profiles) {
+    LinkedHashMap<String, CiviFormProfileData> deserialized = new LinkedHashMap<>();
+    for (JsonNode serialized : profiles) {
+      CiviFormProfileData profile = new CiviFormProfileData();
+      textValue(serialized.get("id")).ifPresent(profile::setId);
+      textValue(serialized.get("clientName")).ifPresent(profile::setClientName);
+      textValue(serialized.get("linkedId")).ifPresent(profile::setLinkedId);
+      profile.setRemembered(serialized.get("remembered").asBoolean());
+      serialized.get("roles").forEach(role -> profile.addRole(role.asText()));
+      serialized
+          .get("permissions")
+          .forEach(permission -> profile.addPermission(permission.asText()));
+      serialized
+          .get("attributes")
+          .fields()
+          .forEachRemaining(e -> profile.addAttribute(e.getKey(), e.getValue().asText()));
+      deserialized.put(serialized.get("key").asText(), profile);
+    }
+    return deserialized;
+  }
+
+  private static Optional<String> textValue(JsonNode node) {
+    return node == null || node.isNull() ? Optional.empty() : Optional.of(node.asText());
+  }
+}
@@ -2,11 +2,15 @@ package controllers;
 
 import auth.ProfileUtils;
 import com.google.common.collect.ImmutableSet;
+import java.util.Optional;
 import java.util.StringJoiner;
 import java.util.concurrent.CompletableFuture;
 import play.mvc.Controller;
 import play.mvc.Http;
+import play.mvc.Result;
+import play.twirl.api.Content;
 import services.CiviFormError;
+import views.ChunkedContent;
 
 /**
  * Base Controller providing useful helper functions that can be utilized by all CiviForm
@@ -34,4 +38,17 @@ public class CiviFormController extends Controller {
         .orElseThrow()
         .checkProgramAuthorization(programName);
   }
+
+  /**
+   * Returns 200 OK with the page, streamed to the browser in chunks as it is rendered if it has not
+   * been rendered already. Use this for pages that may be large.
+   */
+  protected Result okChunked(Content page) {
+    if (page instanceof ChunkedContent) {
+      return ok().chunked(
+              ((ChunkedContent) page).chunks(),
+              Optional.of(Http.MimeTypes.HTML + "; charset=utf-8"));
+    }
+    return ok(page);
+  }
 }
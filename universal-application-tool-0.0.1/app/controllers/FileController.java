@@ -4,12 +4,15 @@ import static com.google.common.base.Preconditions.checkNotNull;
 
 import auth.Authorizers;
 import auth.ProfileUtils;
+import java.nio.file.Path;
+import java.util.Optional;
 import java.util.concurrent.CompletionException;
 import java.util.concurrent.CompletionStage;
 import javax.inject.Inject;
 import org.pac4j.play.java.Secure;
 import play.libs.concurrent.HttpExecutionContext;
 import play.mvc.Http.Request;
+import play.mvc.RangeResults;
 import play.mvc.Result;
 import services.aws.SimpleStorage;
 import services.program.ProgramDefinition;
@@ -46,7 +49,7 @@ public class FileController extends CiviFormController {
               if (!fileKey.contains(String.format("applicant-%d", applicantId))) {
                 return notFound();
               }
-              return redirect(amazonS3Client.getPresignedUrl(fileKey).toString());
+              return serveFile(request, fileKey);
             },
             httpExecutionContext.current())
         .exceptionally(
@@ -70,7 +73,7 @@ public class FileController extends CiviFormController {
       if (!fileKey.contains(String.format("program-%d", programId))) {
         return notFound();
       }
-      return redirect(amazonS3Client.getPresignedUrl(fileKey).toString());
+      return serveFile(request, fileKey);
     } catch (ProgramNotFoundException e) {
       return notFound(e.toString());
     } catch (CompletionException e) {
@@ -78,4 +81,19 @@ public class FileController extends CiviFormController {
       return unauthorized();
     }
   }
+
+  /**
+   * Sends files in local storage straight from disk, and otherwise redirects to a presigned S3
+   * link.
+   */
+  private Result serveFile(Request request, String fileKey) {
+    if (amazonS3Client.usesLocalStorage()) {
+      Optional<Path> localFile = amazonS3Client.getLocalFile(fileKey);
+      if (localFile.isEmpty()) {
+        return notFound();
+      }
+      return RangeResults.ofPath(request, localFile.get());
+    }
+    return redirect(amazonS3Client.getPresignedUrl(fileKey).toString());
+  }
 }
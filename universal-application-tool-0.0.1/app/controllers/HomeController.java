@@ -15,6 +15,7 @@ import play.libs.concurrent.HttpExecutionContext;
 import play.mvc.Controller;
 import play.mvc.Http;
 import play.mvc.Result;
+import services.WarmupService;
 import services.applicant.ApplicantData;
 import views.LoginForm;
 
@@ -25,17 +26,20 @@ public class HomeController extends Controller {
   private final ProfileUtils profileUtils;
   private final MessagesApi messagesApi;
   private final HttpExecutionContext httpExecutionContext;
+  private final WarmupService warmupService;
 
   @Inject
   public HomeController(
       LoginForm form,
       ProfileUtils profileUtils,
       MessagesApi messagesApi,
-      HttpExecutionContext httpExecutionContext) {
+      HttpExecutionContext httpExecutionContext,
+      WarmupService warmupService) {
     this.loginForm = checkNotNull(form);
     this.profileUtils = checkNotNull(profileUtils);
     this.messagesApi = checkNotNull(messagesApi);
     this.httpExecutionContext = checkNotNull(httpExecutionContext);
+    this.warmupService = checkNotNull(warmupService);
   }
 
   public CompletionStage<Result> index(Http.Request request) {
@@ -86,6 +90,17 @@ public class HomeController extends Controller {
     return ok("public index");
   }
 
+  /**
+   * Health check for the load balancer. Returns 503 until the server has finished warming up, so
+   * that new nodes only receive traffic once their first requests will be fast.
+   */
+  public Result readiness() {
+    if (!warmupService.isReady()) {
+      return status(SERVICE_UNAVAILABLE, "warming up");
+    }
+    return ok("ready");
+  }
+
   @Secure
   public Result securePlayIndex() {
     return ok("You are logged in.");
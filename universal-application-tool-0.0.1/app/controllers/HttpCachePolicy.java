@@ -0,0 +1,147 @@
+package controllers;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import auth.CiviFormProfile;
+import auth.ProfileUtils;
+import com.google.common.base.Splitter;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSortedSet;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.typesafe.config.Config;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.function.Supplier;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import play.mvc.Http;
+import play.mvc.Result;
+import play.mvc.Results;
+import play.routing.HandlerDef;
+import play.routing.Router;
+import repository.VersionRepository;
+
+/**
+ * Lets browsers keep pages that only change when a version is published or when the viewer's own
+ * state changes, such as the applicant's program index, and revalidate them cheaply.
+ *
+ * <p>Routes opt in with the {@code +cacheable} modifier in {@code conf/routes}, and their actions
+ * build the response through {@link #ifNoneMatch}. The page's entity tag is derived from the active
+ * version, the locale, the viewer and everything else the page shows, so a browser's copy is reused
+ * with a 304 response, without rendering the page, until any of them changes. All other routes are
+ * never cached, as set by {@link filters.DisableCachingFilter}.
+ */
+@Singleton
+public final class HttpCachePolicy {
+  /** The route modifier that marks a route's responses as cacheable by the browser. */
+  public static final String CACHEABLE_MODIFIER = "cacheable";
+
+  /** Browsers may keep the page, but must check that it is still current before each use. */
+  public static final String CACHEABLE_CACHE_CONTROL = "private, no-cache";
+
+  private static final Splitter ENTITY_TAG_SPLITTER = Splitter.on(',').trimResults();
+  private static final String WEAK_PREFIX = "W/";
+
+  private final VersionRepository versionRepository;
+  private final ProfileUtils profileUtils;
+  private final String csrfTokenName;
+
+  @Inject
+  public HttpCachePolicy(
+      VersionRepository versionRepository, ProfileUtils profileUtils, Config configuration) {
+    this.versionRepository = checkNotNull(versionRepository);
+    this.profileUtils = checkNotNull(profileUtils);
+    this.csrfTokenName = checkNotNull(configuration).getString("play.filters.csrf.token.name");
+  }
+
+  /** Returns whether the request's route is marked with the {@code +cacheable} modifier. */
+  public static boolean isCacheable(Http.RequestHeader request) {
+    return request
+        .attrs()
+        .getOptional(Router.Attrs.HANDLER_DEF)
+        .map(HandlerDef::getModifiers)
+        .map(modifiers -> modifiers.contains(CACHEABLE_MODIFIER))
+        .orElse(false);
+  }
+
+  /**
+   * Returns 304 Not Modified if the browser already has the page, and otherwise renders it with an
+   * entity tag so that the browser can ask again next time.
+   *
+   * @param viewerState everything the page shows besides the active version's programs and
+   *     questions and the viewer's identity, such as the applicant's name, the IDs of the programs
+   *     listed and any flash message. Each element is compared by its string form.
+   */
+  public Result ifNoneMatch(
+      Http.Request request,
+      Locale locale,
+      ImmutableList<?> viewerState,
+      Supplier<Result> renderer) {
+    Optional<String> entityTag = entityTag(request, locale, viewerState);
+    if (entityTag.isEmpty()) {
+      return renderer.get();
+    }
+    if (request.header(Http.HeaderNames.IF_NONE_MATCH).stream()
+        .anyMatch(ifNoneMatch -> matches(ifNoneMatch, entityTag.get()))) {
+      return Results.status(Http.Status.NOT_MODIFIED)
+          .withHeader(Http.HeaderNames.ETAG, entityTag.get());
+    }
+    return renderer.get().withHeader(Http.HeaderNames.ETAG, entityTag.get());
+  }
+
+  /**
+   * Returns the page's entity tag, or empty if the page cannot be reused.
+   *
+   * <p>Pages include a CSRF token, which stays valid for as long as the session's token does. A
+   * request without one in its session gets a new token with the page, so the page is never reused.
+   * Since the signed token differs each time the page is rendered, the tag is weak.
+   */
+  private Optional<String> entityTag(
+      Http.Request request, Locale locale, ImmutableList<?> viewerState) {
+    Optional<String> csrfToken = request.session().get(csrfTokenName);
+    if (csrfToken.isEmpty()) {
+      return Optional.empty();
+    }
+    Optional<CiviFormProfile> profile = profileUtils.currentUserProfile(request);
+    Hasher hasher =
+        Hashing.sha256()
+            .newHasher()
+            .putLong(versionRepository.getActiveVersionId())
+            .putString(locale.toLanguageTag(), StandardCharsets.UTF_8)
+            .putString(csrfToken.get(), StandardCharsets.UTF_8)
+            .putString(profile.map(CiviFormProfile::getId).orElse(""), StandardCharsets.UTF_8)
+            .putString(
+                String.join(
+                    ",",
+                    profile
+                        .map(p -> ImmutableSortedSet.copyOf(p.getRoles()))
+                        .orElse(ImmutableSortedSet.of())),
+                StandardCharsets.UTF_8);
+    for (Object state : viewerState) {
+      // Separate the elements so that moving text from one to the next changes the tag.
+      hasher
+          .putInt(String.valueOf(state).length())
+          .putString(String.valueOf(state), StandardCharsets.UTF_8);
+    }
+    return Optional.of(WEAK_PREFIX + '"' + hasher.hash().toString().substring(0, 32) + '"');
+  }
+
+  /** Returns whether an {@code If-None-Match} header matches the tag, ignoring weakness. */
+  static boolean matches(String ifNoneMatch, String entityTag) {
+    String opaqueTag = stripWeakPrefix(entityTag);
+    for (String candidate : ENTITY_TAG_SPLITTER.split(ifNoneMatch)) {
+      if (candidate.equals("*") || stripWeakPrefix(candidate).equals(opaqueTag)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static String stripWeakPrefix(String entityTag) {
+    return entityTag.startsWith(WEAK_PREFIX)
+        ? entityTag.substring(WEAK_PREFIX.length())
+        : entityTag;
+  }
+}
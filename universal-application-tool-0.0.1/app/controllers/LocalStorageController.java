@@ -0,0 +1,76 @@
+package controllers;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import javax.inject.Inject;
+import play.api.mvc.PlayBodyParsers;
+import play.libs.Files.TemporaryFile;
+import play.mvc.BodyParser;
+import play.mvc.Http;
+import play.mvc.Http.Request;
+import play.mvc.RangeResults;
+import play.mvc.Result;
+import services.aws.InvalidUploadException;
+import services.aws.SimpleStorage;
+
+/**
+ * Stands in for S3 when applicants' files are kept on the server's disk, accepting the same signed
+ * upload forms and serving files through signed links.
+ *
+ * <p>Files are streamed from disk rather than read into memory, and range requests are supported so
+ * that browsers can resume downloads and page through large PDFs.
+ */
+public class LocalStorageController extends CiviFormController {
+  private static final String FILE_FIELD = "file";
+
+  private final SimpleStorage storage;
+
+  @Inject
+  public LocalStorageController(SimpleStorage storage) {
+    this.storage = checkNotNull(storage);
+  }
+
+  @BodyParser.Of(UploadBodyParser.class)
+  public Result upload(Request request) {
+    Http.MultipartFormData<TemporaryFile> body = request.body().asMultipartFormData();
+    if (body == null || body.getFile(FILE_FIELD) == null) {
+      return badRequest("Missing file");
+    }
+    Map<String, String> fields = new HashMap<>();
+    body.asFormUrlEncoded()
+        .forEach(
+            (name, values) -> {
+              if (values.length > 0) {
+                fields.put(name, values[0]);
+              }
+            });
+    Http.MultipartFormData.FilePart<TemporaryFile> file = body.getFile(FILE_FIELD);
+    try {
+      return redirect(storage.storeLocalUpload(fields, file.getFilename(), file.getRef().path()));
+    } catch (InvalidUploadException e) {
+      return forbidden(e.getMessage());
+    }
+  }
+
+  public Result download(Request request, String key, long expires, String signature) {
+    Optional<Path> file = storage.getSignedLocalFile(key, expires, signature);
+    if (file.isEmpty()) {
+      return notFound();
+    }
+    return RangeResults.ofPath(request, file.get());
+  }
+
+  /** Accepts files as large as upload policies allow, plus room for the form's other fields. */
+  public static class UploadBodyParser extends BodyParser.MultipartFormData {
+    private static final long MAX_UPLOAD_BYTES = (1L << 30) + (1L << 20);
+
+    @Inject
+    public UploadBodyParser(PlayBodyParsers parsers) {
+      super(parsers, MAX_UPLOAD_BYTES);
+    }
+  }
+}
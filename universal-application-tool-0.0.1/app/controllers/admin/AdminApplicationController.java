@@ -1,10 +1,12 @@
 package controllers.admin;
 
 import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.collect.ImmutableMap.toImmutableMap;
 
 import auth.Authorizers;
 import auth.ProfileUtils;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import controllers.CiviFormController;
 import java.time.Clock;
 import java.util.Optional;
@@ -142,12 +144,26 @@ public class AdminApplicationController extends CiviFormController {
             programId, programName, applicationId, applicantNameWithId, blocks, answers));
   }
 
-  /** Return a paginated HTML page displaying (part of) all applications to the program. */
+  /**
+   * Return a paginated HTML page displaying (part of) all applications to the program.
+   *
+   * <p>Pages are found by keyset: links to the next page carry the ID of the last application shown
+   * in {@code after}, and links to the previous page the ID of the first in {@code before}, so that
+   * only one page of applications is read from the database. Without either, the page is found by
+   * its offset.
+   */
   @Secure(authorizers = Authorizers.Labels.ANY_ADMIN)
   public Result index(
-      Http.Request request, long programId, Optional<String> search, Optional<Integer> page) {
+      Http.Request request,
+      long programId,
+      Optional<String> search,
+      Optional<Integer> page,
+      Optional<Long> after,
+      Optional<Long> before) {
     if (page.isEmpty()) {
-      return redirect(routes.AdminApplicationController.index(programId, search, Optional.of(1)));
+      return redirect(
+          routes.AdminApplicationController.index(
+              programId, search, Optional.of(1), Optional.empty(), Optional.empty()));
     }
     try {
       ProgramDefinition program = programService.getProgramDefinition(programId);
@@ -157,23 +173,44 @@ public class AdminApplicationController extends CiviFormController {
     } catch (CompletionException e) {
       return unauthorized();
     }
-    try {
-      ImmutableList<Application> applications =
-          programService.getProgramApplications(programId, search);
-      PaginationInfo<Application> pageInfo =
-          PaginationInfo.paginate(applications, PAGE_SIZE, page.get());
-      ImmutableList<Program> previousVersions = programService.getOtherProgramVersions(programId);
-      return ok(
-          applicationListView.render(
-              request,
-              programId,
-              pageInfo.getPageItems(),
-              pageInfo.getPage(),
-              pageInfo.getPageCount(),
-              search,
-              previousVersions));
-    } catch (ProgramNotFoundException e) {
-      return notFound(e.toString());
+    ImmutableList<Application> applications;
+    int applicationCount;
+    int offset = Math.max(0, page.get() - 1) * PAGE_SIZE;
+    if (search.isPresent() && !search.get().isBlank()) {
+      // Search results are ranked rather than in ID order, so they are paged by offset.
+      applications =
+          applicationRepository.searchApplications(programId, search.get(), offset, PAGE_SIZE);
+      applicationCount = applicationRepository.countSearchResults(programId, search.get());
+    } else {
+      if (after.isPresent()) {
+        applications =
+            applicationRepository.getApplicationsAfter(programId, after.get(), PAGE_SIZE);
+      } else if (before.isPresent()) {
+        applications =
+            applicationRepository.getApplicationsBefore(programId, before.get(), PAGE_SIZE);
+      } else {
+        applications = applicationRepository.getApplications(programId, offset, PAGE_SIZE);
+      }
+      applicationCount = applicationRepository.countApplications(programId);
     }
+    int pageCount = PaginationInfo.pageCount(applicationCount, PAGE_SIZE);
+    ImmutableList<Program> previousVersions = programService.getOtherProgramVersions(programId);
+    ImmutableMap<Long, Integer> previousVersionApplicationCounts =
+        previousVersions.stream()
+            .collect(
+                toImmutableMap(
+                    previousVersion -> previousVersion.id,
+                    previousVersion ->
+                        applicationRepository.countApplications(previousVersion.id)));
+    return okChunked(
+        applicationListView.render(
+            request,
+            programId,
+            applications,
+            page.get(),
+            pageCount,
+            search,
+            previousVersions,
+            previousVersionApplicationCounts));
   }
 }
@@ -11,10 +11,12 @@ import org.pac4j.play.java.Secure;
 import play.data.DynamicForm;
 import play.data.Form;
 import play.data.FormFactory;
+import play.mvc.Http;
 import play.mvc.Http.Request;
 import play.mvc.Result;
 import services.CiviFormError;
 import services.ErrorAnd;
+import services.PaginationInfo;
 import services.program.BlockDefinition;
 import services.program.IllegalPredicateOrderingException;
 import services.program.ProgramBlockDefinitionNotFoundException;
@@ -23,26 +25,33 @@ import services.program.ProgramDefinition.Direction;
 import services.program.ProgramNeedsABlockException;
 import services.program.ProgramNotFoundException;
 import services.program.ProgramService;
+import services.question.QuestionSearchIndex;
 import services.question.QuestionService;
 import services.question.ReadOnlyQuestionService;
+import services.question.types.QuestionDefinition;
 import views.admin.programs.ProgramBlockEditView;
+import views.components.QuestionBank;
 
 /** Controller for admins editing screens (blocks) of a program. */
 public class AdminProgramBlocksController extends CiviFormController {
+  private static final int QUESTION_BANK_PAGE_SIZE = 50;
 
   private final ProgramService programService;
   private final ProgramBlockEditView editView;
   private final QuestionService questionService;
+  private final QuestionSearchIndex questionSearchIndex;
   private final FormFactory formFactory;
 
   @Inject
   public AdminProgramBlocksController(
       ProgramService programService,
       QuestionService questionService,
+      QuestionSearchIndex questionSearchIndex,
       ProgramBlockEditView editView,
       FormFactory formFactory) {
     this.programService = checkNotNull(programService);
     this.questionService = checkNotNull(questionService);
+    this.questionSearchIndex = checkNotNull(questionSearchIndex);
     this.editView = checkNotNull(editView);
     this.formFactory = checkNotNull(formFactory);
   }
@@ -108,6 +117,27 @@ public class AdminProgramBlocksController extends CiviFormController {
     }
   }
 
+  /**
+   * Return a page of the question bank for the program screen (block) as an HTML fragment, with
+   * only the questions that match {@code query} and may be added to the screen.
+   */
+  @Secure(authorizers = Authorizers.Labels.CIVIFORM_ADMIN)
+  public Result questionBank(
+      long programId, long blockId, Optional<String> query, Optional<Integer> page) {
+    try {
+      ProgramDefinition program = programService.getProgramDefinition(programId);
+      BlockDefinition block = program.getBlockDefinition(blockId);
+      return ok(questionBank(program, block)
+              .setQuestionResults(
+                  searchQuestionBank(program, block, query.orElse(""), page.orElse(1)))
+              .renderResults()
+              .render())
+          .as(Http.MimeTypes.HTML);
+    } catch (ProgramNotFoundException | ProgramBlockDefinitionNotFoundException e) {
+      return notFound(e.toString());
+    }
+  }
+
   /** POST endpoint for updating a screen (block) for the program. */
   @Secure(authorizers = Authorizers.Labels.CIVIFORM_ADMIN)
   public Result update(Request request, long programId, long blockId) {
@@ -159,14 +189,29 @@ public class AdminProgramBlocksController extends CiviFormController {
     return redirect(routes.AdminProgramBlocksController.index(programId));
   }
 
+  private QuestionBank questionBank(ProgramDefinition program, BlockDefinition block) {
+    return new QuestionBank().setProgram(program).setBlockDefinition(block);
+  }
+
+  private PaginationInfo<QuestionDefinition> searchQuestionBank(
+      ProgramDefinition program, BlockDefinition block, String query, int page) {
+    return questionSearchIndex.search(
+        query, questionBank(program, block).getQuestionFilter(), QUESTION_BANK_PAGE_SIZE, page);
+  }
+
   private Result renderEditViewWithMessage(
       Request request, ProgramDefinition program, BlockDefinition block, String message) {
     ReadOnlyQuestionService roQuestionService =
         questionService.getReadOnlyQuestionService().toCompletableFuture().join();
 
-    return ok(
+    return okChunked(
         editView.render(
-            request, program, block, message, roQuestionService.getUpToDateQuestions()));
+            request,
+            program,
+            block,
+            message,
+            roQuestionService.getUpToDateQuestions(),
+            searchQuestionBank(program, block, "", 1)));
   }
 
   private Result renderEditViewWithMessage(
@@ -189,7 +234,8 @@ public class AdminProgramBlocksController extends CiviFormController {
               blockDefinition,
               blockDefinition.programQuestionDefinitions(),
               message,
-              roQuestionService.getUpToDateQuestions()));
+              roQuestionService.getUpToDateQuestions(),
+              searchQuestionBank(program, blockDefinition, "", 1)));
     } catch (ProgramBlockDefinitionNotFoundException e) {
       return notFound(e.toString());
     }
@@ -14,6 +14,7 @@ import play.data.Form;
 import play.data.FormFactory;
 import play.mvc.Http.Request;
 import play.mvc.Result;
+import repository.ApplicationStatisticsRepository;
 import repository.VersionRepository;
 import services.CiviFormError;
 import services.ErrorAnd;
@@ -21,6 +22,7 @@ import services.LocalizedStrings;
 import services.program.ProgramDefinition;
 import services.program.ProgramNotFoundException;
 import services.program.ProgramService;
+import views.FragmentCache;
 import views.admin.programs.ProgramEditView;
 import views.admin.programs.ProgramIndexView;
 import views.admin.programs.ProgramNewOneView;
@@ -34,7 +36,9 @@ public class AdminProgramController extends CiviFormController {
   private final ProgramEditView editView;
   private final FormFactory formFactory;
   private final VersionRepository versionRepository;
+  private final ApplicationStatisticsRepository statisticsRepository;
   private final ProfileUtils profileUtils;
+  private final FragmentCache fragmentCache;
 
   @Inject
   public AdminProgramController(
@@ -43,15 +47,19 @@ public class AdminProgramController extends CiviFormController {
       ProgramNewOneView newOneView,
       ProgramEditView editView,
       VersionRepository versionRepository,
+      ApplicationStatisticsRepository statisticsRepository,
       ProfileUtils profileUtils,
-      FormFactory formFactory) {
+      FormFactory formFactory,
+      FragmentCache fragmentCache) {
     this.service = checkNotNull(service);
     this.listView = checkNotNull(listView);
     this.newOneView = checkNotNull(newOneView);
     this.editView = checkNotNull(editView);
     this.versionRepository = checkNotNull(versionRepository);
+    this.statisticsRepository = checkNotNull(statisticsRepository);
     this.profileUtils = checkNotNull(profileUtils);
     this.formFactory = checkNotNull(formFactory);
+    this.fragmentCache = checkNotNull(fragmentCache);
   }
 
   /**
@@ -61,7 +69,12 @@ public class AdminProgramController extends CiviFormController {
   @Secure(authorizers = Authorizers.Labels.CIVIFORM_ADMIN)
   public Result index(Request request) {
     Optional<CiviFormProfile> profileMaybe = profileUtils.currentUserProfile(request);
-    return ok(listView.render(this.service.getActiveAndDraftPrograms(), request, profileMaybe));
+    return ok(
+        listView.render(
+            this.service.getActiveAndDraftPrograms(),
+            statisticsRepository.getStatisticsByProgramName(),
+            request,
+            profileMaybe));
   }
 
   /** Return a HTML page containing a form to create a new program in the draft version. */
@@ -105,6 +118,8 @@ public class AdminProgramController extends CiviFormController {
   public Result publish() {
     try {
       versionRepository.publishNewSynchronizedVersion();
+      // Fragments of the previous version will no longer be used.
+      fragmentCache.invalidateAll();
       return redirect(routes.AdminProgramController.index());
     } catch (Exception e) {
       return badRequest(e.toString());
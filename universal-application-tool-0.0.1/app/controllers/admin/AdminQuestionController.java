@@ -72,7 +72,7 @@ public class AdminQuestionController extends CiviFormController {
         .getReadOnlyQuestionService()
         .thenApplyAsync(
             readOnlyService ->
-                ok(
+                okChunked(
                     listView.render(
                         readOnlyService.getActiveAndDraftQuestions(), maybeFlash, request)),
             httpExecutionContext.current());
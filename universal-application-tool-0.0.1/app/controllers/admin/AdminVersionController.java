@@ -7,18 +7,23 @@ import play.mvc.Controller;
 import play.mvc.Http;
 import play.mvc.Result;
 import repository.VersionRepository;
+import views.FragmentCache;
 import views.admin.versions.VersionListView;
 
 /** Controller for handling methods for admins managing versions. */
 public class AdminVersionController extends Controller {
   private final VersionRepository versionRepository;
   private final VersionListView versionListView;
+  private final FragmentCache fragmentCache;
 
   @Inject
   public AdminVersionController(
-      VersionRepository versionRepository, VersionListView versionListView) {
+      VersionRepository versionRepository,
+      VersionListView versionListView,
+      FragmentCache fragmentCache) {
     this.versionRepository = versionRepository;
     this.versionListView = versionListView;
+    this.fragmentCache = fragmentCache;
   }
 
   /** Return a HTML page displaying all current and past verions. */
@@ -31,6 +36,8 @@ public class AdminVersionController extends Controller {
   @Secure(authorizers = Authorizers.Labels.CIVIFORM_ADMIN)
   public Result setVersionLive(long versionId, Http.Request request) {
     versionRepository.setLive(versionId);
+    // Fragments of the previous version will no longer be used.
+    fragmentCache.invalidateAll();
     return redirect(routes.AdminVersionController.index());
   }
 }
@@ -11,6 +11,7 @@ import javax.inject.Inject;
 import org.pac4j.play.java.Secure;
 import play.mvc.Http;
 import play.mvc.Result;
+import repository.ApplicationStatisticsRepository;
 import services.program.ActiveAndDraftPrograms;
 import services.program.ProgramService;
 import views.admin.programs.ProgramAdministratorProgramListView;
@@ -19,15 +20,18 @@ import views.admin.programs.ProgramAdministratorProgramListView;
 public class ProgramAdminController extends CiviFormController {
   private final ProgramAdministratorProgramListView listView;
   private final ProgramService programService;
+  private final ApplicationStatisticsRepository statisticsRepository;
   private final ProfileUtils profileUtils;
 
   @Inject
   public ProgramAdminController(
       ProgramAdministratorProgramListView listView,
       ProgramService programService,
+      ApplicationStatisticsRepository statisticsRepository,
       ProfileUtils profileUtils) {
     this.listView = Preconditions.checkNotNull(listView);
     this.programService = Preconditions.checkNotNull(programService);
+    this.statisticsRepository = Preconditions.checkNotNull(statisticsRepository);
     this.profileUtils = Preconditions.checkNotNull(profileUtils);
   }
 
@@ -44,6 +48,11 @@ public class ProgramAdminController extends CiviFormController {
         profile.get().getAccount().join().getAdministeredProgramNames();
     ActiveAndDraftPrograms activeAndDraftPrograms = this.programService.getActiveAndDraftPrograms();
 
-    return ok(listView.render(activeAndDraftPrograms, administeredPrograms, profile));
+    return ok(
+        listView.render(
+            activeAndDraftPrograms,
+            statisticsRepository.getStatisticsByProgramName(),
+            administeredPrograms,
+            profile));
   }
 }
@@ -6,6 +6,7 @@ import static java.util.concurrent.CompletableFuture.supplyAsync;
 import auth.ProfileUtils;
 import com.google.common.collect.ImmutableList;
 import controllers.CiviFormController;
+import controllers.HttpCachePolicy;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CompletionException;
@@ -14,6 +15,7 @@ import java.util.stream.Collectors;
 import javax.inject.Inject;
 import models.LifecycleStage;
 import org.pac4j.play.java.Secure;
+import play.i18n.Messages;
 import play.i18n.MessagesApi;
 import play.libs.concurrent.HttpExecutionContext;
 import play.mvc.Http.Request;
@@ -38,6 +40,7 @@ public class ApplicantProgramsController extends CiviFormController {
   private final ProgramIndexView programIndexView;
   private final ApplicantProgramInfoView programInfoView;
   private final ProfileUtils profileUtils;
+  private final HttpCachePolicy httpCachePolicy;
 
   @Inject
   public ApplicantProgramsController(
@@ -46,13 +49,15 @@ public class ApplicantProgramsController extends CiviFormController {
       MessagesApi messagesApi,
       ProgramIndexView programIndexView,
       ApplicantProgramInfoView programInfoView,
-      ProfileUtils profileUtils) {
+      ProfileUtils profileUtils,
+      HttpCachePolicy httpCachePolicy) {
     this.httpContext = httpContext;
     this.applicantService = applicantService;
     this.messagesApi = checkNotNull(messagesApi);
     this.programIndexView = checkNotNull(programIndexView);
     this.programInfoView = checkNotNull(programInfoView);
     this.profileUtils = checkNotNull(profileUtils);
+    this.httpCachePolicy = checkNotNull(httpCachePolicy);
   }
 
   @Secure
@@ -76,15 +81,26 @@ public class ApplicantProgramsController extends CiviFormController {
                           programDefinition ->
                               !programsWithDraftApplication.contains(programDefinition.adminName()))
                       .collect(ImmutableList.toImmutableList());
-              return ok(
-                  programIndexView.render(
-                      messagesApi.preferred(request),
-                      request,
-                      applicantId,
-                      applicantStage.toCompletableFuture().join(),
-                      allPrograms.get(LifecycleStage.DRAFT),
-                      dedupedActivePrograms,
-                      banner));
+              Messages messages = messagesApi.preferred(request);
+              String applicantName = applicantStage.toCompletableFuture().join();
+              return httpCachePolicy.ifNoneMatch(
+                  request,
+                  messages.lang().toLocale(),
+                  ImmutableList.of(
+                      applicantName,
+                      programIds(allPrograms.get(LifecycleStage.DRAFT)),
+                      programIds(dedupedActivePrograms),
+                      banner),
+                  () ->
+                      ok(
+                          programIndexView.render(
+                              messages,
+                              request,
+                              applicantId,
+                              applicantName,
+                              allPrograms.get(LifecycleStage.DRAFT),
+                              dedupedActivePrograms,
+                              banner)));
             },
             httpContext.current())
         .exceptionally(
@@ -114,13 +130,20 @@ public class ApplicantProgramsController extends CiviFormController {
                       .filter(program -> program.id() == programId)
                       .findFirst();
               if (programDefinition.isPresent()) {
-                return ok(
-                    programInfoView.render(
-                        messagesApi.preferred(request),
-                        programDefinition.get(),
-                        request,
-                        applicantId,
-                        applicantStage.toCompletableFuture().join()));
+                Messages messages = messagesApi.preferred(request);
+                String applicantName = applicantStage.toCompletableFuture().join();
+                return httpCachePolicy.ifNoneMatch(
+                    request,
+                    messages.lang().toLocale(),
+                    ImmutableList.of(applicantName, programDefinition.get().id()),
+                    () ->
+                        ok(
+                            programInfoView.render(
+                                messages,
+                                programDefinition.get(),
+                                request,
+                                applicantId,
+                                applicantName)));
               }
               return badRequest();
             },
@@ -181,4 +204,9 @@ public class ApplicantProgramsController extends CiviFormController {
               throw new RuntimeException(ex);
             });
   }
+
+  /** Program IDs identify the programs' content, which cannot change once they are active. */
+  private static ImmutableList<Long> programIds(ImmutableList<ProgramDefinition> programs) {
+    return programs.stream().map(ProgramDefinition::id).collect(ImmutableList.toImmutableList());
+  }
 }
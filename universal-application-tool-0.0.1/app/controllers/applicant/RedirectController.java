@@ -12,7 +12,6 @@ import java.util.concurrent.CompletionException;
 import java.util.concurrent.CompletionStage;
 import javax.inject.Inject;
 import models.Applicant;
-import models.Program;
 import org.pac4j.play.java.Secure;
 import play.i18n.MessagesApi;
 import play.libs.concurrent.HttpExecutionContext;
@@ -60,18 +59,18 @@ public class RedirectController extends CiviFormController {
           redirect(routes.CallbackController.callback("GuestClient")));
     }
     CompletableFuture<Applicant> applicant = profile.get().getApplicant();
-    CompletableFuture<Program> program = programRepository.getForSlug(programName);
-    return CompletableFuture.allOf(applicant, program)
+    CompletableFuture<Long> programId = programRepository.getProgramIdForSlug(programName);
+    return CompletableFuture.allOf(applicant, programId)
         .thenApplyAsync(
             empty -> {
               if (applicant.isCompletedExceptionally()) {
                 return notFound();
-              } else if (program.isCompletedExceptionally()) {
+              } else if (programId.isCompletedExceptionally()) {
                 return notFound();
               }
               return redirect(
                   controllers.applicant.routes.ApplicantProgramsController.edit(
-                      applicant.join().id, program.join().id));
+                      applicant.join().id, programId.join()));
             },
             httpContext.current());
   }
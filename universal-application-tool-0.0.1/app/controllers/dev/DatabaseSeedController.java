@@ -17,6 +17,7 @@ import play.Environment;
 import play.db.ebean.EbeanConfig;
 import play.mvc.Http.Request;
 import play.mvc.Result;
+import repository.UserRepository;
 import services.LocalizedStrings;
 import services.applicant.question.Scalar;
 import services.program.ActiveAndDraftPrograms;
@@ -47,6 +48,7 @@ public class DatabaseSeedController extends DevController {
   private final EbeanServer ebeanServer;
   private final QuestionService questionService;
   private final ProgramService programService;
+  private final UserRepository userRepository;
 
   @Inject
   public DatabaseSeedController(
@@ -54,6 +56,7 @@ public class DatabaseSeedController extends DevController {
       EbeanConfig ebeanConfig,
       QuestionService questionService,
       ProgramService programService,
+      UserRepository userRepository,
       Environment environment,
       Config configuration) {
     super(environment, configuration);
@@ -61,6 +64,7 @@ public class DatabaseSeedController extends DevController {
     this.ebeanServer = Ebean.getServer(checkNotNull(ebeanConfig).defaultServer());
     this.questionService = checkNotNull(questionService);
     this.programService = checkNotNull(programService);
+    this.userRepository = checkNotNull(userRepository);
   }
 
   /**
@@ -277,6 +281,7 @@ public class DatabaseSeedController extends DevController {
 
   private void resetTables() {
     Models.truncate(ebeanServer);
+    userRepository.invalidateAllAccountExists();
     Version newActiveVersion = new Version(LifecycleStage.ACTIVE);
     newActiveVersion.save();
   }
@@ -54,10 +54,24 @@ public class TrustedIntermediaryController {
     this.messagesApi = Preconditions.checkNotNull(messagesApi);
   }
 
+  /**
+   * Return a paginated dashboard of the accounts managed by the trusted intermediary's group.
+   *
+   * <p>Like the admin applications list, pages are found by keyset: links to the next page carry
+   * the ID of the last account shown in {@code after}, and links to the previous page the ID of the
+   * first in {@code before}. Without either, the page is found by its offset.
+   */
   @Secure(authorizers = Authorizers.Labels.TI)
-  public Result dashboard(Http.Request request, Optional<String> search, Optional<Integer> page) {
+  public Result dashboard(
+      Http.Request request,
+      Optional<String> search,
+      Optional<Integer> page,
+      Optional<Long> after,
+      Optional<Long> before) {
     if (page.isEmpty()) {
-      return redirect(routes.TrustedIntermediaryController.dashboard(search, Optional.of(1)));
+      return redirect(
+          routes.TrustedIntermediaryController.dashboard(
+              search, Optional.of(1), Optional.empty(), Optional.empty()));
     }
     Optional<CiviFormProfile> civiformProfile = profileUtils.currentUserProfile(request);
     if (civiformProfile.isEmpty()) {
@@ -68,17 +82,27 @@ public class TrustedIntermediaryController {
     if (trustedIntermediaryGroup.isEmpty()) {
       return notFound();
     }
-    ImmutableList<Account> managedAccounts =
-        trustedIntermediaryGroup.get().getManagedAccounts(search);
-    PaginationInfo<Account> pageInfo =
-        PaginationInfo.paginate(managedAccounts, PAGE_SIZE, page.get());
+    long groupId = trustedIntermediaryGroup.get().id;
+    ImmutableList<Account> managedAccounts;
+    if (after.isPresent()) {
+      managedAccounts = userRepository.getManagedAccountsAfter(groupId, search, after, PAGE_SIZE);
+    } else if (before.isPresent()) {
+      managedAccounts =
+          userRepository.getManagedAccountsBefore(groupId, search, before.get(), PAGE_SIZE);
+    } else {
+      managedAccounts =
+          userRepository.getManagedAccounts(
+              groupId, search, Math.max(0, page.get() - 1) * PAGE_SIZE, PAGE_SIZE);
+    }
+    int pageCount =
+        PaginationInfo.pageCount(userRepository.countManagedAccounts(groupId, search), PAGE_SIZE);
     return ok(
         tiDashboardView.render(
             trustedIntermediaryGroup.get(),
             civiformProfile.get().getApplicant().join().getApplicantData().getApplicantName(),
-            pageInfo.getPageItems(),
-            pageInfo.getPageCount(),
-            pageInfo.getPage(),
+            managedAccounts,
+            pageCount,
+            page.get(),
             search,
             request,
             messagesApi.preferred(request)));
@@ -113,7 +137,8 @@ public class TrustedIntermediaryController {
       userRepository.createNewApplicantForTrustedIntermediaryGroup(
           form.get(), trustedIntermediaryGroup.get());
       return redirect(
-          routes.TrustedIntermediaryController.dashboard(Optional.empty(), Optional.empty()));
+          routes.TrustedIntermediaryController.dashboard(
+              Optional.empty(), Optional.empty(), Optional.empty(), Optional.empty()));
     } catch (EmailAddressExistsException e) {
       return redirectToDashboardWithError(
           "Email address already in use.  Cannot create applicant if an account already exists. "
@@ -126,7 +151,8 @@ public class TrustedIntermediaryController {
   private Result redirectToDashboardWithError(
       String errorMessage, Form<AddApplicantToTrustedIntermediaryGroupForm> form) {
     return redirect(
-            routes.TrustedIntermediaryController.dashboard(Optional.empty(), Optional.empty()))
+            routes.TrustedIntermediaryController.dashboard(
+                Optional.empty(), Optional.empty(), Optional.empty(), Optional.empty()))
         .flashing("error", errorMessage)
         .flashing("providedFirstName", form.get().getFirstName())
         .flashing("providedMiddleName", form.get().getMiddleName())
@@ -2,12 +2,17 @@ package filters;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
+import controllers.HttpCachePolicy;
 import java.util.concurrent.Executor;
 import javax.inject.Inject;
 import play.mvc.EssentialAction;
 import play.mvc.EssentialFilter;
 
-/** A filter to disable caching our responses. */
+/**
+ * A filter to disable caching our responses, except on routes marked with the {@code +cacheable}
+ * modifier. Browsers may keep responses from those, but must revalidate them with their entity tag
+ * before each use, as described in {@link HttpCachePolicy}.
+ */
 public class DisableCachingFilter extends EssentialFilter {
   private final Executor exec;
 
@@ -23,10 +28,13 @@ public class DisableCachingFilter extends EssentialFilter {
             next.apply(request)
                 .map(
                     result ->
-                        result
-                            .withHeader("Cache-Control", "no-cache, must-revalidate")
-                            .withHeader("Pragma", "no-cache")
-                            .withHeader("Expires", "0"),
+                        HttpCachePolicy.isCacheable(request)
+                            ? result.withHeader(
+                                "Cache-Control", HttpCachePolicy.CACHEABLE_CACHE_CONTROL)
+                            : result
+                                .withHeader("Cache-Control", "no-cache, must-revalidate")
+                                .withHeader("Pragma", "no-cache")
+                                .withHeader("Expires", "0"),
                     exec));
   }
 }
@@ -0,0 +1,34 @@
+package filters;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import auth.ProfileUtils;
+import auth.RequestIdentity;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import play.mvc.EssentialAction;
+import play.mvc.EssentialFilter;
+
+/**
+ * Attaches a {@link RequestIdentity} to every request so that the user's profile, account and
+ * applicant are resolved at most once per request. Must run before any filter that looks up the
+ * current profile.
+ */
+@Singleton
+public class RequestIdentityFilter extends EssentialFilter {
+  private final ProfileUtils profileUtils;
+
+  @Inject
+  public RequestIdentityFilter(ProfileUtils profileUtils) {
+    this.profileUtils = checkNotNull(profileUtils);
+  }
+
+  @Override
+  public EssentialAction apply(EssentialAction next) {
+    return EssentialAction.of(
+        request ->
+            next.apply(
+                request.addAttr(
+                    RequestIdentity.ATTRIBUTE_KEY, profileUtils.newRequestIdentity(request))));
+  }
+}
@@ -10,36 +10,52 @@ import play.libs.streams.Accumulator;
 import play.mvc.EssentialAction;
 import play.mvc.EssentialFilter;
 import play.mvc.Results;
+import repository.UserRepository;
 
 /**
  * A filter to ensure the account referenced in the browser cookie is valid. This should only matter
  * when the account is deleted from the database which almost will never happen in prod database.
+ *
+ * <p>Endpoints that do not require a profile, such as assets, skip the check entirely. Otherwise
+ * the check goes through {@link UserRepository#accountExists}, which caches existing accounts so
+ * that most requests do not hit the database.
  */
 public class ValidAccountFilter extends EssentialFilter {
   private final ProfileUtils profileUtils;
+  private final UserRepository userRepository;
 
   @Inject
-  public ValidAccountFilter(ProfileUtils profileUtils) {
+  public ValidAccountFilter(ProfileUtils profileUtils, UserRepository userRepository) {
     this.profileUtils = checkNotNull(profileUtils);
+    this.userRepository = checkNotNull(userRepository);
   }
 
   @Override
   public EssentialAction apply(EssentialAction next) {
     return EssentialAction.of(
         request -> {
+          if (allowedEndpoint(request.uri())) {
+            return next.apply(request);
+          }
           Optional<CiviFormProfile> profile = profileUtils.currentUserProfile(request);
-          if (profile.isPresent() && !profileUtils.validCiviFormProfile(profile.get())) {
+          if (profile.isPresent() && !validAccount(profile.get())) {
             // The cookie is present but the profile is not valid, redirect to logout and clear the
             // cookie.
-            if (!allowedEndpoint(request.uri())) {
-              return Accumulator.done(
-                  Results.redirect(org.pac4j.play.routes.LogoutController.logout()));
-            }
+            return Accumulator.done(
+                Results.redirect(org.pac4j.play.routes.LogoutController.logout()));
           }
           return next.apply(request);
         });
   }
 
+  private boolean validAccount(CiviFormProfile profile) {
+    try {
+      return userRepository.accountExists(Long.parseLong(profile.getId()));
+    } catch (NumberFormatException e) {
+      return false;
+    }
+  }
+
   /**
    * Return true if the endpoint does not require a profile. Logout url is necessary here to avoid
    * infinite redirect.
@@ -8,6 +8,7 @@ import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
+import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.ManyToOne;
 import javax.persistence.OneToMany;
@@ -47,6 +48,11 @@ public class Account extends BaseModel {
 
   private String emailAddress;
 
+  // Maintained by a database trigger whenever the newest applicant's name changes, so that accounts
+  // can be searched and sorted by name in the database.
+  @Column(insertable = false, updatable = false)
+  private String applicantDisplayName;
+
   public ImmutableList<Long> ownedApplicantIds() {
     return getApplicants().stream().map(applicant -> applicant.id).collect(toImmutableList());
   }
@@ -142,4 +148,13 @@ public class Account extends BaseModel {
         .map(u -> u.getApplicantData().getApplicantName())
         .orElse("<Unnamed User>");
   }
+
+  /**
+   * Returns the name of the newest Applicant associated with this Account as stored in the database
+   * when the account was loaded, formatted as "last, first", or empty if they have not answered the
+   * name question. Unlike {@link #getApplicantName} this does not load the applicants.
+   */
+  public Optional<String> getApplicantDisplayName() {
+    return Optional.ofNullable(this.applicantDisplayName);
+  }
 }
@@ -10,6 +10,8 @@ import java.util.Optional;
 import javax.persistence.Entity;
 import javax.persistence.ManyToOne;
 import javax.persistence.OneToMany;
+import javax.persistence.PostPersist;
+import javax.persistence.PostUpdate;
 import javax.persistence.PrePersist;
 import javax.persistence.PreUpdate;
 import javax.persistence.Table;
@@ -81,6 +83,13 @@ public class Applicant extends BaseModel {
     this.object = objectAsJsonString();
   }
 
+  /** The whole document has just been written, so there are no outstanding changes. */
+  @PostPersist
+  @PostUpdate
+  public void clearChangedPaths() {
+    getApplicantData().clearChangedPaths();
+  }
+
   private String objectAsJsonString() {
     return getApplicantData().asJsonString();
   }
@@ -40,6 +40,9 @@ public class Application extends BaseModel {
 
   private String preferredLocale;
   private String submitterEmail;
+  // Denormalized from the applicant data so that applications can be searched and listed without
+  // reading the data.
+  private String applicantDisplayName;
 
   public Application(Applicant applicant, Program program, LifecycleStage lifecycleStage) {
     this.applicant = applicant;
@@ -78,6 +81,15 @@ public class Application extends BaseModel {
     this.preferredLocale =
         data.hasPreferredLocale() ? data.preferredLocale().toLanguageTag() : null;
     this.object = data.asJsonString();
+    this.applicantDisplayName = data.getApplicantNameIfAnswered().orElse(null);
+  }
+
+  /**
+   * Returns the applicant's name formatted as "last, first", or empty if they did not answer the
+   * name question.
+   */
+  public Optional<String> getApplicantDisplayName() {
+    return Optional.ofNullable(this.applicantDisplayName);
   }
 
   public LifecycleStage getLifecycleStage() {
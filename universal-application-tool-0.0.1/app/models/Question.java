@@ -58,6 +58,12 @@ public class Question extends BaseModel {
 
   private Long enumeratorId;
 
+  /**
+   * The normalized path segment for this question, derived from its name. Persisted so that
+   * conflicting questions can be found with an indexed lookup.
+   */
+  private String questionPathSegment;
+
   private @Constraints.Required String description;
 
   /**
@@ -230,6 +236,7 @@ public class Question extends BaseModel {
     }
     enumeratorId = questionDefinition.getEnumeratorId().orElse(null);
     name = questionDefinition.getName();
+    questionPathSegment = questionDefinition.getQuestionPathSegment();
     description = questionDefinition.getDescription();
     questionText = questionDefinition.getQuestionText();
     questionHelpText = questionDefinition.getQuestionHelpText();
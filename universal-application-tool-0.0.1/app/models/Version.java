@@ -1,10 +1,13 @@
 package models;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableListMultimap;
 import io.ebean.annotation.DbArray;
+import io.ebean.annotation.DbJsonB;
 import io.ebean.annotation.UpdatedTimestamp;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
 import javax.persistence.Entity;
@@ -50,6 +53,13 @@ public class Version extends BaseModel {
    */
   @DbArray private List<String> tombstonedProgramNames = new ArrayList<>();
 
+  /**
+   * An index from each {@link QuestionTag} to the IDs of the questions in this version carrying
+   * that tag, ordered by question name. It is rebuilt whenever the version is published or a tag on
+   * one of its questions changes, so tag lookups do not need to scan every question.
+   */
+  @DbJsonB private ImmutableListMultimap<QuestionTag, Long> questionIdsByTag;
+
   @UpdatedTimestamp private Instant submitTime;
 
   public Version() {
@@ -114,6 +124,31 @@ public class Version extends BaseModel {
     return ImmutableList.copyOf(this.tombstonedQuestionNames);
   }
 
+  /**
+   * Returns the IDs of the questions in this version with the given tag, ordered by question name,
+   * or empty if the tag index has not been built for this version.
+   */
+  public Optional<ImmutableList<Long>> getQuestionIdsForTag(QuestionTag tag) {
+    if (this.questionIdsByTag == null) {
+      return Optional.empty();
+    }
+    return Optional.of(this.questionIdsByTag.get(tag));
+  }
+
+  /** Rebuilds the tag index from the questions currently in this version. */
+  public void refreshQuestionTagIndex() {
+    ImmutableListMultimap.Builder<QuestionTag, Long> index = ImmutableListMultimap.builder();
+    getQuestions().stream()
+        .sorted(Comparator.comparing(question -> question.getQuestionDefinition().getName()))
+        .forEach(
+            question -> {
+              for (QuestionTag tag : question.getQuestionTags()) {
+                index.put(tag, question.id);
+              }
+            });
+    this.questionIdsByTag = index.build();
+  }
+
   /** Returns true if the question is not meant to be copied to the next version. */
   public boolean questionIsTombstoned(String questionName) {
     return this.getTombstonedQuestionNames().contains(questionName);
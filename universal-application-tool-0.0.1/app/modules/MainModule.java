@@ -3,8 +3,10 @@ package modules;
 import com.google.inject.AbstractModule;
 import java.time.Clock;
 import java.time.ZoneId;
+import services.WarmupService;
 import services.applicant.ApplicantService;
 import services.applicant.ApplicantServiceImpl;
+import services.program.ApplicationStatisticsReconciler;
 import services.program.ProgramService;
 import services.program.ProgramServiceImpl;
 import services.question.QuestionService;
@@ -27,5 +29,8 @@ public class MainModule extends AbstractModule {
     bind(ProgramService.class).to(ProgramServiceImpl.class);
     bind(QuestionService.class).to(QuestionServiceImpl.class);
     bind(ApplicantService.class).to(ApplicantServiceImpl.class);
+    // Start warming caches as soon as the application starts rather than on first request.
+    bind(WarmupService.class).asEagerSingleton();
+    bind(ApplicationStatisticsReconciler.class).asEagerSingleton();
   }
 }
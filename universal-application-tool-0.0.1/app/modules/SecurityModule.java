@@ -7,13 +7,16 @@ import static play.mvc.Results.redirect;
 import auth.AdOidcClient;
 import auth.AdfsProfileAdapter;
 import auth.Authorizers;
+import auth.CiviFormCookieSessionStore;
 import auth.CiviFormProfileData;
+import auth.DatabaseSessionStore;
 import auth.FakeAdminClient;
 import auth.GuestClient;
 import auth.IdcsOidcClient;
 import auth.IdcsProfileAdapter;
 import auth.ProfileFactory;
 import auth.Roles;
+import auth.RotatingDataEncrypter;
 import com.google.common.collect.ImmutableMap;
 import com.google.inject.AbstractModule;
 import com.google.inject.Provides;
@@ -23,7 +26,6 @@ import java.net.URI;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
-import java.util.Random;
 import javax.annotation.Nullable;
 import javax.inject.Provider;
 import org.pac4j.core.authorization.authorizer.RequireAllRolesAuthorizer;
@@ -40,7 +42,6 @@ import org.pac4j.play.CallbackController;
 import org.pac4j.play.LogoutController;
 import org.pac4j.play.http.PlayHttpActionAdapter;
 import org.pac4j.play.store.PlayCookieSessionStore;
-import org.pac4j.play.store.ShiroAesDataEncrypter;
 import play.Environment;
 import repository.UserRepository;
 
@@ -84,18 +85,19 @@ public class SecurityModule extends AbstractModule {
     // We will need to do this for every class we want to store in the cookie.
     PlayCookieSessionStore.JAVA_SERIALIZER.clearTrustedClasses();
     PlayCookieSessionStore.JAVA_SERIALIZER.addTrustedClass(CiviFormProfileData.class);
+  }
 
-    // We need to use the secret key to generate the encrypter / decrypter for the
-    // session store, so that cookies from version n of the application can be
-    // read by version n + 1.  This is especially important for dev, otherwise
-    // we're going to spend a lot of time deleting cookies.
-    Random r = new Random();
-    r.setSeed(this.configuration.getString("play.http.secret.key").hashCode());
-    byte[] aesKey = new byte[32];
-    r.nextBytes(aesKey);
-    PlayCookieSessionStore sessionStore =
-        new PlayCookieSessionStore(new ShiroAesDataEncrypter(aesKey));
-    bind(SessionStore.class).toInstance(sessionStore);
+  /**
+   * Keeps sessions in the database if {@code session_store} is "database", and otherwise in a
+   * cookie encrypted with the configured session encryption keys.
+   */
+  @Provides
+  @Singleton
+  protected SessionStore sessionStore(Provider<DatabaseSessionStore> databaseSessionStore) {
+    if (this.configuration.getString("session_store").equals("database")) {
+      return databaseSessionStore.get();
+    }
+    return new CiviFormCookieSessionStore(RotatingDataEncrypter.fromConfig(this.configuration));
   }
 
   @Provides
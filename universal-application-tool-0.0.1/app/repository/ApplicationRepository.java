@@ -4,10 +4,24 @@ import static com.google.common.base.Preconditions.checkNotNull;
 import static java.util.concurrent.CompletableFuture.supplyAsync;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSetMultimap;
+import com.google.common.math.Stats;
+import com.google.common.math.StatsAccumulator;
 import io.ebean.Ebean;
 import io.ebean.EbeanServer;
+import io.ebean.ExpressionList;
+import io.ebean.Query;
+import io.ebean.SqlQuery;
+import io.ebean.SqlRow;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 import java.util.function.Function;
 import javax.inject.Inject;
@@ -28,18 +42,79 @@ import services.program.ProgramNotFoundException;
 public class ApplicationRepository {
   private final ProgramRepository programRepository;
   private final UserRepository userRepository;
+  private final ApplicationStatisticsRepository statisticsRepository;
   private final EbeanServer ebeanServer;
   private final DatabaseExecutionContext executionContext;
   private static final Logger LOG = LoggerFactory.getLogger(ApplicationRepository.class);
+  /**
+   * Locks the applicant, so that concurrent submissions by the same applicant each see the
+   * application submitted before them and obsolete it.
+   */
+  private static final String LOCK_APPLICANT_SQL =
+      "select id from applicants where id = :applicantId for update";
+  /** How long submissions made through this repository held the applicant lock, in milliseconds. */
+  private final StatsAccumulator submitLockHoldMillis = new StatsAccumulator();
+
+  private static final String OBSOLETE_ACTIVE_APPLICATIONS_SQL =
+      "update applications set lifecycle_stage = :obsolete"
+          + " where applicant_id = :applicantId and lifecycle_stage = :active"
+          + " and program_id in (select id from programs where name = :programName)"
+          + " returning program_id";
+  private static final String SUBMIT_DRAFT_APPLICATIONS_SQL =
+      "update applications set lifecycle_stage = :active, submit_time = :submitTime,"
+          + " submitter_email = coalesce(cast(:submitterEmail as varchar), submitter_email),"
+          + " search_vector = application_search_vector(object, preferred_locale,"
+          + " coalesce(cast(:submitterEmail as varchar), submitter_email))"
+          + " where applicant_id = :applicantId and lifecycle_stage = :draft"
+          + " and program_id in (select id from programs where name = :programName)"
+          + " returning id, program_id";
+  private static final String COPY_APPLICANT_DATA_SQL =
+      "update applications set object = applicants.object,"
+          + " preferred_locale = applicants.preferred_locale, submit_time = :submitTime,"
+          // Matches ApplicantData#getApplicantNameIfAnswered.
+          + " applicant_display_name = (applicants.object #>> '{applicant,name,last_name}')"
+          + " || ', ' || (applicants.object #>> '{applicant,name,first_name}')"
+          + " from applicants where applicants.id = applications.applicant_id";
+  private static final String COPY_APPLICANT_DATA_TO_DRAFT_SQL =
+      COPY_APPLICANT_DATA_SQL + " and applications.id = :id";
+  /** Brings the drafts about to be submitted up to date, since draft writes may be deferred. */
+  private static final String COPY_APPLICANT_DATA_TO_SUBMITTED_DRAFTS_SQL =
+      COPY_APPLICANT_DATA_SQL
+          + " and applications.applicant_id = :applicantId"
+          + " and applications.lifecycle_stage = :draft"
+          + " and applications.program_id in (select id from programs where name = :programName)";
+
+  private static final String INDEX_APPLICATION_FOR_SEARCH_SQL =
+      "update applications set search_vector = application_search_vector(object, preferred_locale,"
+          + " submitter_email) where id = :id";
+  /**
+   * Applications whose answers match the search, or whose applicant's name contains it, ranked by
+   * how well they match. Drafts have no search vector so only match by name.
+   */
+  private static final String SEARCH_APPLICATIONS_SQL =
+      "select applications.* from applications,"
+          + " application_search_query(:search, :prefixQuery) as query"
+          + " where program_id = :programId"
+          + " and (search_vector @@ query or lower(applicant_display_name) like :namePattern)"
+          + " order by coalesce(ts_rank(search_vector, query), 0) desc, id"
+          + " limit :limit offset :offset";
+
+  private static final String COUNT_SEARCH_RESULTS_SQL =
+      "select count(*) as count from applications,"
+          + " application_search_query(:search, :prefixQuery) as query"
+          + " where program_id = :programId"
+          + " and (search_vector @@ query or lower(applicant_display_name) like :namePattern)";
 
   @Inject
   public ApplicationRepository(
       ProgramRepository programRepository,
       UserRepository userRepository,
+      ApplicationStatisticsRepository statisticsRepository,
       EbeanConfig ebeanConfig,
       DatabaseExecutionContext executionContext) {
     this.programRepository = checkNotNull(programRepository);
     this.userRepository = checkNotNull(userRepository);
+    this.statisticsRepository = checkNotNull(statisticsRepository);
     this.ebeanServer = Ebean.getServer(checkNotNull(ebeanConfig).defaultServer());
     this.executionContext = checkNotNull(executionContext);
   }
@@ -69,38 +144,91 @@ public class ApplicationRepository {
 
   private Application submitApplicationInternal(
       Applicant applicant, Program program, Optional<String> submitterEmail) {
+    // The name is shared by every version of the program, so previous applications to older
+    // versions are found too.
+    String programName = program.getProgramDefinition().adminName();
+    Optional<Long> completedApplicationId;
+    Application application = null;
+    ApplicationStatisticsRepository.Changes statisticsChanges =
+        new ApplicationStatisticsRepository.Changes();
+    long lockedAt = 0;
     ebeanServer.beginTransaction();
     try {
-      List<Application> oldApplications =
+      ebeanServer
+          .createSqlQuery(LOCK_APPLICANT_SQL)
+          .setParameter("applicantId", applicant.id)
+          .findOne();
+      lockedAt = System.nanoTime();
+      for (SqlRow row :
+          ebeanServer
+              .createSqlQuery(OBSOLETE_ACTIVE_APPLICATIONS_SQL)
+              .setParameter("applicantId", applicant.id)
+              .setParameter("programName", programName)
+              .setParameter("obsolete", LifecycleStage.OBSOLETE.getValue())
+              .setParameter("active", LifecycleStage.ACTIVE.getValue())
+              .findList()) {
+        statisticsChanges.submissionObsoleted(row.getLong("program_id"));
+      }
+      Instant submitTime = Instant.now();
+      ebeanServer
+          .createSqlUpdate(COPY_APPLICANT_DATA_TO_SUBMITTED_DRAFTS_SQL)
+          .setParameter("applicantId", applicant.id)
+          .setParameter("programName", programName)
+          .setParameter("draft", LifecycleStage.DRAFT.getValue())
+          .setParameter("submitTime", Timestamp.from(submitTime))
+          .execute();
+      List<SqlRow> submittedDrafts =
           ebeanServer
-              .createQuery(Application.class)
-              .where()
-              .eq("applicant.id", applicant.id)
-              .eq("program.name", program.getProgramDefinition().adminName())
+              .createSqlQuery(SUBMIT_DRAFT_APPLICATIONS_SQL)
+              .setParameter("applicantId", applicant.id)
+              .setParameter("programName", programName)
+              .setParameter("active", LifecycleStage.ACTIVE.getValue())
+              .setParameter("draft", LifecycleStage.DRAFT.getValue())
+              .setParameter("submitTime", Timestamp.from(submitTime))
+              .setParameter("submitterEmail", submitterEmail.orElse(null))
               .findList();
-      Optional<Application> completedApplication = Optional.empty();
-      for (Application application : oldApplications) {
-        // Delete any in-progress drafts, and mark obsolete any old applications.
-        if (application.getLifecycleStage().equals(LifecycleStage.DRAFT)) {
-          application.setLifecycleStage(LifecycleStage.ACTIVE);
-          completedApplication = Optional.of(application);
-        } else {
-          application.setLifecycleStage(LifecycleStage.OBSOLETE);
-        }
+      submittedDrafts.forEach(
+          row -> statisticsChanges.draftSubmitted(row.getLong("program_id"), submitTime));
+      completedApplicationId =
+          submittedDrafts.stream().map(row -> row.getLong("id")).max(Long::compare);
+      if (completedApplicationId.isEmpty()) {
+        application = new Application(applicant, program, LifecycleStage.ACTIVE);
+        submitterEmail.ifPresent(application::setSubmitterEmail);
         application.save();
+        ebeanServer
+            .createSqlUpdate(INDEX_APPLICATION_FOR_SEARCH_SQL)
+            .setParameter("id", application.id)
+            .execute();
+        statisticsChanges.submitted(program.id, application.getSubmitTime());
       }
-      Application application =
-          completedApplication.orElse(new Application(applicant, program, LifecycleStage.ACTIVE));
-
-      if (submitterEmail.isPresent()) {
-        application.setSubmitterEmail(submitterEmail.get());
-      }
-
-      application.save();
+      statisticsRepository.record(statisticsChanges);
       ebeanServer.commitTransaction();
-      return application;
     } finally {
       ebeanServer.endTransaction();
+      if (lockedAt != 0) {
+        recordSubmitLockHold(System.nanoTime() - lockedAt);
+      }
+    }
+    userRepository.invalidateProgramsForApplicant(applicant.id);
+    // Load the submitted draft only once the transaction has released its row locks.
+    return completedApplicationId.isPresent()
+        ? ebeanServer.find(Application.class).setId(completedApplicationId.get()).findOne()
+        : application;
+  }
+
+  private void recordSubmitLockHold(long nanos) {
+    synchronized (submitLockHoldMillis) {
+      submitLockHoldMillis.add(nanos / 1e6);
+    }
+  }
+
+  /**
+   * Returns how long submissions have held the applicant's row lock, from acquiring it until their
+   * transaction ended, in milliseconds.
+   */
+  Stats getSubmitLockHoldStats() {
+    synchronized (submitLockHoldMillis) {
+      return submitLockHoldMillis.snapshot();
     }
   }
 
@@ -130,6 +258,99 @@ public class ApplicationRepository {
             });
   }
 
+  /**
+   * Returns up to {@code limit} of the program's applications with IDs greater than {@code
+   * afterId}, in ID order.
+   */
+  public ImmutableList<Application> getApplicationsAfter(long programId, long afterId, int limit) {
+    return ImmutableList.copyOf(
+        findApplications(programId)
+            .gt("id", afterId)
+            .orderBy()
+            .asc("id")
+            .setMaxRows(limit)
+            .findList());
+  }
+
+  /**
+   * Returns up to {@code limit} of the program's applications with IDs less than {@code beforeId},
+   * in ID order.
+   */
+  public ImmutableList<Application> getApplicationsBefore(
+      long programId, long beforeId, int limit) {
+    return ImmutableList.copyOf(
+            findApplications(programId)
+                .lt("id", beforeId)
+                .orderBy()
+                .desc("id")
+                .setMaxRows(limit)
+                .findList())
+        .reverse();
+  }
+
+  /**
+   * Returns up to {@code limit} of the program's applications, in ID order, skipping the first
+   * {@code offset}. Prefer {@link #getApplicationsAfter} where the previous page is known, since
+   * the skipped applications must still be read.
+   */
+  public ImmutableList<Application> getApplications(long programId, int offset, int limit) {
+    return ImmutableList.copyOf(
+        findApplications(programId)
+            .orderBy()
+            .asc("id")
+            .setFirstRow(offset)
+            .setMaxRows(limit)
+            .findList());
+  }
+
+  /** Returns the number of the program's applications. */
+  public int countApplications(long programId) {
+    return findApplications(programId).findCount();
+  }
+
+  private ExpressionList<Application> findApplications(long programId) {
+    return ebeanServer.find(Application.class).where().eq("program.id", programId);
+  }
+
+  /**
+   * Returns up to {@code limit} of the program's applications matching the search, best matches
+   * first, skipping the first {@code offset}.
+   *
+   * <p>Submitted applications are matched by full-text search over their answers and submitter's
+   * email, indexed when they are submitted. Each search term matches words that start with it, and
+   * words with the same stem in English and Spanish. Applications of any stage also match if their
+   * applicant's name contains the search, ignoring case.
+   */
+  public ImmutableList<Application> searchApplications(
+      long programId, String search, int offset, int limit) {
+    Query<Application> query =
+        ebeanServer
+            .findNative(Application.class, SEARCH_APPLICATIONS_SQL)
+            .setParameter("limit", limit)
+            .setParameter("offset", offset);
+    searchParameters(programId, search).forEach(query::setParameter);
+    return ImmutableList.copyOf(query.findList());
+  }
+
+  /** Returns the number of the program's applications matching the search. */
+  public int countSearchResults(long programId, String search) {
+    SqlQuery query = ebeanServer.createSqlQuery(COUNT_SEARCH_RESULTS_SQL);
+    searchParameters(programId, search).forEach(query::setParameter);
+    return query.findOne().getInteger("count");
+  }
+
+  private static ImmutableMap<String, Object> searchParameters(long programId, String search) {
+    return ImmutableMap.of(
+        "programId",
+        programId,
+        "search",
+        search,
+        "prefixQuery",
+        SearchQueries.prefixTsQuery(search),
+        "namePattern",
+        SearchQueries.containsPattern(search));
+  }
+
   public ImmutableList<Application> getAllApplications() {
     return ImmutableList.copyOf(ebeanServer.find(Application.class).findList());
   }
@@ -149,25 +370,122 @@ public class ApplicationRepository {
   private Application createOrUpdateDraftApplicationInternal(Applicant applicant, Program program) {
     ebeanServer.beginTransaction();
     try {
-      Optional<Application> existingDraft =
-          ebeanServer
-              .createQuery(Application.class)
-              .where()
-              .eq("applicant.id", applicant.id)
-              .eq("program.id", program.id)
-              .eq("lifecycle_stage", LifecycleStage.DRAFT)
-              .findOneOrEmpty();
-      Application application =
-          existingDraft.orElse(new Application(applicant, program, LifecycleStage.DRAFT));
-      application.setApplicantData(applicant.getApplicantData());
-      application.save();
+      Optional<Application> existingDraft = findDraft(applicant.id, program.id);
+      boolean copyInDatabase =
+          applicant.id != null && applicant.getApplicantData().getChangedPaths().isEmpty();
+      Optional<Application> saved = writeDraft(applicant, program, existingDraft, copyInDatabase);
+      if (existingDraft.isEmpty()) {
+        ApplicationStatisticsRepository.Changes statisticsChanges =
+            new ApplicationStatisticsRepository.Changes();
+        statisticsChanges.draftCreated(program.id);
+        statisticsRepository.record(statisticsChanges);
+      }
       ebeanServer.commitTransaction();
-      return application;
+      if (existingDraft.isEmpty()) {
+        userRepository.invalidateProgramsForApplicant(applicant.id);
+      }
+      return saved.orElseGet(
+          () ->
+              ebeanServer
+                  .find(Application.class)
+                  .select("lifecycleStage, submitTime")
+                  .setId(existingDraft.get().id)
+                  .findOne());
     } finally {
       ebeanServer.endTransaction();
     }
   }
 
+  /**
+   * Creates or updates the draft applications for each applicant and program pair, in a single
+   * transaction. The applicants' data must already be persisted.
+   */
+  public CompletionStage<Void> createOrUpdateDrafts(
+      ImmutableSetMultimap<Long, Long> programIdsByApplicantId) {
+    return supplyAsync(
+        () -> {
+          Set<Long> applicantsWithNewDrafts = new HashSet<>();
+          ApplicationStatisticsRepository.Changes statisticsChanges =
+              new ApplicationStatisticsRepository.Changes();
+          ebeanServer.beginTransaction();
+          try {
+            for (Map.Entry<Long, Long> entry : programIdsByApplicantId.entries()) {
+              Optional<Application> existingDraft = findDraft(entry.getKey(), entry.getValue());
+              writeDraft(
+                  ebeanServer.getReference(Applicant.class, entry.getKey()),
+                  ebeanServer.getReference(Program.class, entry.getValue()),
+                  existingDraft,
+                  /* copyInDatabase= */ true);
+              if (existingDraft.isEmpty()) {
+                applicantsWithNewDrafts.add(entry.getKey());
+                statisticsChanges.draftCreated(entry.getValue());
+              }
+            }
+            statisticsRepository.record(statisticsChanges);
+            ebeanServer.commitTransaction();
+          } finally {
+            ebeanServer.endTransaction();
+          }
+          applicantsWithNewDrafts.forEach(userRepository::invalidateProgramsForApplicant);
+          return null;
+        },
+        executionContext.current());
+  }
+
+  /**
+   * Creates the applicant's draft for the program from their persisted data, unless they already
+   * have one. Returns whether the draft was written.
+   */
+  public CompletionStage<Boolean> createDraftIfMissing(long applicantId, long programId) {
+    return supplyAsync(
+            () -> findDraft(applicantId, programId).isPresent(), executionContext.current())
+        .thenCompose(
+            exists ->
+                exists
+                    ? CompletableFuture.completedFuture(false)
+                    : createOrUpdateDrafts(ImmutableSetMultimap.of(applicantId, programId))
+                        .thenApply(unused -> true));
+  }
+
+  /** Only the ID is loaded; the draft's copy of the applicant data may be large. */
+  private Optional<Application> findDraft(Long applicantId, Long programId) {
+    return ebeanServer
+        .createQuery(Application.class)
+        .select("id")
+        .where()
+        .eq("applicant.id", applicantId)
+        .eq("program.id", programId)
+        .eq("lifecycle_stage", LifecycleStage.DRAFT)
+        .findOneOrEmpty();
+  }
+
+  /**
+   * Saves the applicant's current data into their draft for the program, creating the draft if
+   * needed. Returns the saved draft, or empty if an existing draft was updated in place.
+   *
+   * @param copyInDatabase whether the applicant's data is already persisted, so an existing draft
+   *     can be updated by copying it within the database rather than sending the whole document
+   */
+  private Optional<Application> writeDraft(
+      Applicant applicant,
+      Program program,
+      Optional<Application> existingDraft,
+      boolean copyInDatabase) {
+    if (existingDraft.isPresent() && copyInDatabase) {
+      ebeanServer
+          .createSqlUpdate(COPY_APPLICANT_DATA_TO_DRAFT_SQL)
+          .setParameter("submitTime", Timestamp.from(Instant.now()))
+          .setParameter("id", existingDraft.get().id)
+          .execute();
+      return Optional.empty();
+    }
+    Application application =
+        existingDraft.orElse(new Application(applicant, program, LifecycleStage.DRAFT));
+    application.setApplicantData(applicant.getApplicantData());
+    application.save();
+    return Optional.of(application);
+  }
+
   /**
    * Create a draft application for the specified program. Update the draft application if one
    * already exists.
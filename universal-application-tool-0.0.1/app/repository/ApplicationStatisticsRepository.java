@@ -0,0 +1,184 @@
+package repository;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSortedSet;
+import com.google.common.collect.ListMultimap;
+import com.google.common.collect.MultimapBuilder;
+import io.ebean.Ebean;
+import io.ebean.EbeanServer;
+import io.ebean.SqlRow;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import play.db.ebean.EbeanConfig;
+import services.program.ProgramApplicationStatistics;
+
+/**
+ * Reads and maintains the per-program counts of applications, so that they can be shown without
+ * scanning the applications table.
+ *
+ * <p>{@link ApplicationRepository} records the {@link Changes} it makes to applications in the same
+ * transaction as the changes themselves. Anything else that changes applications leaves the counts
+ * stale until the next {@link #reconcile}.
+ */
+@Singleton
+public final class ApplicationStatisticsRepository {
+  /** How many days, including today, count as recent when reporting submissions. */
+  public static final int RECENT_SUBMISSION_DAYS = 7;
+
+  private static final String STATISTICS_BY_PROGRAM_NAME_SQL =
+      "select programs.name as name,"
+          + " coalesce(sum(counts.draft_count), 0) as draft_count,"
+          + " coalesce(sum(counts.submitted_count), 0) as submitted_count,"
+          + " coalesce(sum(recent.submitted_count), 0) as recent_submission_count"
+          + " from programs"
+          + " left join program_application_counts counts on counts.program_id = programs.id"
+          + " left join (select program_id, sum(submitted_count) as submitted_count"
+          + " from program_daily_submission_counts"
+          + " where day > current_date - cast(:recentDays as integer) group by program_id) recent"
+          + " on recent.program_id = programs.id"
+          + " group by programs.name";
+  private static final String ADD_TO_COUNTS_SQL =
+      "insert into program_application_counts (program_id, draft_count, submitted_count)"
+          + " values (:programId, :draftCount, :submittedCount)"
+          + " on conflict (program_id) do update set"
+          + " draft_count = program_application_counts.draft_count + excluded.draft_count,"
+          + " submitted_count = program_application_counts.submitted_count"
+          + " + excluded.submitted_count";
+  private static final String ADD_TO_DAILY_SUBMISSIONS_SQL =
+      "insert into program_daily_submission_counts (program_id, day, submitted_count)"
+          + " values (:programId, cast(:submitTime as date), 1)"
+          + " on conflict (program_id, day) do update set"
+          + " submitted_count = program_daily_submission_counts.submitted_count + 1";
+  /**
+   * Blocks writers of the counts until the reconciling transaction ends. Each statement of a read
+   * committed transaction sees all changes committed before it started, so once the lock is held
+   * every application change is either already visible to the recount or still waiting to record
+   * its own change to the counts, and none is counted twice or lost.
+   */
+  private static final String LOCK_COUNTS_SQL =
+      "lock table program_application_counts, program_daily_submission_counts"
+          + " in share row exclusive mode";
+
+  private static final String RECOUNT_SQL =
+      "insert into program_application_counts (program_id, draft_count, submitted_count)"
+          + " select program_id,"
+          + " count(*) filter (where lifecycle_stage = 'draft'),"
+          + " count(*) filter (where lifecycle_stage = 'active')"
+          + " from applications where program_id is not null group by program_id";
+  private static final String RECOUNT_DAILY_SUBMISSIONS_SQL =
+      "insert into program_daily_submission_counts (program_id, day, submitted_count)"
+          + " select program_id, cast(submit_time as date), count(*) from applications"
+          + " where program_id is not null and lifecycle_stage in ('active', 'obsolete')"
+          + " and cast(submit_time as date) > current_date - cast(:recentDays as integer)"
+          + " group by program_id, cast(submit_time as date)";
+
+  private final EbeanServer ebeanServer;
+
+  @Inject
+  public ApplicationStatisticsRepository(EbeanConfig ebeanConfig) {
+    this.ebeanServer = Ebean.getServer(checkNotNull(ebeanConfig).defaultServer());
+  }
+
+  /**
+   * Returns the statistics of every program by name, summed over all versions of the program.
+   * Programs without applications have empty statistics.
+   */
+  public ImmutableMap<String, ProgramApplicationStatistics> getStatisticsByProgramName() {
+    ImmutableMap.Builder<String, ProgramApplicationStatistics> statistics = ImmutableMap.builder();
+    for (SqlRow row :
+        ebeanServer
+            .createSqlQuery(STATISTICS_BY_PROGRAM_NAME_SQL)
+            .setParameter("recentDays", RECENT_SUBMISSION_DAYS)
+            .findList()) {
+      statistics.put(
+          row.getString("name"),
+          ProgramApplicationStatistics.create(
+              row.getInteger("draft_count"),
+              row.getInteger("submitted_count"),
+              row.getInteger("recent_submission_count")));
+    }
+    return statistics.build();
+  }
+
+  /**
+   * Recounts every program's applications, correcting any drift in the counts, and discards daily
+   * submission counts that are no longer recent.
+   */
+  public void reconcile() {
+    ebeanServer.beginTransaction();
+    try {
+      ebeanServer.createSqlUpdate(LOCK_COUNTS_SQL).execute();
+      ebeanServer.createSqlUpdate("delete from program_application_counts").execute();
+      ebeanServer.createSqlUpdate(RECOUNT_SQL).execute();
+      ebeanServer.createSqlUpdate("delete from program_daily_submission_counts").execute();
+      ebeanServer
+          .createSqlUpdate(RECOUNT_DAILY_SUBMISSIONS_SQL)
+          .setParameter("recentDays", RECENT_SUBMISSION_DAYS)
+          .execute();
+      ebeanServer.commitTransaction();
+    } finally {
+      ebeanServer.endTransaction();
+    }
+  }
+
+  /**
+   * Adds the changes to the counts, in the current transaction. Programs are updated in ID order so
+   * that concurrent transactions lock their counts in the same order.
+   */
+  void record(Changes changes) {
+    for (long programId : changes.programIds()) {
+      ebeanServer
+          .createSqlUpdate(ADD_TO_COUNTS_SQL)
+          .setParameter("programId", programId)
+          .setParameter("draftCount", changes.draftCountChanges.getOrDefault(programId, 0))
+          .setParameter("submittedCount", changes.submittedCountChanges.getOrDefault(programId, 0))
+          .execute();
+    }
+    changes.submitTimes.forEach(
+        (programId, submitTime) ->
+            ebeanServer
+                .createSqlUpdate(ADD_TO_DAILY_SUBMISSIONS_SQL)
+                .setParameter("programId", programId)
+                .setParameter("submitTime", Timestamp.from(submitTime))
+                .execute());
+  }
+
+  /** Changes to applications that affect the counts, collected over a transaction. */
+  static final class Changes {
+    private final Map<Long, Integer> draftCountChanges = new HashMap<>();
+    private final Map<Long, Integer> submittedCountChanges = new HashMap<>();
+    private final ListMultimap<Long, Instant> submitTimes =
+        MultimapBuilder.treeKeys().arrayListValues().build();
+
+    void draftCreated(long programId) {
+      draftCountChanges.merge(programId, 1, Integer::sum);
+    }
+
+    void draftSubmitted(long programId, Instant submitTime) {
+      draftCountChanges.merge(programId, -1, Integer::sum);
+      submitted(programId, submitTime);
+    }
+
+    void submitted(long programId, Instant submitTime) {
+      submittedCountChanges.merge(programId, 1, Integer::sum);
+      submitTimes.put(programId, submitTime);
+    }
+
+    void submissionObsoleted(long programId) {
+      submittedCountChanges.merge(programId, -1, Integer::sum);
+    }
+
+    private ImmutableSortedSet<Long> programIds() {
+      return ImmutableSortedSet.<Long>naturalOrder()
+          .addAll(draftCountChanges.keySet())
+          .addAll(submittedCountChanges.keySet())
+          .build();
+    }
+  }
+}
@@ -3,18 +3,25 @@ package repository;
 import static com.google.common.base.Preconditions.checkNotNull;
 import static java.util.concurrent.CompletableFuture.supplyAsync;
 
+import com.google.auto.value.AutoValue;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import io.ebean.Ebean;
 import io.ebean.EbeanServer;
 import io.ebean.Transaction;
 import io.ebean.TxScope;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 import javax.inject.Inject;
 import javax.inject.Provider;
+import javax.inject.Singleton;
 import models.Account;
 import models.LifecycleStage;
 import models.Program;
@@ -25,12 +32,19 @@ import services.program.ProgramNotFoundException;
 /**
  * ProgramRepository performs complicated operations on {@link Program} that often involve other
  * EBean models or asynchronous handling.
+ *
+ * <p>This is a singleton so that the index of active program slugs used for deep links is shared
+ * across requests.
  */
+@Singleton
 public class ProgramRepository {
 
+  private static final Duration SLUG_INDEX_MAX_AGE = Duration.ofMinutes(1);
+
   private final EbeanServer ebeanServer;
   private final DatabaseExecutionContext executionContext;
   private final Provider<VersionRepository> versionRepository;
+  private volatile Optional<SlugIndex> activeProgramSlugIndex = Optional.empty();
 
   @Inject
   public ProgramRepository(
@@ -121,30 +135,149 @@ public class ProgramRepository {
     }
   }
 
+  /**
+   * Find the active program with the given slug. The slug is resolved through the in-memory slug
+   * index, falling back to an indexed query if the index does not know about it.
+   */
   public CompletableFuture<Program> getForSlug(String slug) {
     return supplyAsync(
         () -> {
-          for (Program program :
-              ebeanServer.find(Program.class).where().isNull("slug").findList()) {
-            program.getSlug();
-            program.save();
-          }
-          ImmutableList<Program> activePrograms =
-              versionRepository.get().getActiveVersion().getPrograms();
-          List<Program> programsMatchingSlug =
-              ebeanServer.find(Program.class).where().eq("slug", slug).findList();
-          Optional<Program> programMaybe =
-              activePrograms.stream()
-                  .filter(activeProgram -> programsMatchingSlug.contains(activeProgram))
-                  .findFirst();
-          if (programMaybe.isPresent()) {
-            return programMaybe.get();
+          Optional<Program> program =
+              resolveProgramIdForSlug(slug)
+                  .flatMap(id -> ebeanServer.find(Program.class).setId(id).findOneOrEmpty());
+          // The index may briefly point at a program that is no longer stored, e.g. after another
+          // server published a new version.
+          if (program.isEmpty()) {
+            program = lookupActiveProgramBySlug(slug);
           }
-          throw new RuntimeException(new ProgramNotFoundException(slug));
+          return program.orElseThrow(
+              () -> new RuntimeException(new ProgramNotFoundException(slug)));
         },
         executionContext.current());
   }
 
+  /**
+   * Find the ID of the active program with the given slug. Deep links hit this on every request, so
+   * a slug known to the in-memory index is resolved without touching the database.
+   */
+  public CompletableFuture<Long> getProgramIdForSlug(String slug) {
+    Optional<Long> cachedProgramId = getCachedProgramIdForSlug(slug);
+    if (cachedProgramId.isPresent()) {
+      return CompletableFuture.completedFuture(cachedProgramId.get());
+    }
+    return supplyAsync(
+        () ->
+            resolveProgramIdForSlug(slug)
+                .orElseThrow(() -> new RuntimeException(new ProgramNotFoundException(slug))),
+        executionContext.current());
+  }
+
+  /**
+   * Rebuild the in-memory index of active program slugs. This must be called whenever the active
+   * version changes.
+   */
+  public void refreshSlugIndex() {
+    Map<String, Long> programIdsBySlug = new HashMap<>();
+    for (Program program : versionRepository.get().getActiveVersion().getPrograms()) {
+      programIdsBySlug.putIfAbsent(program.getSlug(), program.id);
+    }
+    activeProgramSlugIndex =
+        Optional.of(SlugIndex.create(ImmutableMap.copyOf(programIdsBySlug), Instant.now()));
+  }
+
+  /** Look up the slug in the index without touching the database, if the index is fresh. */
+  private Optional<Long> getCachedProgramIdForSlug(String slug) {
+    Optional<SlugIndex> slugIndex = activeProgramSlugIndex;
+    if (slugIndex.isEmpty() || slugIndex.get().isExpired()) {
+      return Optional.empty();
+    }
+    return Optional.ofNullable(slugIndex.get().programIdsBySlug().get(slug));
+  }
+
+  /**
+   * Look up the slug in the index, rebuilding the index if it is missing or expired, and fall back
+   * to the database for slugs the index does not contain.
+   */
+  private Optional<Long> resolveProgramIdForSlug(String slug) {
+    Optional<SlugIndex> slugIndex = activeProgramSlugIndex;
+    // The index is also rebuilt periodically so that publishes on other servers are picked up.
+    if (slugIndex.isEmpty() || slugIndex.get().isExpired()) {
+      refreshSlugIndex();
+      slugIndex = activeProgramSlugIndex;
+    }
+    Optional<Long> programId = Optional.ofNullable(slugIndex.get().programIdsBySlug().get(slug));
+    if (programId.isPresent()) {
+      return programId;
+    }
+    Optional<Program> program = lookupActiveProgramBySlug(slug);
+    if (program.isEmpty() && backfillMissingSlugs()) {
+      refreshSlugIndex();
+      program = lookupActiveProgramBySlug(slug);
+    }
+    return program.map(found -> found.id);
+  }
+
+  /**
+   * Stores the slugs of programs saved before programs had slugs, and returns whether there were
+   * any. Slugs are computed by {@link Program#getSlug} so that they match those of newer programs.
+   */
+  private boolean backfillMissingSlugs() {
+    List<Program> programs =
+        ebeanServer
+            .find(Program.class)
+            .where()
+            .or()
+            .isNull("slug")
+            .eq("slug", "")
+            .endOr()
+            .findList();
+    for (Program program : programs) {
+      ebeanServer
+          .createSqlUpdate("update programs set slug = :slug where id = :id")
+          .setParameter("slug", program.getSlug())
+          .setParameter("id", program.id)
+          .execute();
+    }
+    return !programs.isEmpty();
+  }
+
+  private Optional<Program> lookupActiveProgramBySlug(String slug) {
+    return ebeanServer
+        .find(Program.class)
+        .where()
+        .eq("slug", slug)
+        .eq("versions.lifecycleStage", LifecycleStage.ACTIVE)
+        .setMaxRows(1)
+        .findOneOrEmpty();
+  }
+
+  @AutoValue
+  abstract static class SlugIndex {
+    static SlugIndex create(ImmutableMap<String, Long> programIdsBySlug, Instant builtAt) {
+      return new AutoValue_ProgramRepository_SlugIndex(programIdsBySlug, builtAt);
+    }
+
+    abstract ImmutableMap<String, Long> programIdsBySlug();
+
+    abstract Instant builtAt();
+
+    boolean isExpired() {
+      return builtAt().plus(SLUG_INDEX_MAX_AGE).isBefore(Instant.now());
+    }
+  }
+
+  /**
+   * Returns a number that changes whenever a program, question or version changes, including in the
+   * draft. Database triggers maintain it, so it also reflects changes made by other servers, and a
+   * change is only visible once it is committed.
+   */
+  public long getProgramCatalogGeneration() {
+    return ebeanServer
+        .createSqlQuery("select generation from program_catalog_generation where id = 1")
+        .findOne()
+        .getLong("generation");
+  }
+
   public ImmutableList<Account> getProgramAdministrators(String programName) {
     return ImmutableList.copyOf(
         ebeanServer.find(Account.class).where().arrayContains("admin_of", programName).findList());
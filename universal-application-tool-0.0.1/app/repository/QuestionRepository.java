@@ -3,12 +3,14 @@ package repository;
 import static com.google.common.base.Preconditions.checkNotNull;
 import static java.util.concurrent.CompletableFuture.supplyAsync;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import io.ebean.Ebean;
 import io.ebean.EbeanServer;
+import io.ebean.Junction;
 import io.ebean.Transaction;
 import io.ebean.TxScope;
-import java.util.Comparator;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CompletionStage;
@@ -28,6 +30,11 @@ import services.question.types.QuestionDefinitionBuilder;
  * EBean models or asynchronous handling.
  */
 public class QuestionRepository {
+  /** Orders by name the same way {@link Version#refreshQuestionTagIndex} does. */
+  private static final String QUESTION_IDS_FOR_TAG_SQL =
+      "select q.id from versions_questions vq join questions q on q.id = vq.questions_id"
+          + " where vq.versions_id = :versionId and :tag = any(q.question_tags)"
+          + " order by q.name collate \"C\"";
 
   private final EbeanServer ebeanServer;
   private final DatabaseExecutionContext executionContext;
@@ -133,10 +140,36 @@ public class QuestionRepository {
    * themselves and previous versions, and new versions of an old question will conflict with the
    * old question.
    *
-   * <p>Questions collide if they share a {@link QuestionDefinition#getQuestionPathSegment()} and
-   * {@link QuestionDefinition#getEnumeratorId()}.
+   * <p>Questions collide if they share a {@link QuestionDefinition#getName()}, or if they share a
+   * {@link QuestionDefinition#getQuestionPathSegment()} and {@link
+   * QuestionDefinition#getEnumeratorId()}. Both checks are served by indexes on the questions
+   * table, so this is a single lookup regardless of how many questions exist.
    */
   public Optional<Question> findConflictingQuestion(QuestionDefinition newQuestionDefinition) {
+    Junction<Question> samePathSegment =
+        ebeanServer
+            .find(Question.class)
+            .where()
+            .or()
+            .eq("name", newQuestionDefinition.getName())
+            .and();
+    samePathSegment.eq("questionPathSegment", newQuestionDefinition.getQuestionPathSegment());
+    Optional<Long> enumeratorId = newQuestionDefinition.getEnumeratorId();
+    if (enumeratorId.isPresent()) {
+      samePathSegment.eq("enumeratorId", enumeratorId.get());
+    } else {
+      samePathSegment.isNull("enumeratorId");
+    }
+    return samePathSegment.endAnd().endOr().orderBy("id").setMaxRows(1).findOneOrEmpty();
+  }
+
+  /**
+   * Finds a conflicting question by hydrating and comparing every question in the database. This is
+   * the reference implementation for {@link #findConflictingQuestion(QuestionDefinition)} and is
+   * only kept to verify it in tests.
+   */
+  @VisibleForTesting
+  Optional<Question> findConflictingQuestionByScan(QuestionDefinition newQuestionDefinition) {
     ConflictDetector conflictDetector =
         new ConflictDetector(
             newQuestionDefinition.getEnumeratorId(),
@@ -148,21 +181,38 @@ public class QuestionRepository {
     return conflictDetector.getConflictedQuestion();
   }
 
-  /** Get the questions with the specified tag which are in the active version. */
+  /**
+   * Get the questions with the specified tag which are in the active version, ordered by name.
+   *
+   * <p>This reads the tag index stored on the active version and loads only the questions it lists.
+   * A version that was made active without going through publishing has no index, so its tagged
+   * questions are looked up directly instead; the index is never written from here.
+   */
   public ImmutableList<QuestionDefinition> getAllQuestionsForTag(QuestionTag tag) {
     Version active = versionRepositoryProvider.get().getActiveVersion();
+    ImmutableList<Long> questionIds =
+        active.getQuestionIdsForTag(tag).orElseGet(() -> lookupQuestionIdsForTag(active, tag));
+    if (questionIds.isEmpty()) {
+      return ImmutableList.of();
+    }
+    ImmutableMap<Long, Question> questionsById =
+        ebeanServer.find(Question.class).where().idIn(questionIds).findList().stream()
+            .collect(ImmutableMap.toImmutableMap(question -> question.id, question -> question));
+    return questionIds.stream()
+        .filter(questionsById::containsKey)
+        .map(questionsById::get)
+        .map(Question::getQuestionDefinition)
+        .collect(ImmutableList.toImmutableList());
+  }
+
+  private ImmutableList<Long> lookupQuestionIdsForTag(Version version, QuestionTag tag) {
     return ebeanServer
-        .find(Question.class)
-        .where()
-        .arrayContains("question_tags", tag)
+        .createSqlQuery(QUESTION_IDS_FOR_TAG_SQL)
+        .setParameter("versionId", version.id)
+        .setParameter("tag", tag.name())
         .findList()
         .stream()
-        .filter(
-            question ->
-                active.getQuestions().stream()
-                    .anyMatch(activeQuestion -> activeQuestion.id.equals(question.id)))
-        .sorted(Comparator.comparing(question -> question.getQuestionDefinition().getName()))
-        .map(Question::getQuestionDefinition)
+        .map(row -> row.getLong("id"))
         .collect(ImmutableList.toImmutableList());
   }
 
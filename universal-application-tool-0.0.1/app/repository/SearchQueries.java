@@ -0,0 +1,45 @@
+package repository;
+
+import java.util.Locale;
+import java.util.Optional;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/** Helpers for turning a user's search into query parameters. */
+final class SearchQueries {
+  private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+  private SearchQueries() {}
+
+  /** Returns true if the search is present and not blank. */
+  static boolean isSearch(Optional<String> search) {
+    return search.isPresent() && !search.get().isBlank();
+  }
+
+  /**
+   * Returns a pattern for a case-insensitive LIKE against a lowercased column, matching values that
+   * contain the search literally.
+   */
+  static String containsPattern(String search) {
+    return "%"
+        + search
+            .toLowerCase(Locale.ROOT)
+            .replace("\\", "\\\\")
+            .replace("%", "\\%")
+            .replace("_", "\\_")
+        + "%";
+  }
+
+  /**
+   * Returns a {@code to_tsquery} expression matching lexemes that start with each whitespace
+   * separated term of the search. Each term is quoted so that it is parsed as text rather than as
+   * query syntax.
+   */
+  static String prefixTsQuery(String search) {
+    return WHITESPACE
+        .splitAsStream(search.strip())
+        .filter(term -> !term.isEmpty())
+        .map(term -> "'" + term.replace("\\", "").replace("'", "''") + "':*")
+        .collect(Collectors.joining(" & "));
+  }
+}
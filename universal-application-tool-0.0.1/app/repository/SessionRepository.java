@@ -0,0 +1,75 @@
+package repository;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import io.ebean.Ebean;
+import io.ebean.EbeanServer;
+import io.ebean.SqlRow;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Optional;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import play.db.ebean.EbeanConfig;
+
+/** Stores serialized sessions for {@link auth.DatabaseSessionStore}. */
+@Singleton
+public final class SessionRepository {
+  private static final String FIND_AND_TOUCH_SQL =
+      "update sessions set last_access = current_timestamp where id = :id returning data";
+  private static final String SAVE_SQL =
+      "insert into sessions (id, version, data, last_access)"
+          + " values (:id, :version, :data, current_timestamp)"
+          + " on conflict (id) do update set version = excluded.version, data = excluded.data,"
+          + " last_access = excluded.last_access";
+
+  private final EbeanServer ebeanServer;
+
+  @Inject
+  public SessionRepository(EbeanConfig ebeanConfig) {
+    this.ebeanServer = Ebean.getServer(checkNotNull(ebeanConfig).defaultServer());
+  }
+
+  /** Returns the session's data, and records that it is still in use. */
+  public Optional<byte[]> findAndTouch(String id) {
+    SqlRow row = ebeanServer.createSqlQuery(FIND_AND_TOUCH_SQL).setParameter("id", id).findOne();
+    return Optional.ofNullable(row).map(r -> (byte[]) r.get("data"));
+  }
+
+  /**
+   * Returns the version the session was last saved with, or empty if it has ended. This reads a
+   * single column by primary key, so it is cheap enough to check on every request.
+   */
+  public Optional<String> findVersion(String id) {
+    SqlRow row =
+        ebeanServer
+            .createSqlQuery("select version from sessions where id = :id")
+            .setParameter("id", id)
+            .findOne();
+    return Optional.ofNullable(row).map(r -> r.getString("version"));
+  }
+
+  public void save(String id, String version, byte[] data) {
+    ebeanServer
+        .createSqlUpdate(SAVE_SQL)
+        .setParameter("id", id)
+        .setParameter("version", version)
+        .setParameter("data", data)
+        .execute();
+  }
+
+  public void delete(String id) {
+    ebeanServer
+        .createSqlUpdate("delete from sessions where id = :id")
+        .setParameter("id", id)
+        .execute();
+  }
+
+  /** Deletes the sessions last used before {@code time}, and returns how many were deleted. */
+  public int deleteIdleSince(Instant time) {
+    return ebeanServer
+        .createSqlUpdate("delete from sessions where last_access < :time")
+        .setParameter("time", Timestamp.from(time))
+        .execute();
+  }
+}
@@ -1,30 +1,45 @@
 package repository;
 
 import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.collect.ImmutableMap.toImmutableMap;
+import static com.google.common.collect.ImmutableSet.toImmutableSet;
 import static java.util.concurrent.CompletableFuture.supplyAsync;
 
 import auth.CiviFormProfile;
 import com.google.common.base.Strings;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import forms.AddApplicantToTrustedIntermediaryGroupForm;
+import io.ebean.BeanState;
 import io.ebean.Ebean;
 import io.ebean.EbeanServer;
+import io.ebean.Query;
+import io.ebean.SqlQuery;
+import io.ebean.SqlRow;
+import io.ebean.SqlUpdate;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
 import javax.inject.Inject;
-import javax.inject.Provider;
+import javax.inject.Singleton;
 import models.Account;
 import models.Applicant;
-import models.Application;
 import models.LifecycleStage;
 import models.Program;
 import models.TrustedIntermediaryGroup;
 import play.db.ebean.EbeanConfig;
+import services.Path;
+import services.applicant.ApplicantData;
 import services.program.ProgramDefinition;
 import services.ti.EmailAddressExistsException;
 import services.ti.NoSuchTrustedIntermediaryError;
@@ -34,20 +49,62 @@ import services.ti.NoSuchTrustedIntermediaryGroupError;
  * UserRepository performs complicated operations on {@link Account} and {@link Applicant} that
  * often involve other EBean models or asynchronous handling.
  */
+@Singleton
 public class UserRepository {
+  private static final Duration PROGRAMS_FOR_APPLICANT_MAX_AGE = Duration.ofSeconds(30);
+  private static final long PROGRAMS_FOR_APPLICANT_MAX_ENTRIES = 10_000;
+  private static final Duration ACCOUNT_EXISTS_MAX_AGE = Duration.ofSeconds(30);
+  private static final long ACCOUNT_EXISTS_MAX_ENTRIES = 100_000;
+
+  /**
+   * The programs an applicant has drafts for, unioned with the programs in the active version, in
+   * program ID order. Duplicate draft applications to the same program are collapsed by the union.
+   */
+  private static final String PROGRAMS_FOR_APPLICANT_SQL =
+      "select a.program_id, a.lifecycle_stage from applications a"
+          + " where a.applicant_id = :applicantId and a.lifecycle_stage = :draft"
+          + " union"
+          + " select vp.programs_id as program_id, v.lifecycle_stage from versions_programs vp"
+          + " join versions v on v.id = vp.versions_id where v.lifecycle_stage = :active"
+          + " order by program_id";
+
+  /**
+   * Managed accounts are sorted by applicant name, with unnamed accounts first, then by ID. This
+   * matches the accounts_by_managed_group_and_name index.
+   */
+  private static final String MANAGED_ACCOUNTS_SORT_KEY =
+      "coalesce(applicant_display_name, ''), id";
+
+  private static final String MANAGED_ACCOUNTS_REVERSE_SORT_KEY =
+      "coalesce(applicant_display_name, '') desc, id desc";
+  /** The sort key of the account a page of managed accounts starts after or ends before. */
+  private static final String MANAGED_ACCOUNTS_CURSOR_SQL =
+      "select " + MANAGED_ACCOUNTS_SORT_KEY + " from accounts where id = :cursor";
 
   private final EbeanServer ebeanServer;
   private final DatabaseExecutionContext executionContext;
-  private final Provider<VersionRepository> versionRepositoryProvider;
+  private final Cache<Long, ImmutableMap<LifecycleStage, ImmutableList<ProgramDefinition>>>
+      programsForApplicantCache =
+          CacheBuilder.newBuilder()
+              .expireAfterWrite(PROGRAMS_FOR_APPLICANT_MAX_AGE)
+              .maximumSize(PROGRAMS_FOR_APPLICANT_MAX_ENTRIES)
+              .build();
+  /**
+   * Counts invalidations of {@link #programsForApplicantCache}, so that a lookup which overlapped
+   * an invalidation does not leave its possibly stale result behind.
+   */
+  private final AtomicLong programsForApplicantGeneration = new AtomicLong();
+  /** IDs of accounts recently found to exist. Missing accounts are never cached. */
+  private final Cache<Long, Boolean> existingAccountIdsCache =
+      CacheBuilder.newBuilder()
+          .expireAfterWrite(ACCOUNT_EXISTS_MAX_AGE)
+          .maximumSize(ACCOUNT_EXISTS_MAX_ENTRIES)
+          .build();
 
   @Inject
-  public UserRepository(
-      EbeanConfig ebeanConfig,
-      DatabaseExecutionContext executionContext,
-      Provider<VersionRepository> versionRepositoryProvider) {
+  public UserRepository(EbeanConfig ebeanConfig, DatabaseExecutionContext executionContext) {
     this.ebeanServer = Ebean.getServer(checkNotNull(ebeanConfig).defaultServer());
     this.executionContext = checkNotNull(executionContext);
-    this.versionRepositoryProvider = checkNotNull(versionRepositoryProvider);
   }
 
   public CompletionStage<Set<Applicant>> listApplicants() {
@@ -62,40 +119,129 @@ public class UserRepository {
   /**
    * Returns all programs that are appropriate to serve to an applicant - which is any program
    * program where they have an application in the draft stage, and any active program.
+   *
+   * <p>Results are cached per applicant for {@link #PROGRAMS_FOR_APPLICANT_MAX_AGE}. The cache is
+   * invalidated when the applicant starts a new draft or submits an application, and when a new
+   * version is published.
    */
   public CompletionStage<ImmutableMap<LifecycleStage, ImmutableList<ProgramDefinition>>>
       programsForApplicant(long applicantId) {
+    ImmutableMap<LifecycleStage, ImmutableList<ProgramDefinition>> cached =
+        programsForApplicantCache.getIfPresent(applicantId);
+    if (cached != null) {
+      return CompletableFuture.completedFuture(cached);
+    }
+    long generation = getProgramsForApplicantGeneration();
     return supplyAsync(
         () -> {
-          ImmutableList<ProgramDefinition> inProgressPrograms =
-              ebeanServer
-                  .find(Program.class)
-                  .alias("p")
-                  .where()
-                  .exists(
-                      ebeanServer
-                          .find(Application.class)
-                          .where()
-                          .eq("applicant.id", applicantId)
-                          .eq("lifecycle_stage", LifecycleStage.DRAFT)
-                          .raw("program.id = p.id")
-                          .query())
-                  .endOr()
-                  .findList()
-                  .stream()
-                  .map(Program::getProgramDefinition)
-                  .collect(ImmutableList.toImmutableList());
-          ImmutableList<ProgramDefinition> activePrograms =
-              versionRepositoryProvider.get().getActiveVersion().getPrograms().stream()
-                  .map(Program::getProgramDefinition)
-                  .collect(ImmutableList.toImmutableList());
-          return ImmutableMap.of(
-              LifecycleStage.DRAFT, inProgressPrograms,
-              LifecycleStage.ACTIVE, activePrograms);
+          ImmutableMap<LifecycleStage, ImmutableList<ProgramDefinition>> programs =
+              lookupProgramsForApplicant(applicantId);
+          cacheProgramsForApplicant(applicantId, generation, programs);
+          return programs;
         },
         executionContext.current());
   }
 
+  /**
+   * Caches the programs looked up for the applicant, unless the cache was invalidated since the
+   * lookup started at {@code generation}. Invalidations bump the generation before dropping
+   * entries, so either this sees the new generation and drops its own entry, or the invalidation
+   * drops the entry after it was put.
+   */
+  void cacheProgramsForApplicant(
+      long applicantId,
+      long generation,
+      ImmutableMap<LifecycleStage, ImmutableList<ProgramDefinition>> programs) {
+    programsForApplicantCache.put(applicantId, programs);
+    if (programsForApplicantGeneration.get() != generation) {
+      programsForApplicantCache.invalidate(applicantId);
+    }
+  }
+
+  /** Returns the generation that a lookup of programs for an applicant starts at. */
+  long getProgramsForApplicantGeneration() {
+    return programsForApplicantGeneration.get();
+  }
+
+  /** Drops any cached result of {@link #programsForApplicant} for the applicant. */
+  public void invalidateProgramsForApplicant(long applicantId) {
+    programsForApplicantGeneration.incrementAndGet();
+    programsForApplicantCache.invalidate(applicantId);
+  }
+
+  /**
+   * Returns true if the account exists. This is checked on every request, so accounts found to
+   * exist are cached for {@link #ACCOUNT_EXISTS_MAX_AGE}, and the cache must be invalidated
+   * wherever accounts are deleted.
+   */
+  public boolean accountExists(long accountId) {
+    if (existingAccountIdsCache.getIfPresent(accountId) != null) {
+      return true;
+    }
+    boolean exists = ebeanServer.find(Account.class).where().idEq(accountId).exists();
+    if (exists) {
+      existingAccountIdsCache.put(accountId, true);
+    }
+    return exists;
+  }
+
+  /** Drops all cached results of {@link #accountExists}, e.g. after accounts are deleted. */
+  public void invalidateAllAccountExists() {
+    existingAccountIdsCache.invalidateAll();
+  }
+
+  /** Drops all cached results of {@link #programsForApplicant}, e.g. after a publish. */
+  public void invalidateAllProgramsForApplicant() {
+    programsForApplicantGeneration.incrementAndGet();
+    programsForApplicantCache.invalidateAll();
+  }
+
+  /**
+   * Looks up the applicant's draft and active programs with two statements: {@link
+   * #PROGRAMS_FOR_APPLICANT_SQL} for the program IDs and their stages, then one primary key lookup
+   * for the programs themselves.
+   *
+   * <p>The programs are loaded through Ebean rather than selected in the union query because a
+   * program's definition is built from its JSON columns when Ebean loads it, and a {@link Program}
+   * bean has nowhere to carry the stage a row was selected for. Results are cached per applicant,
+   * so most requests run neither statement.
+   */
+  private ImmutableMap<LifecycleStage, ImmutableList<ProgramDefinition>> lookupProgramsForApplicant(
+      long applicantId) {
+    List<SqlRow> rows =
+        ebeanServer
+            .createSqlQuery(PROGRAMS_FOR_APPLICANT_SQL)
+            .setParameter("applicantId", applicantId)
+            .setParameter("draft", LifecycleStage.DRAFT.getValue())
+            .setParameter("active", LifecycleStage.ACTIVE.getValue())
+            .findList();
+    if (rows.isEmpty()) {
+      return ImmutableMap.of(
+          LifecycleStage.DRAFT, ImmutableList.of(), LifecycleStage.ACTIVE, ImmutableList.of());
+    }
+    ImmutableMap<Long, ProgramDefinition> programsById =
+        ebeanServer
+            .find(Program.class)
+            .where()
+            .idIn(rows.stream().map(row -> row.getLong("program_id")).collect(toImmutableSet()))
+            .findList()
+            .stream()
+            .collect(toImmutableMap(program -> program.id, Program::getProgramDefinition));
+    return ImmutableMap.of(
+        LifecycleStage.DRAFT,
+        programsInStage(rows, programsById, LifecycleStage.DRAFT),
+        LifecycleStage.ACTIVE,
+        programsInStage(rows, programsById, LifecycleStage.ACTIVE));
+  }
+
+  private static ImmutableList<ProgramDefinition> programsInStage(
+      List<SqlRow> rows, ImmutableMap<Long, ProgramDefinition> programsById, LifecycleStage stage) {
+    return rows.stream()
+        .filter(row -> stage.getValue().equals(row.getString("lifecycle_stage")))
+        .map(row -> programsById.get(row.getLong("program_id")))
+        .collect(ImmutableList.toImmutableList());
+  }
+
   public Optional<Account> lookupAccount(String emailAddress) {
     if (emailAddress == null || emailAddress.isEmpty()) {
       return Optional.empty();
@@ -142,15 +288,84 @@ public class UserRepository {
         executionContext);
   }
 
+  /**
+   * Persists changes to the applicant. When only the applicant's answers have changed, just the
+   * changed parts of the JSON document are written, using {@code jsonb_set}, rather than the whole
+   * document.
+   */
   public CompletionStage<Void> updateApplicant(Applicant applicant) {
     return supplyAsync(
         () -> {
-          ebeanServer.update(applicant);
+          if (canUpdateApplicantDataInPlace(applicant)) {
+            updateApplicantDataInPlace(applicant);
+          } else {
+            ebeanServer.update(applicant);
+          }
           return null;
         },
         executionContext);
   }
 
+  private boolean canUpdateApplicantDataInPlace(Applicant applicant) {
+    BeanState state = ebeanServer.getBeanState(applicant);
+    return !state.isNew()
+        && !state.isDirty()
+        && applicant.getApplicantData().getChangedPaths().stream()
+            // Rewriting the applicant root itself is no cheaper than a full update.
+            .allMatch(path -> path.segments().size() > 1);
+  }
+
+  private void updateApplicantDataInPlace(Applicant applicant) {
+    ApplicantData data = applicant.getApplicantData();
+    StringBuilder object = new StringBuilder("object");
+    List<Object> parameters = new ArrayList<>();
+    for (Path path : data.getChangedPaths()) {
+      Optional<String> value = data.readJsonString(path);
+      if (value.isPresent()) {
+        object.insert(0, "jsonb_set(").append(", cast(? as text[]), cast(? as jsonb), true)");
+        parameters.add(toPostgresPath(path));
+        parameters.add(value.get());
+      } else {
+        object.insert(0, "(").append(" #- cast(? as text[]))");
+        parameters.add(toPostgresPath(path));
+      }
+    }
+    SqlUpdate update =
+        ebeanServer.createSqlUpdate(
+            "update applicants set object = " + object + ", preferred_locale = ? where id = ?");
+    for (int i = 0; i < parameters.size(); i++) {
+      update.setParameter(i + 1, parameters.get(i));
+    }
+    update
+        .setParameter(
+            parameters.size() + 1,
+            data.hasPreferredLocale() ? data.preferredLocale().toLanguageTag() : null)
+        .setParameter(parameters.size() + 2, applicant.id)
+        .execute();
+    data.clearChangedPaths();
+  }
+
+  /**
+   * Formats the path as a Postgres {@code text[]} literal, with array indices as their own
+   * elements. For example {@code applicant.children[2].name} becomes {@code
+   * {"applicant","children","2","name"}}.
+   */
+  private static String toPostgresPath(Path path) {
+    List<String> elements = new ArrayList<>();
+    for (String segment : path.segments()) {
+      int arrayStart = segment.indexOf('[');
+      if (arrayStart < 0) {
+        elements.add(segment);
+      } else {
+        elements.add(segment.substring(0, arrayStart));
+        elements.add(segment.substring(arrayStart + 1, segment.length() - 1));
+      }
+    }
+    return elements.stream()
+        .map(element -> '"' + element + '"')
+        .collect(Collectors.joining(",", "{", "}"));
+  }
+
   public Optional<Applicant> lookupApplicantSync(long id) {
     return ebeanServer.find(Applicant.class).setId(id).findOneOrEmpty();
   }
@@ -255,9 +470,105 @@ public class UserRepository {
     return ebeanServer.find(Account.class).setId(accountId).findOneOrEmpty();
   }
 
+  /**
+   * Returns up to {@code limit} of the accounts managed by the trusted intermediary group that sort
+   * after the account {@code afterAccountId}, or from the start if it is empty. Accounts are sorted
+   * by applicant name, then ID. If a search is given, only accounts whose applicant's name contains
+   * it, ignoring case, are returned.
+   */
+  public ImmutableList<Account> getManagedAccountsAfter(
+      long groupId, Optional<String> search, Optional<Long> afterAccountId, int limit) {
+    String sql = managedAccountsSql(search);
+    if (afterAccountId.isPresent()) {
+      sql += " and (" + MANAGED_ACCOUNTS_SORT_KEY + ") > (" + MANAGED_ACCOUNTS_CURSOR_SQL + ")";
+    }
+    Query<Account> query =
+        ebeanServer
+            .findNative(
+                Account.class, sql + " order by " + MANAGED_ACCOUNTS_SORT_KEY + " limit :limit")
+            .setParameter("limit", limit);
+    managedAccountsParameters(groupId, search).forEach(query::setParameter);
+    afterAccountId.ifPresent(cursor -> query.setParameter("cursor", cursor));
+    return ImmutableList.copyOf(query.findList());
+  }
+
+  /**
+   * Returns up to {@code limit} of the accounts managed by the trusted intermediary group that sort
+   * before the account {@code beforeAccountId}. See {@link #getManagedAccountsAfter}.
+   */
+  public ImmutableList<Account> getManagedAccountsBefore(
+      long groupId, Optional<String> search, long beforeAccountId, int limit) {
+    String sql =
+        managedAccountsSql(search)
+            + " and ("
+            + MANAGED_ACCOUNTS_SORT_KEY
+            + ") < ("
+            + MANAGED_ACCOUNTS_CURSOR_SQL
+            + ") order by "
+            + MANAGED_ACCOUNTS_REVERSE_SORT_KEY
+            + " limit :limit";
+    Query<Account> query =
+        ebeanServer
+            .findNative(Account.class, sql)
+            .setParameter("cursor", beforeAccountId)
+            .setParameter("limit", limit);
+    managedAccountsParameters(groupId, search).forEach(query::setParameter);
+    return ImmutableList.copyOf(query.findList()).reverse();
+  }
+
+  /**
+   * Returns up to {@code limit} of the accounts managed by the trusted intermediary group, skipping
+   * the first {@code offset}. Prefer {@link #getManagedAccountsAfter} where the previous page is
+   * known, since the skipped accounts must still be read.
+   */
+  public ImmutableList<Account> getManagedAccounts(
+      long groupId, Optional<String> search, int offset, int limit) {
+    String sql =
+        managedAccountsSql(search)
+            + " order by "
+            + MANAGED_ACCOUNTS_SORT_KEY
+            + " limit :limit offset :offset";
+    Query<Account> query =
+        ebeanServer
+            .findNative(Account.class, sql)
+            .setParameter("limit", limit)
+            .setParameter("offset", offset);
+    managedAccountsParameters(groupId, search).forEach(query::setParameter);
+    return ImmutableList.copyOf(query.findList());
+  }
+
+  /**
+   * Returns the number of accounts managed by the trusted intermediary group matching the search.
+   */
+  public int countManagedAccounts(long groupId, Optional<String> search) {
+    SqlQuery query =
+        ebeanServer.createSqlQuery(
+            managedAccountsSql(search).replace("select *", "select count(*) as count"));
+    managedAccountsParameters(groupId, search).forEach(query::setParameter);
+    return query.findOne().getInteger("count");
+  }
+
+  private static String managedAccountsSql(Optional<String> search) {
+    String sql = "select * from accounts where managed_by_group_id = :groupId";
+    if (SearchQueries.isSearch(search)) {
+      sql += " and lower(applicant_display_name) like :search";
+    }
+    return sql;
+  }
+
+  private static ImmutableMap<String, Object> managedAccountsParameters(
+      long groupId, Optional<String> search) {
+    ImmutableMap.Builder<String, Object> parameters = ImmutableMap.builder();
+    parameters.put("groupId", groupId);
+    if (SearchQueries.isSearch(search)) {
+      parameters.put("search", SearchQueries.containsPattern(search.get()));
+    }
+    return parameters.build();
+  }
+
   public Optional<TrustedIntermediaryGroup> getTrustedIntermediaryGroup(
       CiviFormProfile civiformProfile) {
-    return civiformProfile.getAccount().join().getMemberOfGroup();
+    return civiformProfile.getTrustedIntermediaryGroup().join();
   }
 
   /**
@@ -5,6 +5,8 @@ import static com.google.common.collect.ImmutableSet.toImmutableSet;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 import io.ebean.Ebean;
@@ -13,9 +15,12 @@ import io.ebean.SerializableConflictException;
 import io.ebean.Transaction;
 import io.ebean.TxScope;
 import io.ebean.annotation.TxIsolation;
+import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 import javax.inject.Inject;
+import javax.inject.Singleton;
 import javax.persistence.NonUniqueResultException;
 import javax.persistence.RollbackException;
 import models.LifecycleStage;
@@ -35,16 +40,22 @@ import services.program.predicate.PredicateDefinition;
 import services.program.predicate.PredicateExpressionNode;
 
 /** A repository object for dealing with versioning of questions and programs. */
+@Singleton
 public class VersionRepository {
+  private static final Duration ACTIVE_VERSION_ID_MAX_AGE = Duration.ofMinutes(1);
 
   private final EbeanServer ebeanServer;
   private final Logger LOG = LoggerFactory.getLogger(VersionRepository.class);
   private final ProgramRepository programRepository;
+  private final UserRepository userRepository;
+  private volatile Supplier<Long> activeVersionId = newActiveVersionIdSupplier();
 
   @Inject
-  public VersionRepository(EbeanConfig ebeanConfig, ProgramRepository programRepository) {
+  public VersionRepository(
+      EbeanConfig ebeanConfig, ProgramRepository programRepository, UserRepository userRepository) {
     this.ebeanServer = Ebean.getServer(checkNotNull(ebeanConfig).defaultServer());
     this.programRepository = checkNotNull(programRepository);
+    this.userRepository = checkNotNull(userRepository);
   }
 
   /**
@@ -99,10 +110,14 @@ public class VersionRepository {
       active.save();
       draft.save();
       draft.refresh();
+      refreshQuestionTagIndex(draft);
       ebeanServer.commitTransaction();
     } finally {
       ebeanServer.endTransaction();
     }
+    activeVersionId = newActiveVersionIdSupplier();
+    programRepository.refreshSlugIndex();
+    userRepository.invalidateAllProgramsForApplicant();
   }
 
   /** Get the current draft version. Creates it if one does not exist. */
@@ -166,6 +181,30 @@ public class VersionRepository {
         .findOne();
   }
 
+  /**
+   * Returns the ID of the active version, which changes whenever a version is published. The ID is
+   * remembered for {@link #ACTIVE_VERSION_ID_MAX_AGE} so that publishes on other servers are picked
+   * up, and forgotten immediately when a version is published on this server.
+   */
+  public long getActiveVersionId() {
+    return activeVersionId.get();
+  }
+
+  private Supplier<Long> newActiveVersionIdSupplier() {
+    return Suppliers.memoizeWithExpiration(
+        () -> getActiveVersion().id, ACTIVE_VERSION_ID_MAX_AGE.toMillis(), TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Rebuild and save the question tag index of a version, reloading its questions first so that
+   * questions added to it earlier in the same transaction are included.
+   */
+  public void refreshQuestionTagIndex(Version version) {
+    ebeanServer.refreshMany(version, "questions");
+    version.refreshQuestionTagIndex();
+    version.save();
+  }
+
   private Optional<Question> getLatestVersionOfQuestion(long questionId) {
     String questionName =
         ebeanServer.find(Question.class).setId(questionId).select("name").findSingleAttribute();
@@ -302,9 +341,13 @@ public class VersionRepository {
     Version newActiveVersion = ebeanServer.find(Version.class).setId(versionId).findOne();
     newActiveVersion.setLifecycleStage(LifecycleStage.ACTIVE);
     newActiveVersion.save();
+    refreshQuestionTagIndex(newActiveVersion);
     activeVersion.setLifecycleStage(LifecycleStage.OBSOLETE);
     activeVersion.save();
     draftVersion.setLifecycleStage(LifecycleStage.DELETED);
     draftVersion.save();
+    activeVersionId = newActiveVersionIdSupplier();
+    programRepository.refreshSlugIndex();
+    userRepository.invalidateAllProgramsForApplicant();
   }
 }
@@ -32,6 +32,14 @@ public class PaginationInfo<T> {
     this.pageCount = pageCount;
   }
 
+  /**
+   * Returns the number of pages needed to show {@code itemCount} items, which is at least one so
+   * that an empty list is displayed as a single empty page.
+   */
+  public static int pageCount(int itemCount, int pageSize) {
+    return Math.max(1, (int) Math.ceil((double) itemCount / pageSize));
+  }
+
   public static <V> PaginationInfo<V> paginate(ImmutableList<V> allItems, int pageSize, int page) {
     int endOfListIndex = page * pageSize;
     int totalPageCount = (int) Math.ceil((double) allItems.size() / pageSize);
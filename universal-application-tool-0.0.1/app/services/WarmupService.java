@@ -0,0 +1,130 @@
+package services;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.collect.ImmutableList.toImmutableList;
+
+import com.google.common.collect.ImmutableList;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import play.Environment;
+import play.i18n.Lang;
+import play.i18n.Langs;
+import play.i18n.Messages;
+import play.i18n.MessagesApi;
+import play.inject.ApplicationLifecycle;
+import repository.DatabaseExecutionContext;
+import services.applicant.ApplicantData;
+import services.applicant.predicate.JsonPathPredicateGenerator;
+import services.applicant.predicate.PredicateEvaluator;
+import services.program.BlockDefinition;
+import services.program.ProgramDefinition;
+import services.program.ProgramService;
+import services.program.predicate.PredicateDefinition;
+import services.question.QuestionService;
+import services.question.types.QuestionDefinition;
+import services.question.types.QuestionType;
+import views.admin.questions.QuestionPreview;
+
+/**
+ * Exercises the expensive first-request paths of a freshly started server - loading the active
+ * version, compiling program predicates and rendering question views - before it reports itself
+ * ready to the load balancer through {@link controllers.HomeController#readiness()}.
+ *
+ * <p>Warm-up runs in the background on the database thread pool so it does not hold up application
+ * start. Failures are logged and do not prevent the server from becoming ready, since warm-up only
+ * affects latency and never correctness. The server reports itself not ready again once shutdown
+ * begins so the load balancer drains it before it stops serving.
+ */
+@Singleton
+public final class WarmupService {
+  private static final Logger LOG = LoggerFactory.getLogger(WarmupService.class);
+
+  private final ProgramService programService;
+  private final QuestionService questionService;
+  private final MessagesApi messagesApi;
+  private final Langs langs;
+  private volatile boolean ready = false;
+
+  @Inject
+  public WarmupService(
+      ApplicationLifecycle appLifecycle,
+      Environment environment,
+      DatabaseExecutionContext executionContext,
+      ProgramService programService,
+      QuestionService questionService,
+      MessagesApi messagesApi,
+      Langs langs) {
+    this.programService = checkNotNull(programService);
+    this.questionService = checkNotNull(questionService);
+    this.messagesApi = checkNotNull(messagesApi);
+    this.langs = checkNotNull(langs);
+
+    appLifecycle.addStopHook(
+        () -> {
+          ready = false;
+          return CompletableFuture.completedFuture(null);
+        });
+
+    if (environment.isTest()) {
+      // Tests truncate the database between cases, so there is nothing useful to warm.
+      ready = true;
+    } else {
+      CompletableFuture.runAsync(this::warmup, executionContext);
+    }
+  }
+
+  /** Returns true once warm-up has finished and the server has not begun shutting down. */
+  public boolean isReady() {
+    return ready;
+  }
+
+  /** Runs warm-up and then reports the server ready. Called directly by tests. */
+  void warmup() {
+    long start = System.currentTimeMillis();
+    try {
+      questionService.getReadOnlyQuestionService().toCompletableFuture().join();
+      ImmutableList<ProgramDefinition> activePrograms =
+          programService.getActiveAndDraftPrograms().getActivePrograms();
+      activePrograms.forEach(this::evaluatePredicates);
+      renderQuestionPreviews();
+      LOG.info(
+          "Warm-up of {} active programs finished in {}ms",
+          activePrograms.size(),
+          System.currentTimeMillis() - start);
+    } catch (RuntimeException e) {
+      LOG.error("Warm-up failed, reporting ready anyway", e);
+    } finally {
+      ready = true;
+    }
+  }
+
+  /**
+   * Compiles and evaluates every non-repeated block predicate in the program against empty
+   * applicant data, which loads the JsonPath and Jackson machinery used when applicants navigate.
+   */
+  private void evaluatePredicates(ProgramDefinition programDefinition) {
+    ImmutableList<QuestionDefinition> questions =
+        programDefinition.streamQuestionDefinitions().collect(toImmutableList());
+    PredicateEvaluator evaluator =
+        new PredicateEvaluator(
+            new ApplicantData(), new JsonPathPredicateGenerator(questions, Optional.empty()));
+    for (BlockDefinition block : programDefinition.getNonRepeatedBlockDefinitions()) {
+      block.visibilityPredicate().map(PredicateDefinition::rootNode).ifPresent(evaluator::evaluate);
+      block.optionalPredicate().map(PredicateDefinition::rootNode).ifPresent(evaluator::evaluate);
+    }
+  }
+
+  /** Renders a sample of every question type in every supported language. */
+  private void renderQuestionPreviews() {
+    for (Lang lang : langs.availables()) {
+      Messages messages = messagesApi.preferred(ImmutableList.of(lang));
+      for (QuestionType type : QuestionType.values()) {
+        QuestionPreview.renderQuestionPreview(type, messages).render();
+      }
+    }
+  }
+}
@@ -4,6 +4,7 @@ import static com.google.common.base.Preconditions.checkNotNull;
 
 import com.google.common.base.Splitter;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
 import com.jayway.jsonpath.DocumentContext;
 import com.jayway.jsonpath.PathNotFoundException;
 import com.jayway.jsonpath.TypeRef;
@@ -16,12 +17,13 @@ import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
-import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import javax.annotation.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -48,6 +50,7 @@ public class ApplicantData {
 
   private static final String APPLICANT = "applicant";
   public static final Path APPLICANT_PATH = Path.create(APPLICANT);
+  public static final String ANONYMOUS_APPLICANT_NAME = "<Anonymous Applicant>";
   private static final String EMPTY_APPLICANT_DATA_JSON =
       String.format("{ \"%s\": {} }", APPLICANT);
   private static final TypeRef<List<Object>> LIST_OF_OBJECTS_TYPE = new TypeRef<>() {};
@@ -56,6 +59,7 @@ public class ApplicantData {
   private final Logger logger = LoggerFactory.getLogger(this.getClass());
   private boolean locked = false;
   private Optional<Locale> preferredLocale;
+  private final Set<Path> changedPaths = new LinkedHashSet<>();
 
   public ApplicantData() {
     this(EMPTY_APPLICANT_DATA_JSON);
@@ -91,14 +95,25 @@ public class ApplicantData {
   }
 
   public String getApplicantName() {
-    try {
-      String firstName = readString(WellKnownPaths.APPLICANT_FIRST_NAME).get();
-      String lastName = readString(WellKnownPaths.APPLICANT_LAST_NAME).get();
-      return String.format("%s, %s", lastName, firstName);
-    } catch (NoSuchElementException e) {
+    Optional<String> name = getApplicantNameIfAnswered();
+    if (name.isEmpty()) {
       logger.error("Application {} does not include an applicant name.");
-      return "<Anonymous Applicant>";
+      return ANONYMOUS_APPLICANT_NAME;
     }
+    return name.get();
+  }
+
+  /**
+   * Returns the applicant's name formatted as "last, first", or empty if they have not answered the
+   * name question.
+   */
+  public Optional<String> getApplicantNameIfAnswered() {
+    Optional<String> firstName = readString(WellKnownPaths.APPLICANT_FIRST_NAME);
+    Optional<String> lastName = readString(WellKnownPaths.APPLICANT_LAST_NAME);
+    if (firstName.isEmpty() || lastName.isEmpty()) {
+      return Optional.empty();
+    }
+    return Optional.of(String.format("%s, %s", lastName.get(), firstName.get()));
   }
 
   /**
@@ -216,6 +231,7 @@ public class ApplicantData {
    */
   private void put(Path path, Object value) {
     checkLocked();
+    markChanged(path);
     putParentIfMissing(path);
     if (path.isArrayElement()) {
       putArrayIfMissing(path.withoutArrayReference());
@@ -243,6 +259,7 @@ public class ApplicantData {
   public void maybeClearArray(Path path) {
     checkLocked();
     if (path.isArrayElement()) {
+      markChanged(path.withoutArrayReference());
       putParentIfMissing(path);
       maybeDelete(path.withoutArrayReference());
     }
@@ -252,6 +269,7 @@ public class ApplicantData {
   public void maybeDelete(Path path) {
     checkLocked();
     if (hasPath(path)) {
+      markChanged(path);
       jsonData.delete(path.toString());
     }
   }
@@ -476,6 +494,7 @@ public class ApplicantData {
 
     // Delete in reverse sorted order because deletion is index based, and indices would need to be
     // decremented for each deletion if it wasn't reverse sorted.
+    markChanged(path.withoutArrayReference());
     for (int index : reverseSortedIndices) {
       jsonData.delete(path.atIndex(index).toString());
     }
@@ -507,6 +526,77 @@ public class ApplicantData {
     return jsonData.jsonString();
   }
 
+  /**
+   * Returns the outermost paths whose values have changed since this data was loaded or last
+   * persisted, in the order they were first changed. No returned path is nested in another.
+   *
+   * <p>Each returned path's parent already existed before the change, so the changes can be
+   * persisted by writing the current value at each path (see {@link #readJsonString}), or deleting
+   * it if there is no longer a value.
+   */
+  public ImmutableSet<Path> getChangedPaths() {
+    return ImmutableSet.copyOf(changedPaths);
+  }
+
+  /** Forgets about previous changes, once they have been persisted. */
+  public void clearChangedPaths() {
+    changedPaths.clear();
+  }
+
+  /**
+   * Returns the JSON representation of the value at the given path, or {@link Optional#empty} if
+   * there is no value there.
+   */
+  public Optional<String> readJsonString(Path path) {
+    if (!hasPath(path)) {
+      return Optional.empty();
+    }
+    Object value = jsonData.read(path.toString());
+    return Optional.of(jsonData.configuration().jsonProvider().toJson(value));
+  }
+
+  /**
+   * Records that the value at the given path is about to change. This must be called before the
+   * underlying JSON is modified, so we can tell which of the path's ancestors are being created.
+   */
+  private void markChanged(Path path) {
+    Path changed = outermostMissingAncestor(path);
+    if (changedPaths.stream().anyMatch(existing -> isAtOrBelow(changed, existing))) {
+      return;
+    }
+    changedPaths.removeIf(existing -> isAtOrBelow(existing, changed));
+    changedPaths.add(changed);
+  }
+
+  /**
+   * Returns the outermost ancestor of the path that doesn't exist yet, or the path itself if all of
+   * its ancestors exist. Array elements are widened to the whole array, since their position in a
+   * persisted array can't be addressed until the elements before them exist.
+   */
+  private Path outermostMissingAncestor(Path path) {
+    ImmutableList<String> segments = path.segments();
+    for (int i = 1; i <= segments.size(); i++) {
+      Path ancestor = Path.create(String.join(".", segments.subList(0, i)));
+      if (ancestor.isArrayElement()) {
+        if (ancestor.keyName().endsWith(Path.ARRAY_SUFFIX) || !hasPath(ancestor)) {
+          return ancestor.withoutArrayReference();
+        }
+      } else if (!hasPath(ancestor)) {
+        return ancestor;
+      }
+    }
+    return path.isArrayElement() ? path.withoutArrayReference() : path;
+  }
+
+  /** Returns true if {@code path} is {@code ancestor} or nested within it. */
+  private static boolean isAtOrBelow(Path path, Path ancestor) {
+    String pathString = path.toString();
+    String ancestorString = ancestor.toString();
+    return pathString.equals(ancestorString)
+        || pathString.startsWith(ancestorString + ".")
+        || pathString.startsWith(ancestorString + "[");
+  }
+
   @Override
   public boolean equals(@Nullable Object object) {
     if (object instanceof ApplicantData) {
@@ -547,6 +637,7 @@ public class ApplicantData {
         } else if (entry.getValue() instanceof List) {
           // Add items from lists.
           // TODO(github.com/seattle-uat/civiform/issues/405): improve merge for repeated fields.
+          markChanged(path);
           for (Object item : (List) entry.getValue()) {
             jsonData.add(path.toString(), item);
           }
@@ -49,6 +49,7 @@ public class ApplicantServiceImpl implements ApplicantService {
       "seattle-civiform-applicants-notify@google.com";
 
   private final ApplicationRepository applicationRepository;
+  private final DraftSnapshotService draftSnapshotService;
   private final UserRepository userRepository;
   private final ProgramService programService;
   private final SimpleEmail amazonSESClient;
@@ -60,6 +61,7 @@ public class ApplicantServiceImpl implements ApplicantService {
   @Inject
   public ApplicantServiceImpl(
       ApplicationRepository applicationRepository,
+      DraftSnapshotService draftSnapshotService,
       UserRepository userRepository,
       ProgramService programService,
       SimpleEmail amazonSESClient,
@@ -67,6 +69,7 @@ public class ApplicantServiceImpl implements ApplicantService {
       Config configuration,
       HttpExecutionContext httpExecutionContext) {
     this.applicationRepository = checkNotNull(applicationRepository);
+    this.draftSnapshotService = checkNotNull(draftSnapshotService);
     this.userRepository = checkNotNull(userRepository);
     this.programService = checkNotNull(programService);
     this.amazonSESClient = checkNotNull(amazonSESClient);
@@ -193,10 +196,7 @@ public class ApplicantServiceImpl implements ApplicantService {
             },
             httpExecutionContext.current())
         .thenCompose(
-            (v) ->
-                applicationRepository
-                    .createOrUpdateDraft(applicantId, programId)
-                    .thenApplyAsync(appDraft -> v));
+            (v) -> draftSnapshotService.recordSave(applicantId, programId).thenApply(unused -> v));
   }
 
   @Override
@@ -216,8 +216,10 @@ public class ApplicantServiceImpl implements ApplicantService {
 
   private CompletionStage<Application> submitApplication(
       long applicantId, long programId, Optional<String> submitterEmail) {
-    return applicationRepository
-        .submitApplication(applicantId, programId, submitterEmail)
+    return draftSnapshotService
+        .flush(applicantId)
+        .thenCompose(
+            v -> applicationRepository.submitApplication(applicantId, programId, submitterEmail))
         .thenComposeAsync(
             applicationMaybe -> {
               if (applicationMaybe.isEmpty()) {
@@ -266,7 +268,7 @@ public class ApplicantServiceImpl implements ApplicantService {
     String tiDashLink =
         baseUrl
             + controllers.ti.routes.TrustedIntermediaryController.dashboard(
-                    Optional.empty(), Optional.empty())
+                    Optional.empty(), Optional.empty(), Optional.empty(), Optional.empty())
                 .url();
     String subject =
         String.format(
@@ -0,0 +1,200 @@
+package services.applicant;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.collect.ImmutableList.toImmutableList;
+
+import akka.actor.ActorSystem;
+import akka.actor.Cancellable;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.ImmutableSetMultimap;
+import com.google.common.collect.Iterables;
+import com.google.common.collect.Sets;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import play.inject.ApplicationLifecycle;
+import repository.ApplicationRepository;
+import repository.DatabaseExecutionContext;
+
+/**
+ * Keeps applicants' draft applications up to date with their answers, without writing the draft on
+ * every block save.
+ *
+ * <p>The first block save for a program creates the applicant's draft straight away, so that the
+ * application is listed as in progress from then on. The draft's copy of the answers is only needed
+ * once the application is submitted, so later saves just {@link #markDirty} the draft. A background
+ * task periodically writes all dirty drafts in batches, coalescing repeated saves to the same draft
+ * into one write. Paths that read drafts must {@link #flush} the applicant's dirty drafts first.
+ *
+ * <p>Which drafts are dirty is only known to the server that saved the block, and is lost if it
+ * stops before flushing them. The draft then still exists but may lag the applicant's answers, so
+ * submitting an application copies the applicant's answers into the draft itself. For the same
+ * reason, drafts that cannot be written are dropped rather than retried indefinitely, once they
+ * have been retried on their own so that one bad draft does not hold back the rest of its batch.
+ */
+@Singleton
+public final class DraftSnapshotService {
+  private static final Logger LOG = LoggerFactory.getLogger(DraftSnapshotService.class);
+  private static final Duration FLUSH_INTERVAL = Duration.ofSeconds(5);
+  private static final int FLUSH_BATCH_SIZE = 100;
+
+  private final ApplicationRepository applicationRepository;
+  private final DatabaseExecutionContext executionContext;
+  private final ConcurrentHashMap<Long, ImmutableSet<Long>> dirtyProgramIdsByApplicantId =
+      new ConcurrentHashMap<>();
+  private final ConcurrentHashMap<Long, CompletableFuture<Void>> inProgressWrites =
+      new ConcurrentHashMap<>();
+
+  @Inject
+  public DraftSnapshotService(
+      ApplicationRepository applicationRepository,
+      ActorSystem actorSystem,
+      DatabaseExecutionContext executionContext,
+      ApplicationLifecycle appLifecycle) {
+    this.applicationRepository = checkNotNull(applicationRepository);
+    this.executionContext = checkNotNull(executionContext);
+
+    Cancellable flusher =
+        actorSystem
+            .scheduler()
+            .scheduleWithFixedDelay(
+                FLUSH_INTERVAL, FLUSH_INTERVAL, this::flushAll, executionContext);
+    appLifecycle.addStopHook(
+        () -> {
+          flusher.cancel();
+          return CompletableFuture.runAsync(this::flushAll, executionContext);
+        });
+  }
+
+  /**
+   * Records that the applicant saved a block of the program. Creates their draft for the program if
+   * they have none yet, and otherwise marks it dirty.
+   */
+  public CompletionStage<Void> recordSave(long applicantId, long programId) {
+    return applicationRepository
+        .createDraftIfMissing(applicantId, programId)
+        .thenAccept(
+            written -> {
+              if (!written) {
+                markDirty(applicantId, programId);
+              }
+            });
+  }
+
+  /** Records that the applicant's draft for the program no longer matches their answers. */
+  void markDirty(long applicantId, long programId) {
+    dirtyProgramIdsByApplicantId.merge(
+        applicantId,
+        ImmutableSet.of(programId),
+        (existing, added) -> Sets.union(existing, added).immutableCopy());
+  }
+
+  /**
+   * Writes the applicant's dirty drafts, if there are any. The returned stage also waits for any
+   * background write of the applicant's drafts that is already in progress.
+   */
+  public CompletionStage<Void> flush(long applicantId) {
+    CompletableFuture<Void> inProgress =
+        inProgressWrites.getOrDefault(applicantId, CompletableFuture.completedFuture(null));
+    return CompletableFuture.allOf(inProgress, write(ImmutableList.of(applicantId)));
+  }
+
+  /** Writes all dirty drafts. */
+  void flushAll() {
+    for (List<Long> batch :
+        Iterables.partition(
+            ImmutableList.copyOf(dirtyProgramIdsByApplicantId.keySet()), FLUSH_BATCH_SIZE)) {
+      // Failures are logged by write, so keep going with the next batch.
+      write(batch).exceptionally(error -> null).join();
+    }
+  }
+
+  /**
+   * Writes the dirty drafts of the applicants. Each applicant is registered as having a write in
+   * progress before their drafts stop being dirty, so that {@link #flush} never misses a write. The
+   * returned stage fails if any of the applicants' drafts could not be written.
+   */
+  private CompletableFuture<Void> write(List<Long> applicantIds) {
+    Map<Long, CompletableFuture<Void>> writtenByApplicantId = new HashMap<>();
+    ImmutableSetMultimap.Builder<Long, Long> draftsBuilder = ImmutableSetMultimap.builder();
+    for (long applicantId : applicantIds) {
+      CompletableFuture<Void> written = new CompletableFuture<>();
+      writtenByApplicantId.put(applicantId, written);
+      inProgressWrites.put(applicantId, written);
+      ImmutableSet<Long> programIds = dirtyProgramIdsByApplicantId.remove(applicantId);
+      if (programIds != null) {
+        draftsBuilder.putAll(applicantId, programIds);
+      }
+    }
+    persist(draftsBuilder.build())
+        .whenComplete(
+            (errorsByApplicantId, error) ->
+                writtenByApplicantId.forEach(
+                    (applicantId, written) -> {
+                      inProgressWrites.remove(applicantId, written);
+                      Throwable applicantError =
+                          error != null ? error : errorsByApplicantId.get(applicantId);
+                      if (applicantError != null) {
+                        written.completeExceptionally(applicantError);
+                      } else {
+                        written.complete(null);
+                      }
+                    }));
+    return CompletableFuture.allOf(
+        writtenByApplicantId.values().toArray(new CompletableFuture<?>[0]));
+  }
+
+  /**
+   * Writes the drafts, and returns the errors of the applicants whose drafts could not be written.
+   * If a batch fails, each applicant's drafts are written on their own, and those that fail again
+   * are dropped.
+   */
+  private CompletionStage<ImmutableMap<Long, Throwable>> persist(
+      ImmutableSetMultimap<Long, Long> drafts) {
+    if (drafts.isEmpty()) {
+      return CompletableFuture.completedFuture(ImmutableMap.of());
+    }
+    return applicationRepository
+        .createOrUpdateDrafts(drafts)
+        .handle((unused, error) -> Optional.ofNullable(error))
+        .thenCompose(
+            error -> {
+              if (error.isEmpty()) {
+                return CompletableFuture.completedFuture(ImmutableMap.of());
+              }
+              if (drafts.keySet().size() == 1) {
+                LOG.error("Failed to write draft applications {}", drafts, error.get());
+                return CompletableFuture.completedFuture(
+                    ImmutableMap.of(Iterables.getOnlyElement(drafts.keySet()), error.get()));
+              }
+              ImmutableList<CompletableFuture<ImmutableMap<Long, Throwable>>> individualWrites =
+                  drafts.keySet().stream()
+                      .map(
+                          applicantId ->
+                              persist(
+                                      ImmutableSetMultimap.<Long, Long>builder()
+                                          .putAll(applicantId, drafts.get(applicantId))
+                                          .build())
+                                  .toCompletableFuture())
+                      .collect(toImmutableList());
+              return CompletableFuture.allOf(individualWrites.toArray(new CompletableFuture<?>[0]))
+                  .thenApply(
+                      unused -> {
+                        ImmutableMap.Builder<Long, Throwable> errors = ImmutableMap.builder();
+                        individualWrites.forEach(write -> errors.putAll(write.join()));
+                        return errors.build();
+                      });
+            });
+  }
+}
@@ -0,0 +1,8 @@
+package services.aws;
+
+/** Thrown when a file uploaded to local storage does not match its signed upload policy. */
+public class InvalidUploadException extends Exception {
+  public InvalidUploadException(String message) {
+    super("Invalid upload: " + message);
+  }
+}
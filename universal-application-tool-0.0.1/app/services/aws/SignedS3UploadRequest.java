@@ -8,7 +8,11 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.guava.GuavaModule;
 import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
 import com.google.auto.value.AutoValue;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.ImmutableList;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hashing;
 import java.nio.charset.StandardCharsets;
 import java.security.InvalidKeyException;
 import java.security.NoSuchAlgorithmException;
@@ -17,6 +21,7 @@ import java.time.LocalDateTime;
 import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
 import java.util.Optional;
+import java.util.concurrent.ExecutionException;
 import javax.crypto.Mac;
 import javax.crypto.spec.SecretKeySpec;
 import software.amazon.awssdk.utils.BinaryUtils;
@@ -25,19 +30,64 @@ import software.amazon.awssdk.utils.BinaryUtils;
 public abstract class SignedS3UploadRequest {
 
   private static final long MB_TO_BYTES = 1L << 20;
+  private static final String HMAC_SHA256 = "HmacSHA256";
+  static final DateTimeFormatter EXPIRATION_FORMAT =
+      DateTimeFormatter.ofPattern("yyyy-MM-dd'T'kk:mm:ss.SSS'Z'");
+
+  /** Looking up a Mac is much slower than using one, so each thread keeps its own. */
+  private static final ThreadLocal<Mac> MAC =
+      ThreadLocal.withInitial(
+          () -> {
+            try {
+              return Mac.getInstance(HMAC_SHA256);
+            } catch (NoSuchAlgorithmException e) {
+              throw new RuntimeException(e);
+            }
+          });
+
+  /**
+   * Signing keys only change with the date or the credentials, so they are derived once for each.
+   * The same access key may be used with different secret keys, as the local storage backend does,
+   * so the secret key is part of the scope too.
+   */
+  private static final Cache<SigningKeyScope, byte[]> SIGNING_KEYS =
+      CacheBuilder.newBuilder().maximumSize(100).expireAfterWrite(Duration.ofDays(1)).build();
 
   private static byte[] HmacSHA256(String data, byte[] key) {
     try {
-      String algorithm = "HmacSHA256";
-      Mac mac = Mac.getInstance(algorithm);
-      mac.init(new SecretKeySpec(key, algorithm));
+      Mac mac = MAC.get();
+      mac.init(new SecretKeySpec(key, HMAC_SHA256));
       return mac.doFinal(data.getBytes(StandardCharsets.UTF_8));
-    } catch (NoSuchAlgorithmException | InvalidKeyException e) {
+    } catch (InvalidKeyException e) {
       throw new RuntimeException(e);
     }
   }
 
-  private static byte[] getSigningKey(
+  static byte[] getSigningKey(
+      String accessKey, String secretKey, String dateStamp, String regionName, String serviceName) {
+    try {
+      return SIGNING_KEYS.get(
+          SigningKeyScope.create(accessKey, secretKey, dateStamp, regionName, serviceName),
+          () -> deriveSigningKey(secretKey, dateStamp, regionName, serviceName));
+    } catch (ExecutionException e) {
+      throw new RuntimeException(e.getCause());
+    }
+  }
+
+  /** Returns the signature of an encoded policy, which S3 also computes to check an upload. */
+  static String signPolicy(
+      String policy,
+      String accessKey,
+      String secretKey,
+      String dateStamp,
+      String regionName,
+      String serviceName) {
+    return BinaryUtils.toHex(
+        HmacSHA256(
+            policy, getSigningKey(accessKey, secretKey, dateStamp, regionName, serviceName)));
+  }
+
+  private static byte[] deriveSigningKey(
       String secretKey, String dateStamp, String regionName, String serviceName) {
     byte[] kSecret = ("AWS4" + secretKey).getBytes(StandardCharsets.UTF_8);
     byte[] kDate = HmacSHA256(dateStamp, kSecret);
@@ -209,8 +259,7 @@ public abstract class SignedS3UploadRequest {
       setDate(dateString + "T000000Z");
       setDateStamp(dateString);
       LocalDateTime expiration = currentUTCDateTime.plus(duration);
-      return setExpiration(
-          expiration.format(DateTimeFormatter.ofPattern("yyyy-MM-dd'T'kk:mm:ss.SSS'Z'")));
+      return setExpiration(expiration.format(EXPIRATION_FORMAT));
     }
 
     Builder buildCredential() {
@@ -246,11 +295,8 @@ public abstract class SignedS3UploadRequest {
 
     /** Sign the request, specifically the encoded policy string. */
     Builder sign() {
-      String signature =
-          BinaryUtils.toHex(
-              HmacSHA256(
-                  policy(), getSigningKey(secretKey(), dateStamp(), regionName(), serviceName())));
-      return setSignature(signature);
+      return setSignature(
+          signPolicy(policy(), accessKey(), secretKey(), dateStamp(), regionName(), serviceName()));
     }
 
     /** Build the request. If a required field is not set, IllegalStateException is thrown. */
@@ -259,6 +305,37 @@ public abstract class SignedS3UploadRequest {
     }
   }
 
+  /**
+   * What a signing key is derived for. The secret key is kept only as a hash, so that the cache
+   * does not hold secrets.
+   */
+  @AutoValue
+  abstract static class SigningKeyScope {
+    static SigningKeyScope create(
+        String accessKey,
+        String secretKey,
+        String dateStamp,
+        String regionName,
+        String serviceName) {
+      return new AutoValue_SignedS3UploadRequest_SigningKeyScope(
+          accessKey,
+          Hashing.sha256().hashString(secretKey, StandardCharsets.UTF_8),
+          dateStamp,
+          regionName,
+          serviceName);
+    }
+
+    abstract String accessKey();
+
+    abstract HashCode secretKeyHash();
+
+    abstract String dateStamp();
+
+    abstract String regionName();
+
+    abstract String serviceName();
+  }
+
   @AutoValue
   abstract static class UploadPolicy {
     private static final ObjectMapper mapper =
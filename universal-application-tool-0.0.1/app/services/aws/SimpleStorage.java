@@ -4,17 +4,57 @@ import static com.google.common.base.Preconditions.checkNotNull;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.when;
 
+import akka.actor.ActorSystem;
+import akka.actor.Cancellable;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.base.Splitter;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.CacheStats;
+import com.google.common.cache.LoadingCache;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.hash.Hashing;
+import com.google.common.util.concurrent.UncheckedExecutionException;
 import com.typesafe.config.Config;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.MalformedURLException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
 import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import org.mockito.Mockito;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import play.Environment;
 import play.inject.ApplicationLifecycle;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
 import software.amazon.awssdk.auth.credentials.AwsCredentials;
 import software.amazon.awssdk.auth.credentials.AwsSessionCredentials;
 import software.amazon.awssdk.regions.Region;
@@ -23,15 +63,44 @@ import software.amazon.awssdk.services.s3.presigner.S3Presigner;
 import software.amazon.awssdk.services.s3.presigner.model.GetObjectPresignRequest;
 import software.amazon.awssdk.services.s3.presigner.model.PresignedGetObjectRequest;
 
+/**
+ * Stores applicants' files in S3, or in a directory on the server's own disk when {@code
+ * storage_backend} is {@code local}.
+ *
+ * <p>Local storage accepts the same signed upload forms as S3, checked against the same policy, so
+ * that pages upload files the same way with either. Files in local storage are sent by the server
+ * itself rather than through a presigned link to S3.
+ *
+ * <p>Presigned download URLs are kept and handed out again until half of their validity has passed,
+ * so that admins reloading the same files do not sign a new URL each time, and every URL handed out
+ * is still valid for at least {@link #PRESIGNED_URL_CACHE_DURATION}.
+ */
 @Singleton
 public class SimpleStorage {
   public static final String AWS_S3_BUCKET_CONF_PATH = "aws.s3.bucket";
+  public static final String STORAGE_BACKEND_CONF_PATH = "storage_backend";
+  public static final String LOCAL_STORAGE_BACKEND = "local";
+  public static final String LOCAL_STORAGE_DIRECTORY_CONF_PATH = "local_storage_directory";
   public static final Duration AWS_PRESIGNED_URL_DURATION = Duration.ofMinutes(10);
+  static final Duration PRESIGNED_URL_CACHE_DURATION = AWS_PRESIGNED_URL_DURATION.dividedBy(2);
+
+  private static final Logger LOG = LoggerFactory.getLogger(SimpleStorage.class);
+  private static final int MAX_CACHED_PRESIGNED_URLS = 10_000;
+  private static final Duration CACHE_STATS_LOG_INTERVAL = Duration.ofHours(1);
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+  private static final Splitter KEY_SEGMENT_SPLITTER = Splitter.on('/');
 
   private final Region region;
   private final Credentials credentials;
   private final String bucket;
   private final Client client;
+  private final Optional<LocalFileClient> localFileClient;
+  private final LoadingCache<String, URL> presignedUrls =
+      CacheBuilder.newBuilder()
+          .maximumSize(MAX_CACHED_PRESIGNED_URLS)
+          .expireAfterWrite(PRESIGNED_URL_CACHE_DURATION)
+          .recordStats()
+          .build(CacheLoader.from(this::presignUrl));
 
   @Inject
   public SimpleStorage(
@@ -39,42 +108,125 @@ public class SimpleStorage {
       Credentials credentials,
       Config config,
       Environment environment,
-      ApplicationLifecycle appLifecycle) {
+      ApplicationLifecycle appLifecycle,
+      ActorSystem actorSystem) {
     this.region = checkNotNull(region).get();
     this.credentials = checkNotNull(credentials);
     this.bucket = checkNotNull(config).getString(AWS_S3_BUCKET_CONF_PATH);
 
-    if (environment.isDev()) {
-      client = new LocalStackClient(config);
-    } else if (environment.isTest()) {
-      client = new NullClient();
+    if (config.getString(STORAGE_BACKEND_CONF_PATH).equals(LOCAL_STORAGE_BACKEND)) {
+      localFileClient = Optional.of(new LocalFileClient(config));
+      client = localFileClient.get();
     } else {
-      client = new AwsClient();
+      localFileClient = Optional.empty();
+      if (environment.isDev()) {
+        client = new LocalStackClient(config);
+      } else if (environment.isTest()) {
+        client = new NullClient();
+      } else {
+        client = new AwsClient();
+      }
     }
 
+    Cancellable statsLogger =
+        environment.isTest()
+            ? Cancellable.alreadyCancelled()
+            : actorSystem
+                .scheduler()
+                .scheduleWithFixedDelay(
+                    CACHE_STATS_LOG_INTERVAL,
+                    CACHE_STATS_LOG_INTERVAL,
+                    this::logPresignedUrlCacheStats,
+                    actorSystem.dispatcher());
     appLifecycle.addStopHook(
         () -> {
+          statsLogger.cancel();
           client.close();
           return CompletableFuture.completedFuture(null);
         });
   }
 
+  /**
+   * Returns a URL to download the file, valid for at least {@link #PRESIGNED_URL_CACHE_DURATION}.
+   */
   public URL getPresignedUrl(String key) {
-    GetObjectRequest getObjectRequest = GetObjectRequest.builder().key(key).bucket(bucket).build();
+    try {
+      return presignedUrls.getUnchecked(key);
+    } catch (UncheckedExecutionException e) {
+      throw new RuntimeException(e.getCause());
+    }
+  }
+
+  /**
+   * Returns URLs to download each of the files, by key, for pages that link to several files. Each
+   * is valid for at least {@link #PRESIGNED_URL_CACHE_DURATION}.
+   */
+  public ImmutableMap<String, URL> getPresignedUrls(Iterable<String> keys) {
+    try {
+      return presignedUrls.getAll(keys);
+    } catch (ExecutionException | UncheckedExecutionException e) {
+      throw new RuntimeException(e.getCause());
+    }
+  }
+
+  /** Returns how often presigned URLs were reused rather than signed, since the server started. */
+  public CacheStats getPresignedUrlCacheStats() {
+    return presignedUrls.stats();
+  }
+
+  private void logPresignedUrlCacheStats() {
+    CacheStats stats = getPresignedUrlCacheStats();
+    LOG.info(
+        "Presigned URL cache: {} requests, {} hit rate, {} evictions",
+        stats.requestCount(),
+        stats.hitRate(),
+        stats.evictionCount());
+  }
+
+  private URL presignUrl(String key) {
+    return client.presignDownloadUrl(key);
+  }
+
+  /**
+   * Returns the file if it is kept in local storage, so that it can be sent without a redirect.
+   * Returns empty when files are kept in S3.
+   */
+  public Optional<Path> getLocalFile(String key) {
+    return localFileClient.flatMap(localFiles -> localFiles.getFile(key));
+  }
 
-    GetObjectPresignRequest getObjectPresignRequest =
-        GetObjectPresignRequest.builder()
-            .signatureDuration(AWS_PRESIGNED_URL_DURATION)
-            .getObjectRequest(getObjectRequest)
-            .build();
+  /** Returns whether files are kept on the server's disk rather than in S3. */
+  public boolean usesLocalStorage() {
+    return localFileClient.isPresent();
+  }
+
+  /**
+   * Returns the file that a link from {@link #getPresignedUrl} points to, or empty if the link has
+   * expired, was not signed by this server or the file is not in local storage.
+   */
+  public Optional<Path> getSignedLocalFile(String key, long expires, String signature) {
+    return localFileClient.flatMap(localFiles -> localFiles.getSignedFile(key, expires, signature));
+  }
 
-    PresignedGetObjectRequest presignedGetObjectRequest =
-        client.getPresigner().presignGetObject(getObjectPresignRequest);
-    return presignedGetObjectRequest.url();
+  /**
+   * Moves a file uploaded with a form from {@link #getSignedUploadRequest} into local storage,
+   * after checking the form against its signed policy as S3 would, and returns the URL to redirect
+   * the browser to.
+   *
+   * @param fields the form's fields other than the file
+   * @param filename the name of the file on the applicant's device, which replaces {@code
+   *     ${filename}} in the key
+   */
+  public String storeLocalUpload(Map<String, String> fields, String filename, Path uploadedFile)
+      throws InvalidUploadException {
+    if (localFileClient.isEmpty()) {
+      throw new InvalidUploadException("local storage is not enabled");
+    }
+    return localFileClient.get().store(fields, filename, uploadedFile);
   }
 
   public SignedS3UploadRequest getSignedUploadRequest(String key, String successActionRedirect) {
-    AwsCredentials awsCredentials = credentials.getCredentials();
+    AwsCredentials awsCredentials = client.getCredentials();
     SignedS3UploadRequest.Builder builder =
         SignedS3UploadRequest.builder()
             .setActionLink(client.bucketAddress())
@@ -93,14 +245,42 @@ public class SimpleStorage {
   }
 
   interface Client {
-    S3Presigner getPresigner();
+    URL presignDownloadUrl(String key);
+
+    /** Returns the credentials that upload forms are signed with. */
+    AwsCredentials getCredentials();
 
     String bucketAddress();
 
     void close();
   }
 
-  class AwsClient implements Client {
+  abstract class S3Client implements Client {
+    abstract S3Presigner getPresigner();
+
+    @Override
+    public URL presignDownloadUrl(String key) {
+      GetObjectRequest getObjectRequest =
+          GetObjectRequest.builder().key(key).bucket(bucket).build();
+
+      GetObjectPresignRequest getObjectPresignRequest =
+          GetObjectPresignRequest.builder()
+              .signatureDuration(AWS_PRESIGNED_URL_DURATION)
+              .getObjectRequest(getObjectRequest)
+              .build();
+
+      PresignedGetObjectRequest presignedGetObjectRequest =
+          getPresigner().presignGetObject(getObjectPresignRequest);
+      return presignedGetObjectRequest.url();
+    }
+
+    @Override
+    public AwsCredentials getCredentials() {
+      return credentials.getCredentials();
+    }
+  }
+
+  class AwsClient extends S3Client {
     private final S3Presigner presigner;
 
     AwsClient() {
@@ -108,7 +288,7 @@ public class SimpleStorage {
     }
 
     @Override
-    public S3Presigner getPresigner() {
+    S3Presigner getPresigner() {
       return presigner;
     }
 
@@ -123,7 +303,7 @@ public class SimpleStorage {
     }
   }
 
-  class LocalStackClient implements Client {
+  class LocalStackClient extends S3Client {
     private static final String AWS_LOCAL_ENDPOINT_CONF_PATH = "aws.local.endpoint";
 
     private final String localEndpoint;
@@ -141,7 +321,7 @@ public class SimpleStorage {
     }
 
     @Override
-    public S3Presigner getPresigner() {
+    S3Presigner getPresigner() {
       return presigner;
     }
 
@@ -156,7 +336,7 @@ public class SimpleStorage {
     }
   }
 
-  static class NullClient implements Client {
+  class NullClient extends S3Client {
     private final S3Presigner presigner;
 
     NullClient() {
@@ -175,7 +355,7 @@ public class SimpleStorage {
     }
 
     @Override
-    public S3Presigner getPresigner() {
+    S3Presigner getPresigner() {
       return presigner;
     }
 
@@ -187,4 +367,240 @@ public class SimpleStorage {
     @Override
     public void close() {}
   }
+
+  /**
+   * Keeps files in a directory on the server's disk. Files are uploaded to and downloaded from
+   * {@link controllers.LocalStorageController}, which is only reachable with links and forms signed
+   * by this class.
+   */
+  class LocalFileClient implements Client {
+    static final String ACCESS_KEY = "local";
+    private static final String BASE_URL_CONF_PATH = "base_url";
+    private static final String SECRET_KEY_CONF_PATH = "play.http.secret.key";
+    private static final String FILENAME_VARIABLE = "${filename}";
+
+    private final Path directory;
+    private final String baseUrl;
+    private final AwsCredentials localCredentials;
+
+    LocalFileClient(Config config) {
+      directory =
+          Paths.get(config.getString(LOCAL_STORAGE_DIRECTORY_CONF_PATH))
+              .toAbsolutePath()
+              .normalize();
+      try {
+        Files.createDirectories(directory);
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+      baseUrl = config.getString(BASE_URL_CONF_PATH);
+      // Derive the key rather than using the application secret itself to sign forms.
+      String secretKey =
+          Hashing.sha256()
+              .hashString(
+                  "civiform-local-storage:" + config.getString(SECRET_KEY_CONF_PATH),
+                  StandardCharsets.UTF_8)
+              .toString();
+      localCredentials = AwsBasicCredentials.create(ACCESS_KEY, secretKey);
+    }
+
+    @Override
+    public URL presignDownloadUrl(String key) {
+      long expires = Instant.now().plus(AWS_PRESIGNED_URL_DURATION).getEpochSecond();
+      try {
+        return new URL(
+            baseUrl
+                + controllers.routes.LocalStorageController.download(
+                        key, expires, downloadSignature(key, expires))
+                    .url());
+      } catch (MalformedURLException e) {
+        throw new RuntimeException(e);
+      }
+    }
+
+    @Override
+    public AwsCredentials getCredentials() {
+      return localCredentials;
+    }
+
+    @Override
+    public String bucketAddress() {
+      return baseUrl + controllers.routes.LocalStorageController.upload().url();
+    }
+
+    @Override
+    public void close() {}
+
+    Optional<Path> getFile(String key) {
+      return resolve(key).filter(Files::isRegularFile);
+    }
+
+    Optional<Path> getSignedFile(String key, long expires, String signature) {
+      if (expires < Instant.now().getEpochSecond()
+          || !MessageDigest.isEqual(
+              downloadSignature(key, expires).getBytes(StandardCharsets.UTF_8),
+              signature.getBytes(StandardCharsets.UTF_8))) {
+        return Optional.empty();
+      }
+      return getFile(key);
+    }
+
+    String store(Map<String, String> formFields, String filename, Path uploadedFile)
+        throws InvalidUploadException {
+      // Like S3, field names are not case sensitive.
+      Map<String, String> fields = new HashMap<>();
+      formFields.forEach((name, value) -> fields.put(name.toLowerCase(Locale.ROOT), value));
+      String policy = requiredField(fields, "policy");
+      checkSignature(policy, requiredField(fields, "x-amz-credential"), fields);
+      JsonNode policyJson;
+      try {
+        policyJson = MAPPER.readTree(Base64.getDecoder().decode(policy));
+      } catch (IOException | IllegalArgumentException e) {
+        throw new InvalidUploadException("the policy cannot be read");
+      }
+      try {
+        if (LocalDateTime.parse(
+                policyJson.path("expiration").asText(), SignedS3UploadRequest.EXPIRATION_FORMAT)
+            .isBefore(LocalDateTime.now(ZoneOffset.UTC))) {
+          throw new InvalidUploadException("the policy has expired");
+        }
+      } catch (DateTimeParseException e) {
+        throw new InvalidUploadException("the policy has no valid expiration");
+      }
+
+      String key = requiredField(fields, "key");
+      long size;
+      try {
+        size = Files.size(uploadedFile);
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+      Set<String> checkedFields = new HashSet<>(List.of("policy", "x-amz-signature"));
+      for (JsonNode condition : policyJson.path("conditions")) {
+        if (condition.isObject() && condition.size() == 1) {
+          Map.Entry<String, JsonNode> expected = condition.fields().next();
+          String name = expected.getKey().toLowerCase(Locale.ROOT);
+          String actual = name.equals("bucket") ? bucket : fields.getOrDefault(name, "");
+          if (!actual.equals(expected.getValue().asText())) {
+            throw new InvalidUploadException(name + " does not match the policy");
+          }
+          checkedFields.add(name);
+        } else if (isCondition(condition, "starts-with")
+            && condition.get(1).asText().equals("$key")) {
+          if (!key.startsWith(condition.get(2).asText())) {
+            throw new InvalidUploadException("key does not match the policy");
+          }
+          checkedFields.add("key");
+        } else if (isCondition(condition, "content-length-range")) {
+          if (size < condition.get(1).asLong() || size > condition.get(2).asLong()) {
+            throw new InvalidUploadException("the file size is outside the policy's range");
+          }
+        } else {
+          throw new InvalidUploadException("unsupported policy condition " + condition);
+        }
+      }
+      for (String name : fields.keySet()) {
+        if (!checkedFields.contains(name)) {
+          throw new InvalidUploadException(name + " is not allowed by the policy");
+        }
+      }
+
+      // The filename comes from the browser, so it must not add directories to the key.
+      if (!isValidKeySegment(filename)) {
+        throw new InvalidUploadException("the filename is not valid");
+      }
+      String storedKey = key.replace(FILENAME_VARIABLE, filename);
+      Path target =
+          resolve(storedKey)
+              .orElseThrow(() -> new InvalidUploadException("the key is not a valid file name"));
+      try {
+        Files.createDirectories(target.getParent());
+        Files.move(uploadedFile, target, StandardCopyOption.REPLACE_EXISTING);
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+      String redirect = requiredField(fields, "success_action_redirect");
+      return redirect
+          + (redirect.contains("?") ? "&" : "?")
+          + "bucket="
+          + URLEncoder.encode(bucket, StandardCharsets.UTF_8)
+          + "&key="
+          + URLEncoder.encode(storedKey, StandardCharsets.UTF_8);
+    }
+
+    private void checkSignature(String policy, String credential, Map<String, String> fields)
+        throws InvalidUploadException {
+      // The credential is "<access key>/<date>/<region>/<service>/aws4_request".
+      List<String> scope = Splitter.on('/').splitToList(credential);
+      if (scope.size() != 5 || !scope.get(0).equals(ACCESS_KEY)) {
+        throw new InvalidUploadException("the credential was not issued by this server");
+      }
+      String expectedSignature =
+          SignedS3UploadRequest.signPolicy(
+              policy,
+              ACCESS_KEY,
+              localCredentials.secretAccessKey(),
+              scope.get(1),
+              scope.get(2),
+              scope.get(3));
+      if (!MessageDigest.isEqual(
+          expectedSignature.getBytes(StandardCharsets.UTF_8),
+          requiredField(fields, "x-amz-signature").getBytes(StandardCharsets.UTF_8))) {
+        throw new InvalidUploadException("the signature does not match the policy");
+      }
+    }
+
+    private String downloadSignature(String key, long expires) {
+      return Hashing.hmacSha256(localCredentials.secretAccessKey().getBytes(StandardCharsets.UTF_8))
+          .hashString(key + "\n" + expires, StandardCharsets.UTF_8)
+          .toString();
+    }
+
+    /**
+     * Returns the file's path, or empty if the key is not a plain relative path. In S3, keys are
+     * literal names, so keys with segments such as {@code ..} that would name a different file on
+     * disk are refused rather than followed.
+     */
+    private Optional<Path> resolve(String key) {
+      if (key.isEmpty()
+          || !KEY_SEGMENT_SPLITTER.splitToStream(key).allMatch(SimpleStorage::isValidKeySegment)) {
+        return Optional.empty();
+      }
+      Path path;
+      try {
+        path = directory.resolve(key).normalize();
+      } catch (InvalidPathException e) {
+        return Optional.empty();
+      }
+      // Check that the key names exactly the file it would in S3.
+      if (!path.startsWith(directory)
+          || !directory.relativize(path).toString().replace(File.separatorChar, '/').equals(key)) {
+        return Optional.empty();
+      }
+      return Optional.of(path);
+    }
+  }
+
+  private static boolean isValidKeySegment(String segment) {
+    return !segment.isEmpty()
+        && !segment.equals(".")
+        && !segment.equals("..")
+        && segment.indexOf('/') < 0
+        && segment.indexOf('\\') < 0;
+  }
+
+  private static boolean isCondition(JsonNode condition, String operator) {
+    return condition.isArray()
+        && condition.size() == 3
+        && condition.get(0).asText().equals(operator);
+  }
+
+  private static String requiredField(Map<String, String> fields, String name)
+      throws InvalidUploadException {
+    String value = fields.get(name);
+    if (value == null) {
+      throw new InvalidUploadException("missing field " + name);
+    }
+    return value;
+  }
 }
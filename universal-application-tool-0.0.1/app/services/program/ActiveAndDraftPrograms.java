@@ -8,13 +8,11 @@ import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Sets;
 import java.util.Optional;
-import models.Version;
 
 /**
- * A data class storing the current active and draft programs. For efficient querying of information
- * about current active / draft programs which does not hit the database. Lifespan should be
- * measured in milliseconds - seconds at the maximum - within one request serving path - because it
- * does not have any mechanism for a refresh.
+ * A data class storing the current active and draft programs, for querying information about them
+ * without hitting the database. It is immutable and shared across requests by {@link
+ * ActiveAndDraftProgramsCache}, so the programs it holds must be fully loaded.
  */
 public class ActiveAndDraftPrograms {
 
@@ -25,15 +23,12 @@ public class ActiveAndDraftPrograms {
   private final int activeSize;
   private final int draftSize;
 
-  public ActiveAndDraftPrograms(ProgramService service, Version active, Version draft) {
+  ActiveAndDraftPrograms(
+      ImmutableList<ProgramDefinition> active, ImmutableList<ProgramDefinition> draft) {
     ImmutableMap.Builder<String, ProgramDefinition> activeToName = ImmutableMap.builder();
     ImmutableMap.Builder<String, ProgramDefinition> draftToName = ImmutableMap.builder();
-    checkNotNull(draft).getPrograms().stream()
-        .map(program -> getProgramDefinition(checkNotNull(service), program.id))
-        .forEach(program -> draftToName.put(program.adminName(), program));
-    checkNotNull(active).getPrograms().stream()
-        .map(program -> getProgramDefinition(checkNotNull(service), program.id))
-        .forEach(program -> activeToName.put(program.adminName(), program));
+    checkNotNull(draft).forEach(program -> draftToName.put(program.adminName(), program));
+    checkNotNull(active).forEach(program -> activeToName.put(program.adminName(), program));
     ImmutableMap<String, ProgramDefinition> activeNames = activeToName.build();
     ImmutableMap<String, ProgramDefinition> draftNames = draftToName.build();
     activePrograms = activeNames.values().asList();
@@ -83,13 +78,4 @@ public class ActiveAndDraftPrograms {
   public boolean anyDraft() {
     return getDraftSize() > 0;
   }
-
-  private ProgramDefinition getProgramDefinition(ProgramService service, long id) {
-    try {
-      return service.getProgramDefinition(id);
-    } catch (ProgramNotFoundException e) {
-      // This is not possible because we query with existing program ids.
-      throw new RuntimeException(e);
-    }
-  }
 }
@@ -0,0 +1,47 @@
+package services.program;
+
+import com.google.auto.value.AutoValue;
+import java.util.Optional;
+import java.util.function.Supplier;
+import javax.inject.Singleton;
+
+/**
+ * Shares the most recently loaded {@link ActiveAndDraftPrograms} across requests until programs,
+ * questions or versions next change, as told by {@link
+ * repository.ProgramRepository#getProgramCatalogGeneration}.
+ */
+@Singleton
+public final class ActiveAndDraftProgramsCache {
+  private volatile Optional<CachedPrograms> cachedPrograms = Optional.empty();
+
+  /**
+   * Returns the programs loaded for {@code generation}, loading them if they are not cached. The
+   * generation must be read before the programs are loaded, so that a change committed while they
+   * are loading is not hidden behind the new generation.
+   */
+  ActiveAndDraftPrograms get(long generation, Supplier<ActiveAndDraftPrograms> loader) {
+    Optional<CachedPrograms> cached = cachedPrograms;
+    if (cached.isPresent() && cached.get().generation() == generation) {
+      return cached.get().programs();
+    }
+    ActiveAndDraftPrograms programs = loader.get();
+    // Don't replace programs that a concurrent request loaded for a later generation.
+    synchronized (this) {
+      if (cachedPrograms.isEmpty() || cachedPrograms.get().generation() < generation) {
+        cachedPrograms = Optional.of(CachedPrograms.create(generation, programs));
+      }
+    }
+    return programs;
+  }
+
+  @AutoValue
+  abstract static class CachedPrograms {
+    static CachedPrograms create(long generation, ActiveAndDraftPrograms programs) {
+      return new AutoValue_ActiveAndDraftProgramsCache_CachedPrograms(generation, programs);
+    }
+
+    abstract long generation();
+
+    abstract ActiveAndDraftPrograms programs();
+  }
+}
@@ -0,0 +1,66 @@
+package services.program;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import akka.actor.ActorSystem;
+import akka.actor.Cancellable;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import play.Environment;
+import play.inject.ApplicationLifecycle;
+import repository.ApplicationStatisticsRepository;
+import repository.DatabaseExecutionContext;
+
+/**
+ * Periodically recounts the per-program application statistics, correcting any drift from changes
+ * to applications made outside {@link repository.ApplicationRepository} and discarding submission
+ * counts that are no longer recent.
+ */
+@Singleton
+public final class ApplicationStatisticsReconciler {
+  private static final Logger LOG = LoggerFactory.getLogger(ApplicationStatisticsReconciler.class);
+  private static final Duration INITIAL_DELAY = Duration.ofMinutes(1);
+  private static final Duration RECONCILE_INTERVAL = Duration.ofHours(1);
+
+  private final ApplicationStatisticsRepository statisticsRepository;
+
+  @Inject
+  public ApplicationStatisticsReconciler(
+      ApplicationStatisticsRepository statisticsRepository,
+      ActorSystem actorSystem,
+      DatabaseExecutionContext executionContext,
+      Environment environment,
+      ApplicationLifecycle appLifecycle) {
+    this.statisticsRepository = checkNotNull(statisticsRepository);
+
+    if (environment.isTest()) {
+      // Tests reconcile explicitly so that their counts are deterministic.
+      return;
+    }
+    Cancellable reconciler =
+        actorSystem
+            .scheduler()
+            .scheduleWithFixedDelay(
+                INITIAL_DELAY, RECONCILE_INTERVAL, this::reconcile, executionContext);
+    appLifecycle.addStopHook(
+        () -> {
+          reconciler.cancel();
+          return CompletableFuture.completedFuture(null);
+        });
+  }
+
+  private void reconcile() {
+    long start = System.currentTimeMillis();
+    try {
+      statisticsRepository.reconcile();
+      LOG.info("Reconciled application statistics in {}ms", System.currentTimeMillis() - start);
+    } catch (RuntimeException e) {
+      // Keep the schedule running; the next reconciliation will try again.
+      LOG.error("Failed to reconcile application statistics", e);
+    }
+  }
+}
@@ -0,0 +1,30 @@
+package services.program;
+
+import com.google.auto.value.AutoValue;
+
+/** Counts of the applications to every version of a program. */
+@AutoValue
+public abstract class ProgramApplicationStatistics {
+  public static ProgramApplicationStatistics create(
+      int draftCount, int submittedCount, int recentSubmissionCount) {
+    return new AutoValue_ProgramApplicationStatistics(
+        draftCount, submittedCount, recentSubmissionCount);
+  }
+
+  public static ProgramApplicationStatistics empty() {
+    return create(0, 0, 0);
+  }
+
+  /** The number of applications in progress. */
+  public abstract int draftCount();
+
+  /** The number of applicants whose latest application has been submitted. */
+  public abstract int submittedCount();
+
+  /**
+   * The number of applications submitted in the last {@link
+   * repository.ApplicationStatisticsRepository#RECENT_SUBMISSION_DAYS} days, including ones that
+   * have since been replaced by a newer submission.
+   */
+  public abstract int recentSubmissionCount();
+}
@@ -4,20 +4,23 @@ import static com.google.common.collect.ImmutableSet.toImmutableSet;
 
 import com.github.slugify.Slugify;
 import com.google.auto.value.AutoValue;
+import com.google.auto.value.extension.memoized.Memoized;
 import com.google.common.base.Splitter;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableListMultimap;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Sets;
 import java.util.ArrayDeque;
 import java.util.Arrays;
 import java.util.Deque;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Locale;
-import java.util.NoSuchElementException;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
-import java.util.stream.IntStream;
 import java.util.stream.Stream;
 import models.Program;
 import services.LocalizedStrings;
@@ -27,7 +30,6 @@ import services.question.types.QuestionType;
 @AutoValue
 public abstract class ProgramDefinition {
 
-  private Optional<ImmutableSet<Long>> questionIds = Optional.empty();
   private Boolean hasOrderedBlockDefinitionsMemo;
 
   public static Builder builder() {
@@ -83,17 +85,28 @@ public abstract class ProgramDefinition {
     return this;
   }
 
+  /**
+   * Orders the blocks depth first from {@code currentLevel}, visiting each block once. Repeated
+   * blocks are found through {@link #blockDefinitionsByEnumeratorId()}, so the ordering takes time
+   * linear in the number of blocks.
+   */
   private ImmutableList<BlockDefinition> orderBlockDefinitionsInner(
       ImmutableList<BlockDefinition> currentLevel) {
     ImmutableList.Builder<BlockDefinition> blockDefinitionBuilder = ImmutableList.builder();
+    addBlockDefinitionsInOrder(currentLevel, blockDefinitionBuilder);
+    return blockDefinitionBuilder.build();
+  }
+
+  private void addBlockDefinitionsInOrder(
+      ImmutableList<BlockDefinition> currentLevel,
+      ImmutableList.Builder<BlockDefinition> blockDefinitionBuilder) {
     for (BlockDefinition blockDefinition : currentLevel) {
       blockDefinitionBuilder.add(blockDefinition);
       if (blockDefinition.isEnumerator()) {
-        blockDefinitionBuilder.addAll(
-            orderBlockDefinitionsInner(getBlockDefinitionsForEnumerator(blockDefinition.id())));
+        addBlockDefinitionsInOrder(
+            getBlockDefinitionsForEnumerator(blockDefinition.id()), blockDefinitionBuilder);
       }
     }
-    return blockDefinitionBuilder.build();
   }
 
   /**
@@ -246,14 +259,8 @@ public abstract class ProgramDefinition {
     }
 
     // Find the enumerator block
-    int startIndex;
-    try {
-      startIndex =
-          IntStream.range(0, blockDefinitions().size())
-              .filter(i -> blockDefinitions().get(i).id() == blockId)
-              .findFirst()
-              .getAsInt();
-    } catch (NoSuchElementException e) {
+    Integer startIndex = blockIndexById().get(blockId);
+    if (startIndex == null) {
       // The enumerator id must correspond to a block within blocks.
       throw new ProgramBlockDefinitionNotFoundException(id(), blockId);
     }
@@ -374,10 +381,11 @@ public abstract class ProgramDefinition {
    */
   public BlockDefinition getBlockDefinition(long blockDefinitionId)
       throws ProgramBlockDefinitionNotFoundException {
-    return blockDefinitions().stream()
-        .filter(b -> b.id() == blockDefinitionId)
-        .findAny()
-        .orElseThrow(() -> new ProgramBlockDefinitionNotFoundException(id(), blockDefinitionId));
+    Integer index = blockIndexById().get(blockDefinitionId);
+    if (index == null) {
+      throw new ProgramBlockDefinitionNotFoundException(id(), blockDefinitionId);
+    }
+    return blockDefinitions().get(index);
   }
 
   public BlockDefinition getBlockDefinition(String blockId)
@@ -401,6 +409,7 @@ public abstract class ProgramDefinition {
   }
 
   /** Returns the max block definition id. */
+  @Memoized
   public long getMaxBlockDefinitionId() {
     return blockDefinitions().stream()
         .map(BlockDefinition::id)
@@ -427,25 +436,13 @@ public abstract class ProgramDefinition {
 
   /** True if a question with the given questionId is in the program. */
   public boolean hasQuestion(long questionId) {
-    if (questionIds.isEmpty()) {
-      questionIds =
-          Optional.of(
-              blockDefinitions().stream()
-                  .map(BlockDefinition::programQuestionDefinitions)
-                  .flatMap(ImmutableList::stream)
-                  .map(ProgramQuestionDefinition::id)
-                  .collect(ImmutableSet.toImmutableSet()));
-    }
-
-    return questionIds.get().contains(questionId);
+    return blockDefinitionsByQuestionId().containsKey(questionId);
   }
 
   /** Returns true if this program has an enumerator block with the id. */
   public boolean hasEnumerator(long enumeratorId) {
-    return blockDefinitions().stream()
-        .anyMatch(
-            blockDefinition ->
-                blockDefinition.id() == enumeratorId && blockDefinition.isEnumerator());
+    Integer index = blockIndexById().get(enumeratorId);
+    return index != null && blockDefinitions().get(index).isEnumerator();
   }
 
   /**
@@ -456,12 +453,11 @@ public abstract class ProgramDefinition {
    * depended upon in {@link ProgramDefinition#getAvailablePredicateQuestionDefinitions}.
    */
   public ImmutableList<BlockDefinition> getBlockDefinitionsForEnumerator(long enumeratorId) {
-    return blockDefinitions().stream()
-        .filter(blockDefinition -> blockDefinition.enumeratorId().equals(Optional.of(enumeratorId)))
-        .collect(ImmutableList.toImmutableList());
+    return blockDefinitionsByEnumeratorId().get(enumeratorId);
   }
 
   /** Get non-repeated block definitions. */
+  @Memoized
   public ImmutableList<BlockDefinition> getNonRepeatedBlockDefinitions() {
     return blockDefinitions().stream()
         .filter(blockDefinition -> blockDefinition.enumeratorId().isEmpty())
@@ -533,6 +529,43 @@ public abstract class ProgramDefinition {
     return !qd.isEnumerator() && qd.getQuestionType() != QuestionType.FILEUPLOAD;
   }
 
+  /**
+   * The index of each block in {@link #blockDefinitions()} by block ID. If IDs are repeated, the
+   * first block with the ID is used.
+   */
+  @Memoized
+  ImmutableMap<Long, Integer> blockIndexById() {
+    Map<Long, Integer> blockIndexById = new HashMap<>();
+    for (int i = 0; i < blockDefinitions().size(); i++) {
+      blockIndexById.putIfAbsent(blockDefinitions().get(i).id(), i);
+    }
+    return ImmutableMap.copyOf(blockIndexById);
+  }
+
+  /** The repeated blocks of each enumerator block, in the order of {@link #blockDefinitions()}. */
+  @Memoized
+  ImmutableListMultimap<Long, BlockDefinition> blockDefinitionsByEnumeratorId() {
+    ImmutableListMultimap.Builder<Long, BlockDefinition> builder = ImmutableListMultimap.builder();
+    for (BlockDefinition blockDefinition : blockDefinitions()) {
+      blockDefinition
+          .enumeratorId()
+          .ifPresent(enumeratorId -> builder.put(enumeratorId, blockDefinition));
+    }
+    return builder.build();
+  }
+
+  /** The block containing each question, by question ID. */
+  @Memoized
+  ImmutableMap<Long, BlockDefinition> blockDefinitionsByQuestionId() {
+    Map<Long, BlockDefinition> blockDefinitionsByQuestionId = new HashMap<>();
+    for (BlockDefinition blockDefinition : blockDefinitions()) {
+      for (ProgramQuestionDefinition pqd : blockDefinition.programQuestionDefinitions()) {
+        blockDefinitionsByQuestionId.putIfAbsent(pqd.id(), blockDefinition);
+      }
+    }
+    return ImmutableMap.copyOf(blockDefinitionsByQuestionId);
+  }
+
   public Program toProgram() {
     return new Program(this);
   }
@@ -3,7 +3,6 @@ package services.program;
 import com.google.common.collect.ImmutableList;
 import forms.BlockForm;
 import java.util.Locale;
-import java.util.Optional;
 import java.util.concurrent.CompletionStage;
 import models.Application;
 import models.Program;
@@ -301,9 +300,6 @@ public interface ProgramService {
    */
   ImmutableList<Application> getProgramApplications(long programId) throws ProgramNotFoundException;
 
-  ImmutableList<Application> getProgramApplications(long programId, Optional<String> search)
-      throws ProgramNotFoundException;
-
   /** Create a new draft starting from the program specified by `id`. */
   ProgramDefinition newDraftOf(long id) throws ProgramNotFoundException;
 
@@ -27,6 +27,7 @@ import services.CiviFormError;
 import services.ErrorAnd;
 import services.program.predicate.PredicateDefinition;
 import services.question.QuestionService;
+import services.question.ReadOnlyCurrentQuestionServiceImpl;
 import services.question.ReadOnlyQuestionService;
 import services.question.exceptions.QuestionNotFoundException;
 import services.question.types.QuestionDefinition;
@@ -38,6 +39,7 @@ public class ProgramServiceImpl implements ProgramService {
   private final HttpExecutionContext httpExecutionContext;
   private final UserRepository userRepository;
   private final VersionRepository versionRepository;
+  private final ActiveAndDraftProgramsCache activeAndDraftProgramsCache;
 
   @Inject
   public ProgramServiceImpl(
@@ -45,12 +47,14 @@ public class ProgramServiceImpl implements ProgramService {
       QuestionService questionService,
       UserRepository userRepository,
       VersionRepository versionRepository,
+      ActiveAndDraftProgramsCache activeAndDraftProgramsCache,
       HttpExecutionContext ec) {
     this.programRepository = checkNotNull(programRepository);
     this.questionService = checkNotNull(questionService);
     this.httpExecutionContext = checkNotNull(ec);
     this.userRepository = checkNotNull(userRepository);
     this.versionRepository = checkNotNull(versionRepository);
+    this.activeAndDraftProgramsCache = checkNotNull(activeAndDraftProgramsCache);
   }
 
   @Override
@@ -67,8 +71,32 @@ public class ProgramServiceImpl implements ProgramService {
 
   @Override
   public ActiveAndDraftPrograms getActiveAndDraftPrograms() {
+    return activeAndDraftProgramsCache.get(
+        programRepository.getProgramCatalogGeneration(), this::loadActiveAndDraftPrograms);
+  }
+
+  /**
+   * Loads every active and draft program with a single load of each version and a single question
+   * lookup, rather than looking up each program on its own.
+   */
+  private ActiveAndDraftPrograms loadActiveAndDraftPrograms() {
+    Version active = versionRepository.getActiveVersion();
+    Version draft = versionRepository.getDraftVersion();
+    ReadOnlyQuestionService roQuestionService =
+        new ReadOnlyCurrentQuestionServiceImpl(active, draft);
     return new ActiveAndDraftPrograms(
-        this, versionRepository.getActiveVersion(), versionRepository.getDraftVersion());
+        loadProgramDefinitions(active, roQuestionService),
+        loadProgramDefinitions(draft, roQuestionService));
+  }
+
+  private ImmutableList<ProgramDefinition> loadProgramDefinitions(
+      Version version, ReadOnlyQuestionService roQuestionService) {
+    return version.getPrograms().stream()
+        .map(
+            program ->
+                syncProgramDefinitionQuestions(program.getProgramDefinition(), roQuestionService)
+                    .orderBlockDefinitions())
+        .collect(ImmutableList.toImmutableList());
   }
 
   @Override
@@ -512,20 +540,6 @@ public class ProgramServiceImpl implements ProgramService {
     return programMaybe.get().getApplications();
   }
 
-  @Override
-  public ImmutableList<Application> getProgramApplications(long programId, Optional<String> search)
-      throws ProgramNotFoundException {
-    return getProgramApplications(programId).stream()
-        .filter(
-            application ->
-                application
-                    .getApplicantData()
-                    .getApplicantName()
-                    .toLowerCase(Locale.ROOT)
-                    .contains(search.orElse("").toLowerCase(Locale.ROOT)))
-        .collect(ImmutableList.toImmutableList());
-  }
-
   @Override
   public ProgramDefinition newDraftOf(long id) throws ProgramNotFoundException {
     return programRepository
@@ -0,0 +1,120 @@
+package services.question;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.collect.ImmutableList.toImmutableList;
+
+import com.google.auto.value.AutoValue;
+import com.google.common.base.Splitter;
+import com.google.common.collect.ImmutableList;
+import java.util.Comparator;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import repository.ProgramRepository;
+import services.PaginationInfo;
+import services.question.types.QuestionDefinition;
+
+/**
+ * Searches the up-to-date questions by name, description, question and help text in every locale,
+ * and question type, so that admins can find questions without every question being sent to the
+ * browser.
+ *
+ * <p>The searchable text of each question is prepared once and kept until programs, questions or
+ * versions next change, as told by {@link ProgramRepository#getProgramCatalogGeneration}.
+ */
+@Singleton
+public final class QuestionSearchIndex {
+  private static final Splitter QUERY_SPLITTER =
+      Splitter.onPattern("\\s+").trimResults().omitEmptyStrings();
+
+  private final QuestionService questionService;
+  private final ProgramRepository programRepository;
+  private volatile Optional<Index> index = Optional.empty();
+
+  @Inject
+  public QuestionSearchIndex(QuestionService questionService, ProgramRepository programRepository) {
+    this.questionService = checkNotNull(questionService);
+    this.programRepository = checkNotNull(programRepository);
+  }
+
+  /**
+   * Returns a page of the up-to-date questions accepted by {@code filter} that contain every word
+   * of {@code query}, ignoring case, ordered by name. Every question matches an empty query.
+   */
+  public PaginationInfo<QuestionDefinition> search(
+      String query, Predicate<QuestionDefinition> filter, int pageSize, int page) {
+    ImmutableList<String> terms =
+        ImmutableList.copyOf(QUERY_SPLITTER.split(query.toLowerCase(Locale.ROOT)));
+    ImmutableList<QuestionDefinition> matches =
+        getIndex().questions().stream()
+            .filter(question -> terms.stream().allMatch(question.searchText()::contains))
+            .map(IndexedQuestion::questionDefinition)
+            .filter(filter)
+            .collect(toImmutableList());
+    return PaginationInfo.paginate(matches, pageSize, Math.max(1, page));
+  }
+
+  private Index getIndex() {
+    long generation = programRepository.getProgramCatalogGeneration();
+    Optional<Index> current = index;
+    if (current.isPresent() && current.get().generation() == generation) {
+      return current.get();
+    }
+    ImmutableList<IndexedQuestion> questions =
+        questionService
+            .getReadOnlyQuestionService()
+            .toCompletableFuture()
+            .join()
+            .getUpToDateQuestions()
+            .stream()
+            .sorted(Comparator.comparing(QuestionDefinition::getName))
+            .map(IndexedQuestion::create)
+            .collect(toImmutableList());
+    Index built = Index.create(generation, questions);
+    // Don't replace an index that a concurrent request built for a later generation.
+    synchronized (this) {
+      if (index.isEmpty() || index.get().generation() < generation) {
+        index = Optional.of(built);
+      }
+    }
+    return built;
+  }
+
+  @AutoValue
+  abstract static class Index {
+    static Index create(long generation, ImmutableList<IndexedQuestion> questions) {
+      return new AutoValue_QuestionSearchIndex_Index(generation, questions);
+    }
+
+    abstract long generation();
+
+    abstract ImmutableList<IndexedQuestion> questions();
+  }
+
+  @AutoValue
+  abstract static class IndexedQuestion {
+    static IndexedQuestion create(QuestionDefinition questionDefinition) {
+      String searchText =
+          Stream.of(
+                  Stream.of(
+                      questionDefinition.getName(),
+                      questionDefinition.getDescription(),
+                      questionDefinition.getQuestionType().toString()),
+                  questionDefinition.getQuestionText().translations().values().stream(),
+                  questionDefinition.getQuestionHelpText().translations().values().stream())
+              .flatMap(strings -> strings)
+              .map(string -> string.toLowerCase(Locale.ROOT))
+              .collect(Collectors.joining("\n"));
+      return new AutoValue_QuestionSearchIndex_IndexedQuestion(questionDefinition, searchText);
+    }
+
+    abstract QuestionDefinition questionDefinition();
+
+    /** Everything the question can be found by, in lower case. */
+    abstract String searchText();
+  }
+}
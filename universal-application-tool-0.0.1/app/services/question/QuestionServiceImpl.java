@@ -179,6 +179,13 @@ public final class QuestionServiceImpl implements QuestionService {
             String.format("Unknown question export state: %s", questionExportState));
     }
     question.save();
+
+    // Keep the active version's tag index in sync if this question is live.
+    Version activeVersion = versionRepositoryProvider.get().getActiveVersion();
+    if (activeVersion.getQuestions().stream()
+        .anyMatch(activeQuestion -> activeQuestion.id.equals(question.id))) {
+      versionRepositoryProvider.get().refreshQuestionTagIndex(activeVersion);
+    }
   }
 
   /**
@@ -7,8 +7,10 @@ import static j2html.TagCreator.script;
 
 import com.google.common.collect.ImmutableList;
 import com.typesafe.config.Config;
+import j2html.tags.DomContent;
 import j2html.tags.Tag;
 import java.net.URI;
+import java.util.stream.Collectors;
 import javax.inject.Inject;
 import play.twirl.api.Content;
 import views.components.ToastMessage;
@@ -28,16 +30,25 @@ public class BaseHtmlLayout {
       "Do not enter actual or personal data in this demo site";
 
   public final ViewUtils viewUtils;
-  private final String measurementId;
   private final String hostName;
+  /** The analytics and default scripts are the same on every page, so are only rendered once. */
+  private final DomContent defaultFooterScripts;
 
   @Inject
   public BaseHtmlLayout(ViewUtils viewUtils, Config configuration) {
     this.viewUtils = checkNotNull(viewUtils);
-    this.measurementId = checkNotNull(configuration).getString("measurement_id");
+    String measurementId = checkNotNull(configuration).getString("measurement_id");
 
     String baseUrl = checkNotNull(configuration).getString("base_url");
     this.hostName = URI.create(baseUrl).getHost();
+
+    ImmutableList.Builder<Tag> footerScripts = ImmutableList.builder();
+    footerScripts.addAll(getAnalyticsScripts(measurementId));
+    for (String source : FOOTER_SCRIPTS) {
+      footerScripts.add(viewUtils.makeLocalJsTag(source));
+    }
+    this.defaultFooterScripts =
+        rawHtml(footerScripts.build().stream().map(Tag::render).collect(Collectors.joining()));
   }
 
   /** Creates a new {@link HtmlBundle} with default css, scripts, and toast messages. */
@@ -78,13 +89,8 @@ public class BaseHtmlLayout {
     // Add default stylesheets.
     bundle.addStylesheets(viewUtils.makeLocalCssTag(TAILWIND_COMPILED_FILENAME));
 
-    // Add Google analytics scripts.
-    bundle.addFooterScripts(getAnalyticsScripts(measurementId).toArray(new Tag[0]));
-
-    // Add default scripts.
-    for (String source : FOOTER_SCRIPTS) {
-      bundle.addFooterScripts(viewUtils.makeLocalJsTag(source));
-    }
+    // Add Google analytics scripts and default scripts.
+    bundle.addFooterScripts(defaultFooterScripts);
 
     return bundle;
   }
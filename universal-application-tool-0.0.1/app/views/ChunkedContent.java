@@ -0,0 +1,13 @@
+package views;
+
+import akka.NotUsed;
+import akka.stream.javadsl.Source;
+import akka.util.ByteString;
+import play.twirl.api.Content;
+
+/** A rendered page that can also be sent in chunks, rendering each chunk as it is sent. */
+public interface ChunkedContent extends Content {
+
+  /** Returns the same HTML as {@link #body}, encoded as UTF-8, in the order it is to be sent. */
+  Source<ByteString, NotUsed> chunks();
+}
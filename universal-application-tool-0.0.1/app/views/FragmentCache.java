@@ -0,0 +1,72 @@
+package views;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static j2html.TagCreator.rawHtml;
+
+import com.google.auto.value.AutoValue;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import j2html.tags.DomContent;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import repository.VersionRepository;
+
+/**
+ * Caches rendered HTML for parts of pages that only change when a new version is published or with
+ * the viewer's locale, such as program cards and localized page chrome.
+ *
+ * <p>Fragments are keyed by name, the active version ID and the locale, so publishing a version
+ * stops every fragment rendered for the previous version from being used. Fragment names must
+ * identify everything else the fragment's content depends on, such as a program ID, and fragments
+ * must not contain anything specific to the viewer.
+ */
+@Singleton
+public final class FragmentCache {
+  private static final int MAX_FRAGMENTS = 10_000;
+  /** Fragments of previous versions are no longer read, so they are dropped once idle. */
+  private static final Duration MAX_IDLE = Duration.ofHours(1);
+
+  private final VersionRepository versionRepository;
+  private final Cache<FragmentKey, String> fragments =
+      CacheBuilder.newBuilder().maximumSize(MAX_FRAGMENTS).expireAfterAccess(MAX_IDLE).build();
+
+  @Inject
+  public FragmentCache(VersionRepository versionRepository) {
+    this.versionRepository = checkNotNull(versionRepository);
+  }
+
+  /**
+   * Returns the fragment's HTML for the active version and the locale, rendering it if it is not
+   * cached. The result is spliced into the page as is, so it is not escaped again.
+   */
+  public DomContent get(String fragment, Locale locale, Supplier<DomContent> renderer) {
+    FragmentKey key = FragmentKey.create(fragment, versionRepository.getActiveVersionId(), locale);
+    try {
+      return rawHtml(fragments.get(key, () -> renderer.get().render()));
+    } catch (ExecutionException e) {
+      throw new RuntimeException(e.getCause());
+    }
+  }
+
+  /** Forgets every cached fragment. */
+  public void invalidateAll() {
+    fragments.invalidateAll();
+  }
+
+  @AutoValue
+  abstract static class FragmentKey {
+    static FragmentKey create(String fragment, long versionId, Locale locale) {
+      return new AutoValue_FragmentCache_FragmentKey(fragment, versionId, locale);
+    }
+
+    abstract String fragment();
+
+    abstract long versionId();
+
+    abstract Locale locale();
+  }
+}
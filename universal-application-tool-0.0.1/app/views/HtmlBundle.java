@@ -8,31 +8,48 @@ import static j2html.TagCreator.head;
 import static j2html.TagCreator.header;
 import static j2html.TagCreator.html;
 import static j2html.TagCreator.main;
+import static j2html.TagCreator.rawHtml;
 import static j2html.TagCreator.title;
 
+import akka.NotUsed;
+import akka.stream.javadsl.Source;
+import akka.util.ByteString;
+import com.google.common.collect.ImmutableList;
 import j2html.tags.ContainerTag;
+import j2html.tags.DomContent;
 import j2html.tags.EmptyTag;
 import j2html.tags.Tag;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
-import play.twirl.api.Content;
 import views.components.Modal;
 import views.components.ToastMessage;
 import views.style.BaseStyles;
 
-/** The HtmlBundle class stores all of the data necessary for rendering a page. */
+/**
+ * The HtmlBundle class stores all of the data necessary for rendering a page.
+ *
+ * <p>Content may be given as already rendered HTML, such as fragments from {@link FragmentCache},
+ * which is included in the page as is.
+ *
+ * <p>A rendered page can be read whole, or sent in chunks with {@link
+ * controllers.CiviFormController#okChunked} so that the browser receives its head, and starts
+ * loading stylesheets and scripts, before the rest of a large page is rendered.
+ */
 public class HtmlBundle {
   private String pageTitle;
   private String language = "en";
 
   private ArrayList<String> bodyStyles = new ArrayList<>();
-  private ArrayList<Tag> footerContent = new ArrayList<>();
-  private ArrayList<Tag> footerScripts = new ArrayList<>();
+  private ArrayList<DomContent> footerContent = new ArrayList<>();
+  private ArrayList<DomContent> footerScripts = new ArrayList<>();
   private ArrayList<String> footerStyles = new ArrayList<>();
   private ArrayList<Tag> headScripts = new ArrayList<>();
-  private ArrayList<Tag> headerContent = new ArrayList<>();
+  private ArrayList<DomContent> headerContent = new ArrayList<>();
   private ArrayList<String> headerStyles = new ArrayList<>();
-  private ArrayList<Tag> mainContent = new ArrayList<>();
+  private ArrayList<DomContent> mainContent = new ArrayList<>();
   private ArrayList<String> mainStyles = new ArrayList<>();
   private ArrayList<EmptyTag> metadata = new ArrayList<>();
   private ArrayList<Modal> modals = new ArrayList<>();
@@ -44,12 +61,12 @@ public class HtmlBundle {
     return this;
   }
 
-  public HtmlBundle addFooterContent(Tag... tags) {
+  public HtmlBundle addFooterContent(DomContent... tags) {
     footerContent.addAll(Arrays.asList(tags));
     return this;
   }
 
-  public HtmlBundle addFooterScripts(Tag... sources) {
+  public HtmlBundle addFooterScripts(DomContent... sources) {
     footerScripts.addAll(Arrays.asList(sources));
     return this;
   }
@@ -64,7 +81,7 @@ public class HtmlBundle {
     return this;
   }
 
-  public HtmlBundle addHeaderContent(Tag... tags) {
+  public HtmlBundle addHeaderContent(DomContent... tags) {
     headerContent.addAll(Arrays.asList(tags));
     return this;
   }
@@ -74,7 +91,7 @@ public class HtmlBundle {
     return this;
   }
 
-  public HtmlBundle addMainContent(Tag... tags) {
+  public HtmlBundle addMainContent(DomContent... tags) {
     mainContent.addAll(Arrays.asList(tags));
     return this;
   }
@@ -104,10 +121,6 @@ public class HtmlBundle {
     return this;
   }
 
-  private ContainerTag getContent() {
-    return html(renderHead(), renderBody()).attr("lang", language);
-  }
-
   public String getTitle() {
     return pageTitle;
   }
@@ -122,17 +135,51 @@ public class HtmlBundle {
     return this;
   }
 
-  /** The page body contains: - header - main - footer */
-  private ContainerTag renderBody() {
-    ContainerTag bodyTag = j2html.TagCreator.body().with(renderHeader()).with(renderMain());
-    bodyTag.with(renderModals());
-    bodyTag.with(renderFooter());
-
+  /**
+   * The page, in parts that are rendered separately so that it can be sent in chunks. The first
+   * part is everything up to the body, so that the browser can start loading stylesheets and
+   * scripts, and each piece of main content is its own part.
+   *
+   * <p>The page body contains: - header - main - footer
+   */
+  private ImmutableList<DomContent> renderParts() {
+    ContainerTag htmlTag = html().attr("lang", language);
+    ContainerTag bodyTag = j2html.TagCreator.body();
     if (bodyStyles.size() > 0) {
       bodyTag.withClasses(bodyStyles.toArray(new String[0]));
     }
+    ContainerTag mainTag = main();
+    if (mainStyles.size() > 0) {
+      mainTag.withClasses(mainStyles.toArray(new String[0]));
+    }
+
+    // The page has always been wrapped in a second html element, which browsers ignore.
+    return ImmutableList.<DomContent>builder()
+        .add(
+            rawHtml(
+                document().render()
+                    + "<html>"
+                    + openTag(htmlTag)
+                    + renderHead().render()
+                    + openTag(bodyTag)))
+        .add(renderHeader())
+        .add(rawHtml(openTag(mainTag)))
+        .addAll(mainContent)
+        .add(rawHtml(closeTag(mainTag)))
+        .add(renderModals())
+        .add(renderFooter())
+        .add(rawHtml(closeTag(bodyTag) + closeTag(htmlTag) + "</html>"))
+        .build();
+  }
 
-    return bodyTag;
+  /** Returns the opening tag of an empty element, with its attributes. */
+  private static String openTag(ContainerTag emptyTag) {
+    String rendered = emptyTag.render();
+    return rendered.substring(0, rendered.length() - closeTag(emptyTag).length());
+  }
+
+  private static String closeTag(ContainerTag tag) {
+    return "</" + tag.getTagName() + ">";
   }
 
   private ContainerTag renderFooter() {
@@ -175,16 +222,6 @@ public class HtmlBundle {
     return headerTag;
   }
 
-  private ContainerTag renderMain() {
-    ContainerTag mainTag = main().with(mainContent);
-
-    if (mainStyles.size() > 0) {
-      mainTag.withClasses(mainStyles.toArray(new String[0]));
-    }
-
-    return mainTag;
-  }
-
   private ContainerTag renderModals() {
     ContainerTag modalContainer =
         div()
@@ -195,20 +232,54 @@ public class HtmlBundle {
     return modalContainer;
   }
 
-  public Content render() {
-    return new HtmlBundleContent(getContent());
+  /**
+   * Returns the page, which is rendered once it is first read. Changes to the bundle after this is
+   * called are not included.
+   */
+  public ChunkedContent render() {
+    return new HtmlBundleContent(renderParts());
   }
 
-  private static class HtmlBundleContent implements Content {
-    ContainerTag bundleContent;
+  private static class HtmlBundleContent implements ChunkedContent {
+    private final ImmutableList<DomContent> parts;
+    /** Layouts inspect the rendered page before it is sent, so it is only rendered once. */
+    private String body;
+
+    public HtmlBundleContent(ImmutableList<DomContent> parts) {
+      this.parts = parts;
+    }
 
-    public HtmlBundleContent(ContainerTag bundleContent) {
-      this.bundleContent = bundleContent;
+    @Override
+    public synchronized String body() {
+      if (body == null) {
+        StringBuilder builder = new StringBuilder();
+        parts.forEach(part -> renderTo(part, builder));
+        body = builder.toString();
+      }
+      return body;
     }
 
     @Override
-    public String body() {
-      return document(new ContainerTag("html").with(bundleContent));
+    public synchronized Source<ByteString, NotUsed> chunks() {
+      if (body != null) {
+        return Source.single(ByteString.fromString(body, StandardCharsets.UTF_8));
+      }
+      return Source.from(parts)
+          .map(
+              part -> {
+                StringBuilder builder = new StringBuilder();
+                renderTo(part, builder);
+                return ByteString.fromString(builder.toString(), StandardCharsets.UTF_8);
+              });
+    }
+
+    private static void renderTo(DomContent part, StringBuilder builder) {
+      try {
+        part.render(builder);
+      } catch (IOException e) {
+        // Appending to a StringBuilder does not throw.
+        throw new UncheckedIOException(e);
+      }
     }
 
     @Override
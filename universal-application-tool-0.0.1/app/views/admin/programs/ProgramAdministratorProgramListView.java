@@ -9,6 +9,7 @@ import static j2html.TagCreator.label;
 import static j2html.TagCreator.p;
 
 import auth.CiviFormProfile;
+import com.google.common.collect.ImmutableMap;
 import com.typesafe.config.Config;
 import controllers.admin.routes;
 import j2html.tags.Tag;
@@ -17,6 +18,7 @@ import java.util.Optional;
 import javax.inject.Inject;
 import play.twirl.api.Content;
 import services.program.ActiveAndDraftPrograms;
+import services.program.ProgramApplicationStatistics;
 import services.program.ProgramDefinition;
 import views.BaseHtmlView;
 import views.HtmlBundle;
@@ -39,6 +41,7 @@ public class ProgramAdministratorProgramListView extends BaseHtmlView {
 
   public Content render(
       ActiveAndDraftPrograms programs,
+      ImmutableMap<String, ProgramApplicationStatistics> statisticsByProgramName,
       List<String> authorizedPrograms,
       Optional<CiviFormProfile> civiformProfile) {
     if (civiformProfile.isPresent() && civiformProfile.get().isProgramAdmin()) {
@@ -58,7 +61,9 @@ public class ProgramAdministratorProgramListView extends BaseHtmlView {
                             name ->
                                 this.renderProgramListItem(
                                     programs.getActiveProgramDefinition(name),
-                                    programs.getDraftProgramDefinition(name)))));
+                                    programs.getDraftProgramDefinition(name),
+                                    statisticsByProgramName.getOrDefault(
+                                        name, ProgramApplicationStatistics.empty())))));
 
     HtmlBundle htmlBundle = layout.getBundle().setTitle(title).addMainContent(contentDiv);
 
@@ -74,7 +79,9 @@ public class ProgramAdministratorProgramListView extends BaseHtmlView {
   }
 
   public Tag renderProgramListItem(
-      Optional<ProgramDefinition> activeProgram, Optional<ProgramDefinition> draftProgram) {
+      Optional<ProgramDefinition> activeProgram,
+      Optional<ProgramDefinition> draftProgram,
+      ProgramApplicationStatistics statistics) {
     String programStatusText = extractProgramStatusText(draftProgram, activeProgram);
     String lastEditText = "Last updated 2 hours ago."; // TODO: Need to generate this.
     String viewApplicationsLinkText = "Applications →";
@@ -94,6 +101,7 @@ public class ProgramAdministratorProgramListView extends BaseHtmlView {
                         .withClasses(
                             Styles.TEXT_BLACK, Styles.FONT_BOLD, Styles.TEXT_XL, Styles.MB_2)),
                 p().withClasses(Styles.FLEX_GROW),
+                ProgramIndexView.renderApplicationStatistics(statistics),
                 div(p(blockCountText), p(questionCountText))
                     .withClasses(
                         Styles.TEXT_RIGHT,
@@ -154,7 +162,11 @@ public class ProgramAdministratorProgramListView extends BaseHtmlView {
     if (activeProgram.isPresent()) {
       String viewApplicationsLink =
           routes.AdminApplicationController.index(
-                  activeProgram.get().id(), Optional.empty(), Optional.empty())
+                  activeProgram.get().id(),
+                  Optional.empty(),
+                  Optional.empty(),
+                  Optional.empty(),
+                  Optional.empty())
               .url();
 
       return new LinkElement()
@@ -9,6 +9,8 @@ import static j2html.TagCreator.h2;
 import static j2html.TagCreator.p;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Iterables;
 import com.google.inject.Inject;
 import controllers.admin.routes;
 import j2html.tags.Tag;
@@ -19,8 +21,10 @@ import models.Program;
 import models.Version;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import play.mvc.Call;
 import play.mvc.Http;
 import play.twirl.api.Content;
+import services.applicant.ApplicantData;
 import views.BaseHtmlView;
 import views.HtmlBundle;
 import views.admin.AdminLayout;
@@ -44,7 +48,8 @@ public final class ProgramApplicationListView extends BaseHtmlView {
       int page,
       int pageCount,
       Optional<String> search,
-      ImmutableList<Program> previousVersions) {
+      ImmutableList<Program> previousVersions,
+      ImmutableMap<Long, Integer> previousVersionApplicationCounts) {
     String title = "All Applications";
     Tag contentDiv =
         div()
@@ -55,15 +60,18 @@ public final class ProgramApplicationListView extends BaseHtmlView {
                         page,
                         pageCount,
                         pageNumber ->
-                            routes.AdminApplicationController.index(
-                                programId, search, Optional.of(pageNumber)))
+                            linkForPage(programId, search, applications, page, pageNumber))
                     .withClasses(Styles.MB_2),
                 br(),
                 renderSearchForm(
                         request,
                         search,
                         routes.AdminApplicationController.index(
-                            programId, Optional.empty(), Optional.empty()))
+                            programId,
+                            Optional.empty(),
+                            Optional.empty(),
+                            Optional.empty(),
+                            Optional.empty()))
                     .withClasses(Styles.MT_6),
                 each(
                     applications,
@@ -77,12 +85,42 @@ public final class ProgramApplicationListView extends BaseHtmlView {
       htmlBundle.addMainContent(
           br(),
           h2("Applications for other versions"),
-          div(each(previousVersions, this::renderPreviousVersionDiv)));
+          div(
+              each(
+                  previousVersions,
+                  program ->
+                      renderPreviousVersionDiv(
+                          program, previousVersionApplicationCounts.getOrDefault(program.id, 0)))));
     }
     return layout.renderCentered(htmlBundle);
   }
 
-  private Tag renderPreviousVersionDiv(Program program) {
+  /**
+   * Links to the neighbouring pages by keyset, after the last or before the first application on
+   * this page. Falls back to the page number alone when this page is empty, or for search results,
+   * which are not in ID order.
+   */
+  private Call linkForPage(
+      long programId,
+      Optional<String> search,
+      ImmutableList<Application> applications,
+      int page,
+      int pageNumber) {
+    Optional<Long> after = Optional.empty();
+    Optional<Long> before = Optional.empty();
+    boolean isSearch = search.isPresent() && !search.get().isBlank();
+    if (!applications.isEmpty() && !isSearch) {
+      if (pageNumber > page) {
+        after = Optional.of(Iterables.getLast(applications).id);
+      } else {
+        before = Optional.of(applications.get(0).id);
+      }
+    }
+    return routes.AdminApplicationController.index(
+        programId, search, Optional.of(pageNumber), after, before);
+  }
+
+  private Tag renderPreviousVersionDiv(Program program, int applicationCount) {
     Optional<Version> lastContainingVersion =
         program.getVersions().stream().max(Comparator.comparing(Version::getSubmitTime));
     if (lastContainingVersion.isEmpty()) {
@@ -96,8 +134,7 @@ public final class ProgramApplicationListView extends BaseHtmlView {
                         .withClasses(Styles.TEXT_GRAY_700, Styles.ITALIC),
                     p().withClasses(Styles.FLEX_GROW),
                     renderApplicationsLink(
-                        String.format("Applications (%d) →", program.getApplications().size()),
-                        program.id))
+                        String.format("Applications (%d) →", applicationCount), program.id))
                 .withClasses(Styles.FLEX, Styles.TEXT_SM, Styles.W_FULL))
         .withClasses(
             Styles.BORDER, Styles.BORDER_GRAY_300, Styles.BG_WHITE, Styles.ROUNDED, Styles.P_4);
@@ -119,7 +156,8 @@ public final class ProgramApplicationListView extends BaseHtmlView {
     String applicantNameWithId =
         String.format(
             "%s (%d)",
-            application.getApplicantData().getApplicantName(), application.getApplicant().id);
+            application.getApplicantDisplayName().orElse(ApplicantData.ANONYMOUS_APPLICANT_NAME),
+            application.getApplicant().id);
     String lastEditText;
     try {
       lastEditText = application.getSubmitTime().toString();
@@ -188,7 +226,7 @@ public final class ProgramApplicationListView extends BaseHtmlView {
   private Tag renderApplicationsLink(String text, long programId) {
     String viewLink =
         controllers.admin.routes.AdminApplicationController.index(
-                programId, Optional.empty(), Optional.empty())
+                programId, Optional.empty(), Optional.empty(), Optional.empty(), Optional.empty())
             .url();
 
     return new LinkElement()
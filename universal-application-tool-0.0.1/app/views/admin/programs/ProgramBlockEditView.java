@@ -22,6 +22,7 @@ import java.util.OptionalLong;
 import play.mvc.Http.HttpVerbs;
 import play.mvc.Http.Request;
 import play.twirl.api.Content;
+import services.PaginationInfo;
 import services.program.BlockDefinition;
 import services.program.ProgramDefinition;
 import services.program.ProgramDefinition.Direction;
@@ -62,7 +63,8 @@ public class ProgramBlockEditView extends BaseHtmlView {
       ProgramDefinition program,
       BlockDefinition blockDefinition,
       String message,
-      ImmutableList<QuestionDefinition> questions) {
+      ImmutableList<QuestionDefinition> questions,
+      PaginationInfo<QuestionDefinition> questionBankResults) {
     return render(
         request,
         program,
@@ -71,7 +73,8 @@ public class ProgramBlockEditView extends BaseHtmlView {
         blockDefinition,
         blockDefinition.programQuestionDefinitions(),
         message,
-        questions);
+        questions,
+        questionBankResults);
   }
 
   public Content render(
@@ -82,7 +85,8 @@ public class ProgramBlockEditView extends BaseHtmlView {
       BlockDefinition blockDefinition,
       ImmutableList<ProgramQuestionDefinition> blockQuestions,
       String message,
-      ImmutableList<QuestionDefinition> questions) {
+      ImmutableList<QuestionDefinition> questions,
+      PaginationInfo<QuestionDefinition> questionBankResults) {
     Tag csrfTag = makeCsrfTokenInputTag(request);
     String title = String.format("Edit %s", blockDefinition.name());
 
@@ -115,7 +119,8 @@ public class ProgramBlockEditView extends BaseHtmlView {
                             csrfTag,
                             blockDescriptionEditModal.getButton()))
                     .with(
-                        questionBankPanel(questions, programDefinition, blockDefinition, csrfTag)))
+                        questionBankPanel(
+                            questionBankResults, programDefinition, blockDefinition, csrfTag)))
             .addModals(blockDescriptionEditModal);
 
     // Add toast messages
@@ -512,7 +517,7 @@ public class ProgramBlockEditView extends BaseHtmlView {
   }
 
   private ContainerTag questionBankPanel(
-      ImmutableList<QuestionDefinition> questionDefinitions,
+      PaginationInfo<QuestionDefinition> questionBankResults,
       ProgramDefinition program,
       BlockDefinition blockDefinition,
       Tag csrfTag) {
@@ -525,7 +530,11 @@ public class ProgramBlockEditView extends BaseHtmlView {
         new QuestionBank()
             .setQuestionAction(addQuestionAction)
             .setCsrfTag(csrfTag)
-            .setQuestions(questionDefinitions)
+            .setQuestionResults(questionBankResults)
+            .setSearchUrl(
+                controllers.admin.routes.AdminProgramBlocksController.questionBank(
+                        program.id(), blockDefinition.id(), Optional.empty(), Optional.empty())
+                    .url())
             .setProgram(program)
             .setBlockDefinition(blockDefinition);
     return qb.getContainer();
@@ -9,6 +9,7 @@ import static j2html.TagCreator.label;
 import static j2html.TagCreator.p;
 
 import auth.CiviFormProfile;
+import com.google.common.collect.ImmutableMap;
 import com.google.inject.Inject;
 import com.typesafe.config.Config;
 import controllers.admin.routes;
@@ -18,8 +19,10 @@ import java.util.Optional;
 import java.util.concurrent.CompletionException;
 import play.mvc.Http;
 import play.twirl.api.Content;
+import repository.ApplicationStatisticsRepository;
 import services.LocalizedStrings;
 import services.program.ActiveAndDraftPrograms;
+import services.program.ProgramApplicationStatistics;
 import services.program.ProgramDefinition;
 import views.BaseHtmlView;
 import views.HtmlBundle;
@@ -41,7 +44,10 @@ public final class ProgramIndexView extends BaseHtmlView {
   }
 
   public Content render(
-      ActiveAndDraftPrograms programs, Http.Request request, Optional<CiviFormProfile> profile) {
+      ActiveAndDraftPrograms programs,
+      ImmutableMap<String, ProgramApplicationStatistics> statisticsByProgramName,
+      Http.Request request,
+      Optional<CiviFormProfile> profile) {
     if (profile.isPresent() && profile.get().isProgramAdmin()) {
       layout.setProgramAdminType();
     }
@@ -74,6 +80,8 @@ public final class ProgramIndexView extends BaseHtmlView {
                         this.renderProgramListItem(
                             programs.getActiveProgramDefinition(name),
                             programs.getDraftProgramDefinition(name),
+                            statisticsByProgramName.getOrDefault(
+                                name, ProgramApplicationStatistics.empty()),
                             request,
                             profile)))
             .with(renderDownloadExportCsvButton());
@@ -129,6 +137,7 @@ public final class ProgramIndexView extends BaseHtmlView {
   public Tag renderProgramListItem(
       Optional<ProgramDefinition> activeProgram,
       Optional<ProgramDefinition> draftProgram,
+      ProgramApplicationStatistics statistics,
       Http.Request request,
       Optional<CiviFormProfile> profile) {
     String programStatusText = extractProgramStatusText(draftProgram, activeProgram);
@@ -149,6 +158,7 @@ public final class ProgramIndexView extends BaseHtmlView {
                         .withClasses(
                             Styles.TEXT_BLACK, Styles.FONT_BOLD, Styles.TEXT_XL, Styles.MB_2)),
                 p().withClasses(Styles.FLEX_GROW),
+                renderApplicationStatistics(statistics),
                 div(p(blockCountText), p(questionCountText))
                     .withClasses(
                         Styles.TEXT_RIGHT,
@@ -196,6 +206,25 @@ public final class ProgramIndexView extends BaseHtmlView {
             ReferenceClasses.ADMIN_PROGRAM_CARD, Styles.W_FULL, Styles.SHADOW_LG, Styles.MB_4);
   }
 
+  /** Renders the counts of the program's applications, for admins to gauge its volume. */
+  static Tag renderApplicationStatistics(ProgramApplicationStatistics statistics) {
+    return div(
+            p("Drafts: " + statistics.draftCount()),
+            p("Submitted: " + statistics.submittedCount()),
+            p(
+                String.format(
+                    "Submitted in the last %d days: %d",
+                    ApplicationStatisticsRepository.RECENT_SUBMISSION_DAYS,
+                    statistics.recentSubmissionCount())))
+        .withClasses(
+            ReferenceClasses.ADMIN_PROGRAM_APPLICATION_STATISTICS,
+            Styles.TEXT_RIGHT,
+            Styles.TEXT_XS,
+            Styles.TEXT_GRAY_700,
+            Styles.MR_2,
+            StyleUtils.applyUtilityClass(StyleUtils.RESPONSIVE_MD, Styles.MR_4));
+  }
+
   private String extractProgramStatusText(
       Optional<ProgramDefinition> draftProgram, Optional<ProgramDefinition> activeProgram) {
     if (draftProgram.isPresent() && activeProgram.isPresent()) {
@@ -272,7 +301,11 @@ public final class ProgramIndexView extends BaseHtmlView {
       if (userIsAuthorized) {
         String editLink =
             routes.AdminApplicationController.index(
-                    activeProgram.get().id(), Optional.empty(), Optional.empty())
+                    activeProgram.get().id(),
+                    Optional.empty(),
+                    Optional.empty(),
+                    Optional.empty(),
+                    Optional.empty())
                 .url();
 
         return new LinkElement()
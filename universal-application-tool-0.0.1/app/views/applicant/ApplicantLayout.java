@@ -17,6 +17,7 @@ import controllers.routes;
 import io.jsonwebtoken.lang.Strings;
 import j2html.TagCreator;
 import j2html.tags.ContainerTag;
+import j2html.tags.DomContent;
 import j2html.tags.Tag;
 import java.util.Optional;
 import javax.inject.Inject;
@@ -27,6 +28,7 @@ import play.mvc.Http;
 import play.twirl.api.Content;
 import services.MessageKey;
 import views.BaseHtmlLayout;
+import views.FragmentCache;
 import views.HtmlBundle;
 import views.LanguageSelector;
 import views.ViewUtils;
@@ -44,30 +46,37 @@ public class ApplicantLayout extends BaseHtmlLayout {
   private final ProfileUtils profileUtils;
   public final LanguageSelector languageSelector;
   public final String supportEmail;
+  private final FragmentCache fragmentCache;
 
   @Inject
   public ApplicantLayout(
       ViewUtils viewUtils,
       Config configuration,
       ProfileUtils profileUtils,
-      LanguageSelector languageSelector) {
+      LanguageSelector languageSelector,
+      FragmentCache fragmentCache) {
     super(viewUtils, configuration);
     this.profileUtils = checkNotNull(profileUtils);
     this.languageSelector = checkNotNull(languageSelector);
     this.supportEmail = checkNotNull(configuration).getString("support_email_address");
+    this.fragmentCache = checkNotNull(fragmentCache);
   }
 
   private Content renderWithSupportFooter(HtmlBundle bundle, Messages messages) {
-    ContainerTag supportLink =
-        div()
-            .with(
-                text(messages.at(MessageKey.FOOTER_SUPPORT_LINK_DESCRIPTION.getKeyName())),
-                text(" "),
-                a(supportEmail)
-                    .withHref("mailto:" + supportEmail)
-                    .withTarget("_blank")
-                    .withClasses(Styles.TEXT_BLUE_800))
-            .withClasses(Styles.MX_AUTO, Styles.MAX_W_SCREEN_SM, Styles.W_5_6);
+    DomContent supportLink =
+        fragmentCache.get(
+            "applicant-support-footer",
+            messages.lang().toLocale(),
+            () ->
+                div()
+                    .with(
+                        text(messages.at(MessageKey.FOOTER_SUPPORT_LINK_DESCRIPTION.getKeyName())),
+                        text(" "),
+                        a(supportEmail)
+                            .withHref("mailto:" + supportEmail)
+                            .withTarget("_blank")
+                            .withClasses(Styles.TEXT_BLUE_800))
+                    .withClasses(Styles.MX_AUTO, Styles.MAX_W_SCREEN_SM, Styles.W_5_6));
 
     bundle.addFooterContent(supportLink);
 
@@ -141,11 +150,16 @@ public class ApplicantLayout extends BaseHtmlLayout {
         Tag csrfInput = input().isHidden().withValue(csrfToken).withName("csrfToken");
         Tag redirectInput = input().isHidden().withValue(request.uri()).withName("redirectLink");
         String preferredLanguage = languageSelector.getPreferredLangage(request).code();
-        ContainerTag languageDropdown =
-            languageSelector
-                .renderDropdown(preferredLanguage)
-                .attr("onchange", "this.form.submit()")
-                .attr("aria-label", messages.at(MessageKey.LANGUAGE_LABEL_SR.getKeyName()));
+        DomContent languageDropdown =
+            fragmentCache.get(
+                "applicant-language-dropdown-" + preferredLanguage,
+                messages.lang().toLocale(),
+                () ->
+                    languageSelector
+                        .renderDropdown(preferredLanguage)
+                        .attr("onchange", "this.form.submit()")
+                        .attr(
+                            "aria-label", messages.at(MessageKey.LANGUAGE_LABEL_SR.getKeyName())));
         languageForm =
             form()
                 .withAction(updateLanguageAction)
@@ -173,7 +187,7 @@ public class ApplicantLayout extends BaseHtmlLayout {
       String tiDashboardText = "Trusted intermediary dashboard";
       String tiDashboardLink =
           controllers.ti.routes.TrustedIntermediaryController.dashboard(
-                  Optional.empty(), Optional.empty())
+                  Optional.empty(), Optional.empty(), Optional.empty(), Optional.empty())
               .url();
       return div(
           a(tiDashboardText)
@@ -18,6 +18,7 @@ import java.util.Locale;
 import java.util.Optional;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
+import java.util.stream.Stream;
 import javax.inject.Inject;
 import play.i18n.Messages;
 import play.mvc.Http;
@@ -25,6 +26,7 @@ import play.twirl.api.Content;
 import services.MessageKey;
 import services.program.ProgramDefinition;
 import views.BaseHtmlView;
+import views.FragmentCache;
 import views.HtmlBundle;
 import views.components.LinkElement;
 import views.components.TextFormatter;
@@ -39,10 +41,12 @@ import views.style.Styles;
 public class ProgramIndexView extends BaseHtmlView {
 
   private final ApplicantLayout layout;
+  private final FragmentCache fragmentCache;
 
   @Inject
-  public ProgramIndexView(ApplicantLayout layout) {
+  public ProgramIndexView(ApplicantLayout layout, FragmentCache fragmentCache) {
     this.layout = checkNotNull(layout);
+    this.fragmentCache = checkNotNull(fragmentCache);
   }
 
   /**
@@ -71,10 +75,14 @@ public class ProgramIndexView extends BaseHtmlView {
       bundle.addToastMessages(ToastMessage.alert(banner.get()));
     }
     bundle.addMainContent(
-        topContent(
-            messages.at(MessageKey.CONTENT_GET_BENEFITS.getKeyName()),
-            messages.at(MessageKey.CONTENT_CIVIFORM_DESCRIPTION_1.getKeyName()),
-            messages.at(MessageKey.CONTENT_CIVIFORM_DESCRIPTION_2.getKeyName())),
+        fragmentCache.get(
+            "applicant-program-index-top",
+            messages.lang().toLocale(),
+            () ->
+                topContent(
+                    messages.at(MessageKey.CONTENT_GET_BENEFITS.getKeyName()),
+                    messages.at(MessageKey.CONTENT_CIVIFORM_DESCRIPTION_1.getKeyName()),
+                    messages.at(MessageKey.CONTENT_CIVIFORM_DESCRIPTION_2.getKeyName()))),
         mainContent(
             messages, draftPrograms, activePrograms, applicantId, messages.lang().toLocale()));
 
@@ -216,29 +224,15 @@ public class ProgramIndexView extends BaseHtmlView {
       boolean isDraft) {
     String baseId = ReferenceClasses.APPLICATION_CARD + "-" + program.id();
 
-    ContainerTag title =
-        div()
-            .withId(baseId + "-title")
-            .withClasses(Styles.TEXT_LG, Styles.FONT_SEMIBOLD)
-            .withText(program.localizedName().getOrDefault(preferredLocale));
-    ImmutableList<DomContent> descriptionContent =
-        TextFormatter.createLinksAndEscapeText(
-            program.localizedDescription().getOrDefault(preferredLocale));
-    ContainerTag description =
-        div()
-            .withId(baseId + "-description")
-            .withClasses(
-                ReferenceClasses.APPLICATION_CARD_DESCRIPTION,
-                Styles.TEXT_XS,
-                Styles.MY_2,
-                Styles.LINE_CLAMP_5)
-            .with(descriptionContent);
-
     ContainerTag programData =
         div()
             .withId(baseId + "-data")
             .withClasses(Styles.W_FULL, Styles.PX_4, Styles.OVERFLOW_AUTO)
-            .with(title, description);
+            .with(
+                fragmentCache.get(
+                    baseId + "-title-and-description",
+                    preferredLocale,
+                    () -> programTitleAndDescription(program, baseId, preferredLocale)));
 
     // Add info link.
     String infoUrl =
@@ -314,4 +308,30 @@ public class ProgramIndexView extends BaseHtmlView {
         .with(programData)
         .with(applyDiv);
   }
+
+  /**
+   * The program's localized name and description, which are the same for every applicant. Links in
+   * the description are made clickable.
+   */
+  private DomContent programTitleAndDescription(
+      ProgramDefinition program, String baseId, Locale preferredLocale) {
+    ContainerTag title =
+        div()
+            .withId(baseId + "-title")
+            .withClasses(Styles.TEXT_LG, Styles.FONT_SEMIBOLD)
+            .withText(program.localizedName().getOrDefault(preferredLocale));
+    ImmutableList<DomContent> descriptionContent =
+        TextFormatter.createLinksAndEscapeText(
+            program.localizedDescription().getOrDefault(preferredLocale));
+    ContainerTag description =
+        div()
+            .withId(baseId + "-description")
+            .withClasses(
+                ReferenceClasses.APPLICATION_CARD_DESCRIPTION,
+                Styles.TEXT_XS,
+                Styles.MY_2,
+                Styles.LINE_CLAMP_5)
+            .with(descriptionContent);
+    return each(Stream.of(title, description));
+  }
 }
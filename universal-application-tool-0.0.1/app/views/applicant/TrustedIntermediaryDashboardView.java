@@ -15,6 +15,7 @@ import static j2html.TagCreator.tr;
 
 import com.google.common.base.Strings;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Iterables;
 import com.google.inject.Inject;
 import controllers.ti.routes;
 import j2html.tags.ContainerTag;
@@ -27,6 +28,7 @@ import models.Applicant;
 import models.TrustedIntermediaryGroup;
 import org.slf4j.LoggerFactory;
 import play.i18n.Messages;
+import play.mvc.Call;
 import play.mvc.Http;
 import play.twirl.api.Content;
 import views.BaseHtmlView;
@@ -73,7 +75,7 @@ public class TrustedIntermediaryDashboardView extends BaseHtmlView {
                     request,
                     search,
                     routes.TrustedIntermediaryController.dashboard(
-                        Optional.empty(), Optional.empty())),
+                        Optional.empty(), Optional.empty(), Optional.empty(), Optional.empty())),
                 renderTIApplicantsTable(managedAccounts, search, page, totalPageCount),
                 hr().withClasses(Styles.MT_6),
                 renderHeader("Trusted Intermediary Members"),
@@ -102,20 +104,32 @@ public class TrustedIntermediaryDashboardView extends BaseHtmlView {
         div(table()
                 .withClasses(Styles.BORDER, Styles.BORDER_GRAY_300, Styles.SHADOW_MD, Styles.W_3_4)
                 .with(renderApplicantTableHeader())
-                .with(
-                    tbody(
-                        each(
-                            managedAccounts.stream()
-                                .sorted(Comparator.comparing(Account::getApplicantName))
-                                .collect(Collectors.toList()),
-                            account -> renderApplicantRow(account)))))
+                .with(tbody(each(managedAccounts, account -> renderApplicantRow(account)))))
             .withClasses(Styles.MB_16);
     return main.with(
         renderPaginationDiv(
             page,
             totalPageCount,
-            pageNumber ->
-                routes.TrustedIntermediaryController.dashboard(search, Optional.of(pageNumber))));
+            pageNumber -> linkForPage(search, managedAccounts, page, pageNumber)));
+  }
+
+  /**
+   * Links to the neighbouring pages by keyset, after the last or before the first account on this
+   * page. Falls back to the page number alone when this page is empty.
+   */
+  private Call linkForPage(
+      Optional<String> search, ImmutableList<Account> managedAccounts, int page, int pageNumber) {
+    Optional<Long> after = Optional.empty();
+    Optional<Long> before = Optional.empty();
+    if (!managedAccounts.isEmpty()) {
+      if (pageNumber > page) {
+        after = Optional.of(Iterables.getLast(managedAccounts).id);
+      } else {
+        before = Optional.of(managedAccounts.get(0).id);
+      }
+    }
+    return routes.TrustedIntermediaryController.dashboard(
+        search, Optional.of(pageNumber), after, before);
   }
 
   private ContainerTag renderTIMembersTable(TrustedIntermediaryGroup tiGroup) {
@@ -204,7 +218,12 @@ public class TrustedIntermediaryDashboardView extends BaseHtmlView {
             Styles.BORDER_B,
             Styles.BORDER_GRAY_300,
             StyleUtils.even(Styles.BG_GRAY_100))
-        .with(renderInfoCell(applicant))
+        // The managed accounts were loaded with their applicant names, so avoid loading the
+        // applicants just for the name.
+        .with(
+            renderInfoCell(
+                applicant,
+                applicant.getApplicantDisplayName().orElseGet(applicant::getApplicantName)))
         .with(renderApplicantInfoCell(applicant))
         .with(renderActionsCell(applicant));
   }
@@ -238,11 +257,15 @@ public class TrustedIntermediaryDashboardView extends BaseHtmlView {
   }
 
   private Tag renderInfoCell(Account ti) {
+    return renderInfoCell(ti, ti.getApplicantName());
+  }
+
+  private Tag renderInfoCell(Account ti, String applicantName) {
     String emailField = ti.getEmailAddress();
     if (Strings.isNullOrEmpty(emailField)) {
       emailField = "(no email address)";
     }
-    return td().with(div(ti.getApplicantName()).withClasses(Styles.FONT_SEMIBOLD))
+    return td().with(div(applicantName).withClasses(Styles.FONT_SEMIBOLD))
         .with(div(emailField).withClasses(Styles.TEXT_XS))
         .withClasses(BaseStyles.TABLE_CELL_STYLES, Styles.PR_12);
   }
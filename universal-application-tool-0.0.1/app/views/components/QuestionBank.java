@@ -12,10 +12,10 @@ import j2html.TagCreator;
 import j2html.attributes.Attr;
 import j2html.tags.ContainerTag;
 import j2html.tags.Tag;
-import java.util.Comparator;
 import java.util.Optional;
 import java.util.function.Predicate;
 import play.mvc.Http.HttpVerbs;
+import services.PaginationInfo;
 import services.program.BlockDefinition;
 import services.program.ProgramBlockDefinitionNotFoundException;
 import services.program.ProgramDefinition;
@@ -30,9 +30,11 @@ public class QuestionBank {
   private ProgramDefinition program;
   private BlockDefinition blockDefinition;
   private Optional<Long> enumeratorQuestionId;
-  private ImmutableList<QuestionDefinition> questions = ImmutableList.of();
+  private PaginationInfo<QuestionDefinition> questionResults =
+      PaginationInfo.paginate(ImmutableList.of(), 1, 1);
   private Tag csrfTag = div();
   private String questionAction = "";
+  private String searchUrl = "";
 
   public QuestionBank setProgram(ProgramDefinition program) {
     this.program = program;
@@ -54,8 +56,19 @@ public class QuestionBank {
     return this;
   }
 
-  public QuestionBank setQuestions(ImmutableList<QuestionDefinition> questionDefinitions) {
-    this.questions = questionDefinitions;
+  /** Sets the first page of questions to show, which must already be filtered and sorted. */
+  public QuestionBank setQuestionResults(PaginationInfo<QuestionDefinition> questionResults) {
+    this.questionResults = questionResults;
+    return this;
+  }
+
+  /**
+   * Sets the URL the question bank fetches more questions from as the admin filters or scrolls
+   * through them. It is called with {@code query} and {@code page} parameters and responds with
+   * {@link #renderResults}.
+   */
+  public QuestionBank setSearchUrl(String searchUrl) {
+    this.searchUrl = searchUrl;
     return this;
   }
 
@@ -63,6 +76,52 @@ public class QuestionBank {
     return questionBankPanel();
   }
 
+  /**
+   * Returns the filter for questions that may be added to the block. The program and block must be
+   * set first.
+   *
+   * <p>Questions that are filtered out:
+   *
+   * <ul>
+   *   <li>If there is at least one question in the current block, all single-block questions are
+   *       filtered.
+   *   <li>If there is a single block question in the current block, all questions are filtered.
+   *   <li>If this is a repeated block, only the appropriate repeated questions are showed.
+   *   <li>Questions already in the program are filtered.
+   * </ul>
+   */
+  public Predicate<QuestionDefinition> getQuestionFilter() {
+    if (containsSingleBlockQuestion()) {
+      return questionDefinition -> false;
+    }
+    return blockDefinition.getQuestionCount() > 0
+        ? this::nonEmptyBlockFilter
+        : this::questionFilter;
+  }
+
+  /**
+   * Renders a page of questions, followed by a button that loads the next page if there is one.
+   * Later pages are appended to the question bank as they are loaded.
+   */
+  public ContainerTag renderResults() {
+    ContainerTag results = div().withClasses(Styles.GRID, Styles.GAP_6);
+    questionResults
+        .getPageItems()
+        .forEach(questionDefinition -> results.with(renderQuestionDefinition(questionDefinition)));
+    if (questionResults.getPage() < questionResults.getPageCount()) {
+      results.with(
+          TagCreator.button("Show more questions")
+              .withType("button")
+              .attr("data-next-page", questionResults.getPage() + 1)
+              .withClasses(
+                  ReferenceClasses.QUESTION_BANK_MORE_BUTTON,
+                  Styles.BG_TRANSPARENT,
+                  Styles.TEXT_GRAY_500,
+                  StyleUtils.hover(Styles.BG_GRAY_200, Styles.TEXT_GRAY_900)));
+    }
+    return results;
+  }
+
   private ContainerTag questionBankPanel() {
     ContainerTag questionForm =
         form(this.csrfTag).withMethod(HttpVerbs.POST).withAction(questionAction);
@@ -83,6 +142,7 @@ public class QuestionBank {
         input()
             .withId("question-bank-filter")
             .withType("text")
+            .attr("data-search-url", searchUrl)
             .withName("questionFilter")
             .attr(Attr.PLACEHOLDER, "Filter questions")
             .withClasses(
@@ -106,14 +166,7 @@ public class QuestionBank {
 
     contentDiv.with(filterDiv);
 
-    ImmutableList<QuestionDefinition> filteredQuestions = filterQuestions();
-
-    ImmutableList<QuestionDefinition> sortedQuestions =
-        ImmutableList.sortedCopyOf(
-            Comparator.comparing(QuestionDefinition::getName), filteredQuestions);
-
-    sortedQuestions.forEach(
-        questionDefinition -> contentDiv.with(renderQuestionDefinition(questionDefinition)));
+    contentDiv.with(renderResults().withId("question-bank-results"));
 
     return questionForm;
   }
@@ -158,29 +211,6 @@ public class QuestionBank {
     return questionDiv.with(icon, content);
   }
 
-  /**
-   * Used to filter questions in the question bank.
-   *
-   * <p>Questions that are filtered out:
-   *
-   * <ul>
-   *   <li>If there is at least one question in the current block, all single-block questions are
-   *       filtered.
-   *   <li>If there is a single block question in the current block, all questions are filtered.
-   *   <li>If this is a repeated block, only the appropriate repeated questions are showed.
-   *   <li>Questions already in the program are filtered.
-   * </ul>
-   */
-  private ImmutableList<QuestionDefinition> filterQuestions() {
-    if (containsSingleBlockQuestion()) {
-      return ImmutableList.of();
-    }
-
-    Predicate<QuestionDefinition> filter =
-        blockDefinition.getQuestionCount() > 0 ? this::nonEmptyBlockFilter : this::questionFilter;
-    return questions.stream().filter(filter).collect(ImmutableList.toImmutableList());
-  }
-
   /** If a block already contains a single-block question, no more questions can be added. */
   private boolean containsSingleBlockQuestion() {
     return blockDefinition.isEnumerator() || blockDefinition.isFileUpload();
@@ -16,7 +16,9 @@ import static j2html.TagCreator.tr;
 import static j2html.attributes.Attr.ENCTYPE;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import j2html.tags.ContainerTag;
+import java.net.URL;
 import java.util.Optional;
 import javax.inject.Inject;
 import models.StoredFile;
@@ -62,6 +64,9 @@ public class FileUploadView extends BaseHtmlView {
   }
 
   private ContainerTag renderFiles(ImmutableList<StoredFile> files) {
+    ImmutableMap<String, URL> presignedUrls =
+        s3Client.getPresignedUrls(
+            files.stream().map(StoredFile::getName).collect(ImmutableList.toImmutableList()));
     return table()
         .with(
             tbody(
@@ -70,11 +75,9 @@ public class FileUploadView extends BaseHtmlView {
                     file ->
                         tr(
                             td(String.valueOf(file.id)),
-                            td(a(file.getName()).withHref(getPresignedURL(file)))))));
-  }
-
-  private String getPresignedURL(StoredFile file) {
-    return s3Client.getPresignedUrl(file.getName()).toString();
+                            td(
+                                a(file.getName())
+                                    .withHref(presignedUrls.get(file.getName()).toString()))))));
   }
 
   private ContainerTag fileUploadForm(SignedS3UploadRequest request) {
@@ -9,6 +9,8 @@ public final class ReferenceClasses {
   public static final String ADMIN_APPLICATION_BLOCK_CARD = "cf-admin-application-block-card";
   public static final String ADMIN_APPLICATION_CARD = "cf-admin-application-card";
   public static final String ADMIN_LANGUAGE_LINK = "cf-admin-language-link";
+  public static final String ADMIN_PROGRAM_APPLICATION_STATISTICS =
+      "cf-admin-program-application-statistics";
   public static final String ADMIN_PROGRAM_CARD = "cf-admin-program-card";
   public static final String ADMIN_QUESTION_TABLE_ROW = "cf-admin-question-table-row";
   public static final String ADMIN_TI_GROUP_ROW = "cf-ti-row";
@@ -24,6 +26,7 @@ public final class ReferenceClasses {
   public static final String PREDICATE_VALUE_COMMA_HELP_TEXT = "cf-predicate-value-comma-help-text";
 
   public static final String QUESTION_BANK_ELEMENT = "cf-question-bank-element";
+  public static final String QUESTION_BANK_MORE_BUTTON = "cf-question-bank-more-button";
 
   public static final String ADD_QUESTION_BUTTON = "cf-add-question-button";
   public static final String REMOVE_QUESTION_BUTTON = "cf-remove-question-button";
@@ -0,0 +1,14 @@
+# --- Persist the normalized question path segment so conflict detection can use an index.
+
+# --- !Ups
+alter table questions add column if not exists question_path_segment varchar;
+update questions set question_path_segment =
+  replace(regexp_replace(name, '[^a-zA-Z ]', '', 'g'), ' ', '_')
+  || case when upper(question_type) in ('ENUMERATOR', 'REPEATER') then '[]' else '' end
+  where question_path_segment is null;
+create index if not exists questions_by_path_segment_and_enumerator
+  on questions (question_path_segment, enumerator_id);
+
+# --- !Downs
+drop index if exists questions_by_path_segment_and_enumerator;
+alter table questions drop column if exists question_path_segment;
@@ -0,0 +1,7 @@
+# --- Index of question IDs by tag, stored on each version.
+
+# --- !Ups
+alter table versions add column if not exists question_ids_by_tag jsonb;
+
+# --- !Downs
+alter table versions drop column if exists question_ids_by_tag;
@@ -0,0 +1,7 @@
+# --- Index program slugs for deep link lookups.
+
+# --- !Ups
+create index if not exists programs_by_slug on programs (slug);
+
+# --- !Downs
+drop index if exists programs_by_slug;
@@ -0,0 +1,11 @@
+# --- Support set-based application submission.
+
+# --- !Ups
+create index if not exists applications_live_by_applicant_and_program
+  on applications (applicant_id, program_id, lifecycle_stage)
+  where lifecycle_stage in ('draft', 'active');
+create index if not exists programs_by_name on programs (name);
+
+# --- !Downs
+drop index if exists programs_by_name;
+drop index if exists applications_live_by_applicant_and_program;
@@ -0,0 +1,16 @@
+# --- Denormalize applicant names onto applications for paginated admin search.
+
+# --- !Ups
+create extension if not exists pg_trgm;
+alter table applications add column if not exists applicant_display_name varchar;
+update applications
+  set applicant_display_name = (object #>> '{applicant,name,last_name}')
+    || ', ' || (object #>> '{applicant,name,first_name}');
+create index if not exists applications_by_program_and_id on applications (program_id, id);
+create index if not exists applications_display_name_trgm
+  on applications using gin (lower(applicant_display_name) gin_trgm_ops);
+
+# --- !Downs
+drop index if exists applications_display_name_trgm;
+drop index if exists applications_by_program_and_id;
+alter table applications drop column if exists applicant_display_name;
@@ -0,0 +1,47 @@
+# --- Materialize applicant names onto accounts for the trusted intermediary dashboard.
+
+# --- !Ups
+alter table accounts add column if not exists applicant_display_name varchar;
+
+-- Matches Account#getApplicantName, which uses the account's newest applicant.
+create or replace function account_applicant_display_name(account bigint) returns varchar as $$
+  select (object #>> '{applicant,name,last_name}') || ', ' || (object #>> '{applicant,name,first_name}')
+  from applicants where account_id = account order by when_created desc limit 1;;
+$$ language sql stable;
+
+create or replace function sync_account_applicant_display_name() returns trigger as $$
+begin
+  if tg_op = 'UPDATE' and old.account_id is distinct from new.account_id and old.account_id is not null then
+    update accounts set applicant_display_name = account_applicant_display_name(old.account_id)
+      where id = old.account_id;;
+  end if;;
+  if new.account_id is not null then
+    update accounts set applicant_display_name = account_applicant_display_name(new.account_id)
+      where id = new.account_id;;
+  end if;;
+  return null;;
+end;;
+$$ language plpgsql;
+
+create trigger applicants_insert_sync_account_name after insert on applicants
+  for each row execute procedure sync_account_applicant_display_name();
+-- Most updates save answers to other questions, so skip them.
+create trigger applicants_update_sync_account_name after update on applicants
+  for each row when (old.object #> '{applicant,name}' is distinct from new.object #> '{applicant,name}'
+    or old.account_id is distinct from new.account_id)
+  execute procedure sync_account_applicant_display_name();
+
+update accounts set applicant_display_name = account_applicant_display_name(id);
+create index if not exists accounts_by_managed_group_and_name
+  on accounts (managed_by_group_id, coalesce(applicant_display_name, ''), id);
+create index if not exists accounts_display_name_trgm
+  on accounts using gin (lower(applicant_display_name) gin_trgm_ops);
+
+# --- !Downs
+drop index if exists accounts_display_name_trgm;
+drop index if exists accounts_by_managed_group_and_name;
+drop trigger if exists applicants_update_sync_account_name on applicants;
+drop trigger if exists applicants_insert_sync_account_name on applicants;
+drop function if exists sync_account_applicant_display_name();
+drop function if exists account_applicant_display_name(bigint);
+alter table accounts drop column if exists applicant_display_name;
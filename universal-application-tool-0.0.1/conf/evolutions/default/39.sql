@@ -0,0 +1,48 @@
+# --- Full-text search over submitted applications.
+
+# --- !Ups
+create extension if not exists btree_gin;
+alter table applications add column if not exists search_vector tsvector;
+
+-- Postgres only ships stemming dictionaries for some of the supported languages. Answers in the
+-- other languages are indexed with the language-agnostic simple configuration only.
+create or replace function application_search_config(locale varchar) returns regconfig as $$
+  select (case
+    when locale is null or locale like 'en%' then 'english'
+    when locale like 'es%' then 'spanish'
+    else 'simple' end)::regconfig;;
+$$ language sql immutable;
+
+-- Names rank highest, then the submitting trusted intermediary's email, then the exact words of
+-- every text answer, then their stems in the applicant's language.
+create or replace function application_search_vector(
+    object jsonb, locale varchar, submitter_email varchar) returns tsvector as $$
+  select setweight(to_tsvector('simple',
+        coalesce(object #>> '{applicant,name,first_name}', '') || ' '
+        || coalesce(object #>> '{applicant,name,last_name}', '')), 'A')
+    || setweight(to_tsvector('simple', coalesce(submitter_email, '')), 'B')
+    || setweight(jsonb_to_tsvector('simple',
+        coalesce(object -> 'applicant', '{}'::jsonb), '["string"]'), 'C')
+    || setweight(jsonb_to_tsvector(application_search_config(locale),
+        coalesce(object -> 'applicant', '{}'::jsonb), '["string"]'), 'D');;
+$$ language sql immutable;
+
+-- Matches words starting with each search term, or sharing a stem with them in a stemmed language.
+create or replace function application_search_query(search text, prefix_query text)
+    returns tsquery as $$
+  select to_tsquery('simple', prefix_query)
+    || websearch_to_tsquery('english', search)
+    || websearch_to_tsquery('spanish', search);;
+$$ language sql immutable;
+
+update applications
+  set search_vector = application_search_vector(object, preferred_locale, submitter_email)
+  where lifecycle_stage <> 'draft';
+create index if not exists applications_search on applications using gin (program_id, search_vector);
+
+# --- !Downs
+drop index if exists applications_search;
+drop function if exists application_search_query(text, text);
+drop function if exists application_search_vector(jsonb, varchar, varchar);
+drop function if exists application_search_config(varchar);
+alter table applications drop column if exists search_vector;
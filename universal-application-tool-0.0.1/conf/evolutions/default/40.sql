@@ -0,0 +1,34 @@
+# --- Per-program application statistics, maintained as applications are drafted and submitted.
+
+# --- !Ups
+create table if not exists program_application_counts (
+  program_id bigint primary key references programs(id) on delete cascade,
+  draft_count integer not null default 0,
+  submitted_count integer not null default 0
+);
+
+-- Submissions per program and day, so recent submissions can be counted without scanning
+-- applications. Only the days still being reported are kept.
+create table if not exists program_daily_submission_counts (
+  program_id bigint not null references programs(id) on delete cascade,
+  day date not null,
+  submitted_count integer not null default 0,
+  primary key (program_id, day)
+);
+
+insert into program_application_counts (program_id, draft_count, submitted_count)
+  select program_id,
+    count(*) filter (where lifecycle_stage = 'draft'),
+    count(*) filter (where lifecycle_stage = 'active')
+  from applications where program_id is not null group by program_id;
+
+insert into program_daily_submission_counts (program_id, day, submitted_count)
+  select program_id, cast(submit_time as date), count(*)
+  from applications
+  where program_id is not null and lifecycle_stage in ('active', 'obsolete')
+    and cast(submit_time as date) > current_date - 7
+  group by program_id, cast(submit_time as date);
+
+# --- !Downs
+drop table if exists program_daily_submission_counts;
+drop table if exists program_application_counts;
@@ -0,0 +1,14 @@
+# --- Server-side sessions, used when session_store is "database".
+
+# --- !Ups
+create table if not exists sessions (
+  id varchar primary key,
+  data bytea not null,
+  last_access timestamp not null default current_timestamp
+);
+
+create index if not exists sessions_by_last_access on sessions (last_access);
+
+# --- !Downs
+drop index if exists sessions_by_last_access;
+drop table if exists sessions;
@@ -0,0 +1,41 @@
+# --- Count changes to programs, questions and versions, so caches of them can tell when they are stale.
+
+# --- !Ups
+create table if not exists program_catalog_generation (
+  id integer primary key check (id = 1),
+  generation bigint not null
+);
+insert into program_catalog_generation (id, generation) values (1, 0) on conflict do nothing;
+
+-- Statement-level, so a bulk change only bumps the generation once.
+create or replace function bump_program_catalog_generation() returns trigger as $$
+begin
+  update program_catalog_generation set generation = generation + 1 where id = 1;;
+  return null;;
+end;;
+$$ language plpgsql;
+
+create trigger programs_bump_catalog_generation
+  after insert or update or delete or truncate on programs
+  for each statement execute procedure bump_program_catalog_generation();
+create trigger questions_bump_catalog_generation
+  after insert or update or delete or truncate on questions
+  for each statement execute procedure bump_program_catalog_generation();
+create trigger versions_bump_catalog_generation
+  after insert or update or delete or truncate on versions
+  for each statement execute procedure bump_program_catalog_generation();
+create trigger versions_programs_bump_catalog_generation
+  after insert or update or delete or truncate on versions_programs
+  for each statement execute procedure bump_program_catalog_generation();
+create trigger versions_questions_bump_catalog_generation
+  after insert or update or delete or truncate on versions_questions
+  for each statement execute procedure bump_program_catalog_generation();
+
+# --- !Downs
+drop trigger if exists versions_questions_bump_catalog_generation on versions_questions;
+drop trigger if exists versions_programs_bump_catalog_generation on versions_programs;
+drop trigger if exists versions_bump_catalog_generation on versions;
+drop trigger if exists questions_bump_catalog_generation on questions;
+drop trigger if exists programs_bump_catalog_generation on programs;
+drop function if exists bump_program_catalog_generation();
+drop table if exists program_catalog_generation;
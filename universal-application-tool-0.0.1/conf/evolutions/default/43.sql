@@ -0,0 +1,7 @@
+# --- Record each session's version, so servers can check a cached session is still current.
+
+# --- !Ups
+alter table sessions add column if not exists version varchar not null default '';
+
+# --- !Downs
+alter table sessions drop column if exists version;
@@ -0,0 +1,15 @@
+# --- Build the question tag index for versions created before it was stored.
+
+# --- !Ups
+update versions v set question_ids_by_tag = coalesce(
+  (select jsonb_object_agg(tagged.tag, tagged.ids) from
+    (select t.tag, jsonb_agg(q.id order by q.name collate "C") as ids
+      from versions_questions vq
+      join questions q on q.id = vq.questions_id
+      cross join unnest(q.question_tags) as t(tag)
+      where vq.versions_id = v.id
+      group by t.tag) tagged),
+  '{}'::jsonb)
+where v.question_ids_by_tag is null;
+
+# --- !Downs
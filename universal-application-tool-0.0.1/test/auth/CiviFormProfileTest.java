@@ -1,5 +1,6 @@
 package auth;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.assertj.core.api.Assertions.fail;
 
@@ -72,4 +73,27 @@ public class CiviFormProfileTest extends WithPostgresContainer {
     assertThatThrownBy(() -> profile.checkAuthorization(1234L).join())
         .hasCauseInstanceOf(SecurityException.class);
   }
+
+  @Test
+  public void requestScopedProfile_reusesIdentityLookups() throws Exception {
+    CiviFormProfileData data = profileFactory.createNewApplicant();
+    CiviFormProfile profile = profileFactory.wrapProfileDataForRequest(data);
+
+    long applicantId = profile.getApplicant().get().id;
+    profile.checkAuthorization(applicantId).join();
+
+    assertThat(profile.getAccount()).isSameAs(profile.getAccount());
+    assertThat(profile.getApplicant()).isSameAs(profile.getApplicant());
+    assertThat(profile.getTrustedIntermediaryGroup())
+        .isSameAs(profile.getTrustedIntermediaryGroup());
+  }
+
+  @Test
+  public void profile_looksUpIdentityOnEveryCall() throws Exception {
+    CiviFormProfileData data = profileFactory.createNewApplicant();
+    CiviFormProfile profile = profileFactory.wrapProfileData(data);
+
+    assertThat(profile.getAccount()).isNotSameAs(profile.getAccount());
+    assertThat(profile.getApplicant()).isNotSameAs(profile.getApplicant());
+  }
 }
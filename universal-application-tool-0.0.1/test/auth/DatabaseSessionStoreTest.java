@@ -0,0 +1,154 @@
+package auth;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static play.test.Helpers.fakeRequest;
+
+import akka.actor.ActorSystem;
+import io.ebean.DB;
+import java.util.Optional;
+import org.junit.Before;
+import org.junit.Test;
+import org.pac4j.play.PlayWebContext;
+import play.Environment;
+import play.inject.ApplicationLifecycle;
+import play.mvc.Http;
+import repository.DatabaseExecutionContext;
+import repository.SessionRepository;
+import repository.WithPostgresContainer;
+
+public class DatabaseSessionStoreTest extends WithPostgresContainer {
+
+  private SessionRepository sessionRepository;
+  private DatabaseSessionStore store;
+
+  @Before
+  public void setUp() {
+    sessionRepository = instanceOf(SessionRepository.class);
+    store = newStore();
+    DB.sqlUpdate("delete from sessions").execute();
+  }
+
+  @Test
+  public void set_thenGetOnAnotherServer_roundTrips() {
+    PlayWebContext context = context(Optional.empty());
+
+    store.set(context, "color", "blue");
+
+    String cookie = cookie(context).get();
+    assertThat(sessionRepository.findAndTouch(sessionId(cookie))).isPresent();
+    // A separate store has nothing cached, so it reads the session from the database.
+    assertThat(newStore().get(context(Optional.of(cookie)), "color")).hasValue("blue");
+    assertThat(store.get(context(Optional.of(cookie)), "color")).hasValue("blue");
+  }
+
+  @Test
+  public void set_existingSession_keepsIdAndChangesVersion() {
+    PlayWebContext first = context(Optional.empty());
+    store.set(first, "color", "blue");
+    String firstCookie = cookie(first).get();
+
+    PlayWebContext second = context(Optional.of(firstCookie));
+    store.set(second, "color", "green");
+    String secondCookie = cookie(second).get();
+
+    assertThat(sessionId(secondCookie)).isEqualTo(sessionId(firstCookie));
+    assertThat(secondCookie).isNotEqualTo(firstCookie);
+    // A server that cached the session under the old cookie does not use it for the new one.
+    assertThat(store.get(context(Optional.of(secondCookie)), "color")).hasValue("green");
+    assertThat(newStore().get(context(Optional.of(secondCookie)), "color")).hasValue("green");
+  }
+
+  @Test
+  public void renewSession_movesSessionToNewIdAndDeletesOldRow() {
+    PlayWebContext first = context(Optional.empty());
+    store.set(first, "color", "blue");
+    String oldCookie = cookie(first).get();
+
+    PlayWebContext second = context(Optional.of(oldCookie));
+    assertThat(store.renewSession(second)).isTrue();
+    String newCookie = cookie(second).get();
+
+    assertThat(sessionId(newCookie)).isNotEqualTo(sessionId(oldCookie));
+    assertThat(sessionRepository.findAndTouch(sessionId(oldCookie))).isEmpty();
+    assertThat(sessionRepository.findAndTouch(sessionId(newCookie))).isPresent();
+    assertThat(newStore().get(context(Optional.of(newCookie)), "color")).hasValue("blue");
+    assertThat(store.get(context(Optional.of(oldCookie)), "color")).isEmpty();
+  }
+
+  @Test
+  public void putSessionValues_null_deletesSessionAndCookie() {
+    PlayWebContext first = context(Optional.empty());
+    store.set(first, "color", "blue");
+    String cookie = cookie(first).get();
+
+    PlayWebContext second = context(Optional.of(cookie));
+    store.putSessionValues(second, null);
+
+    assertThat(cookie(second)).isEmpty();
+    assertThat(sessionRepository.findAndTouch(sessionId(cookie))).isEmpty();
+    assertThat(store.get(context(Optional.of(cookie)), "color")).isEmpty();
+  }
+
+  @Test
+  public void logoutOnAnotherServer_endsCachedSession() {
+    PlayWebContext first = context(Optional.empty());
+    store.set(first, "color", "blue");
+    String cookie = cookie(first).get();
+    // This server has the session cached.
+    assertThat(store.get(context(Optional.of(cookie)), "color")).hasValue("blue");
+
+    newStore().putSessionValues(context(Optional.of(cookie)), null);
+
+    assertThat(store.get(context(Optional.of(cookie)), "color")).isEmpty();
+  }
+
+  @Test
+  public void renewSessionOnAnotherServer_endsCachedSessionForOldCookie() {
+    PlayWebContext first = context(Optional.empty());
+    store.set(first, "color", "blue");
+    String oldCookie = cookie(first).get();
+    assertThat(store.get(context(Optional.of(oldCookie)), "color")).hasValue("blue");
+
+    PlayWebContext second = context(Optional.of(oldCookie));
+    newStore().renewSession(second);
+    String newCookie = cookie(second).get();
+
+    assertThat(store.get(context(Optional.of(oldCookie)), "color")).isEmpty();
+    assertThat(store.get(context(Optional.of(newCookie)), "color")).hasValue("blue");
+  }
+
+  @Test
+  public void changeOnAnotherServer_isSeenWithOldCookie() {
+    PlayWebContext first = context(Optional.empty());
+    store.set(first, "color", "blue");
+    String oldCookie = cookie(first).get();
+    assertThat(store.get(context(Optional.of(oldCookie)), "color")).hasValue("blue");
+
+    newStore().set(context(Optional.of(oldCookie)), "color", "green");
+
+    assertThat(store.get(context(Optional.of(oldCookie)), "color")).hasValue("green");
+  }
+
+  private DatabaseSessionStore newStore() {
+    return new DatabaseSessionStore(
+        sessionRepository,
+        instanceOf(ActorSystem.class),
+        instanceOf(DatabaseExecutionContext.class),
+        instanceOf(Environment.class),
+        instanceOf(ApplicationLifecycle.class));
+  }
+
+  private PlayWebContext context(Optional<String> cookie) {
+    Http.RequestBuilder request = fakeRequest();
+    cookie.ifPresent(c -> request.session(store.getSessionName(), c));
+    return new PlayWebContext(request.build());
+  }
+
+  private Optional<String> cookie(PlayWebContext context) {
+    return context.getNativeSession().get(store.getSessionName());
+  }
+
+  private static String sessionId(String cookie) {
+    return cookie.substring(0, cookie.indexOf('.'));
+  }
+}
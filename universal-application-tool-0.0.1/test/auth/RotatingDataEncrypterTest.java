@@ -0,0 +1,101 @@
+package auth;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.google.common.collect.ImmutableMap;
+import com.typesafe.config.Config;
+import com.typesafe.config.ConfigFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Random;
+import org.junit.Test;
+import org.pac4j.play.store.ShiroAesDataEncrypter;
+
+public class RotatingDataEncrypterTest {
+  private static final String OLD_KEY = Base64.getEncoder().encodeToString(new byte[16]);
+  private static final String NEW_KEY = Base64.getEncoder().encodeToString(new byte[32]);
+  private static final byte[] DATA = "session".getBytes(StandardCharsets.UTF_8);
+
+  @Test
+  public void decrypt_acceptsDataEncryptedWithAnyConfiguredKey() {
+    byte[] encrypted = encrypter("secret", OLD_KEY).encrypt(DATA);
+
+    assertThat(encrypter("secret", NEW_KEY + "," + OLD_KEY).decrypt(encrypted)).isEqualTo(DATA);
+  }
+
+  @Test
+  public void decrypt_removedKey_throws() {
+    byte[] encrypted = encrypter("secret", OLD_KEY).encrypt(DATA);
+
+    assertThatThrownBy(() -> encrypter("secret", NEW_KEY).decrypt(encrypted))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  public void decrypt_acceptsDataEncryptedWithLegacyKey() {
+    byte[] encrypted = encryptWithLegacyKey("secret");
+
+    assertThat(encrypter("secret", "").decrypt(encrypted)).isEqualTo(DATA);
+    assertThat(encrypter("secret", NEW_KEY).decrypt(encrypted)).isEqualTo(DATA);
+  }
+
+  @Test
+  public void decrypt_legacyKeyTurnedOff_throws() {
+    byte[] encrypted = encryptWithLegacyKey("secret");
+
+    assertThatThrownBy(() -> encrypter("secret", NEW_KEY, false).decrypt(encrypted))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> encrypter("secret", "", false).decrypt(encrypted))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThat(encrypter("secret", NEW_KEY, true).decrypt(encrypted)).isEqualTo(DATA);
+  }
+
+  @Test
+  public void fromConfig_withoutKeys_derivesKeyFromSecret() {
+    byte[] encrypted = encrypter("secret", "").encrypt(DATA);
+
+    assertThat(encrypter("secret", "").decrypt(encrypted)).isEqualTo(DATA);
+    assertThatThrownBy(() -> encrypter("other secret", "").decrypt(encrypted))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  public void fromConfig_invalidKeyLength_throws() {
+    String shortKey = Base64.getEncoder().encodeToString(new byte[8]);
+
+    assertThatThrownBy(() -> encrypter("secret", shortKey))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  private static RotatingDataEncrypter encrypter(String secret, String keys) {
+    Config config =
+        ConfigFactory.parseMap(
+            ImmutableMap.of(
+                "play.http.secret.key", secret, RotatingDataEncrypter.KEYS_CONFIG_PATH, keys));
+    return RotatingDataEncrypter.fromConfig(config);
+  }
+
+  private static RotatingDataEncrypter encrypter(
+      String secret, String keys, boolean acceptLegacyKey) {
+    Config config =
+        ConfigFactory.parseMap(
+            ImmutableMap.of(
+                "play.http.secret.key",
+                secret,
+                RotatingDataEncrypter.KEYS_CONFIG_PATH,
+                keys,
+                RotatingDataEncrypter.ACCEPT_LEGACY_KEY_CONFIG_PATH,
+                acceptLegacyKey));
+    return RotatingDataEncrypter.fromConfig(config);
+  }
+
+  /** Encrypts with the key that earlier versions derived from the secret. */
+  private static byte[] encryptWithLegacyKey(String secret) {
+    Random random = new Random();
+    random.setSeed(secret.hashCode());
+    byte[] legacyKey = new byte[32];
+    random.nextBytes(legacyKey);
+    return new ShiroAesDataEncrypter(legacyKey).encrypt(DATA);
+  }
+}
@@ -0,0 +1,87 @@
+package auth;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.junit.Test;
+import org.pac4j.core.util.Pac4jConstants;
+import org.pac4j.play.store.PlayCookieSessionStore;
+
+public class SessionValuesSerializerTest {
+
+  @Test
+  public void serialize_roundTripsProfilesAndStrings() {
+    CiviFormProfileData profile = new CiviFormProfileData(12L);
+    profile.setClientName("GuestClient");
+    profile.addRole(Roles.ROLE_APPLICANT.toString());
+    profile.addAttribute("email", "test@example.com");
+    Map<String, Object> values = sessionWithProfile(profile);
+    values.put("pac4jRequestedUrl", "/programs");
+
+    Map<String, Object> deserialized =
+        SessionValuesSerializer.deserialize(SessionValuesSerializer.serialize(values)).get();
+
+    assertThat(deserialized).containsEntry("pac4jRequestedUrl", "/programs");
+    CiviFormProfileData deserializedProfile =
+        (CiviFormProfileData)
+            ((Map<?, ?>) deserialized.get(Pac4jConstants.USER_PROFILES)).get("GuestClient");
+    assertThat(deserializedProfile.getId()).isEqualTo("12");
+    assertThat(deserializedProfile.getClientName()).isEqualTo("GuestClient");
+    assertThat(deserializedProfile.getRoles()).containsExactly(Roles.ROLE_APPLICANT.toString());
+    assertThat(deserializedProfile.getAttribute("email")).isEqualTo("test@example.com");
+  }
+
+  @Test
+  public void serialize_doesNotUseJavaSerializationForProfiles() {
+    CiviFormProfileData profile = new CiviFormProfileData(12L);
+    profile.setClientName("GuestClient");
+
+    String serialized =
+        new String(
+            SessionValuesSerializer.serialize(sessionWithProfile(profile)), StandardCharsets.UTF_8);
+
+    assertThat(serialized).doesNotContain("\"java\"");
+  }
+
+  @Test
+  public void serialize_roundTripsOtherValues() {
+    Map<String, Object> values = new LinkedHashMap<>();
+    values.put("count", 3);
+
+    assertThat(SessionValuesSerializer.deserialize(SessionValuesSerializer.serialize(values)))
+        .hasValue(values);
+  }
+
+  @Test
+  public void deserialize_readsSessionsSerializedByEarlierVersions() {
+    PlayCookieSessionStore.JAVA_SERIALIZER.addTrustedClass(CiviFormProfileData.class);
+    CiviFormProfileData profile = new CiviFormProfileData(12L);
+    profile.setClientName("GuestClient");
+    byte[] legacy =
+        PlayCookieSessionStore.compressBytes(
+            PlayCookieSessionStore.JAVA_SERIALIZER.serializeToBytes(sessionWithProfile(profile)));
+
+    Map<String, Object> deserialized = SessionValuesSerializer.deserialize(legacy).get();
+
+    CiviFormProfileData deserializedProfile =
+        (CiviFormProfileData)
+            ((Map<?, ?>) deserialized.get(Pac4jConstants.USER_PROFILES)).get("GuestClient");
+    assertThat(deserializedProfile.getId()).isEqualTo("12");
+  }
+
+  @Test
+  public void deserialize_unknownFormat_isEmpty() {
+    assertThat(SessionValuesSerializer.deserialize(new byte[] {42, 1, 2})).isEmpty();
+    assertThat(SessionValuesSerializer.deserialize(new byte[0])).isEmpty();
+  }
+
+  private static Map<String, Object> sessionWithProfile(CiviFormProfileData profile) {
+    LinkedHashMap<String, CiviFormProfileData> profiles = new LinkedHashMap<>();
+    profiles.put(profile.getClientName(), profile);
+    Map<String, Object> values = new LinkedHashMap<>();
+    values.put(Pac4jConstants.USER_PROFILES, profiles);
+    return values;
+  }
+}
@@ -24,4 +24,11 @@ public class HomeControllerTest extends WithApplication {
     assertThat(result.redirectLocation())
         .contains(routes.HomeController.loginForm(Optional.of("login")).url());
   }
+
+  @Test
+  public void testReadiness_readyInTestMode() {
+    Http.RequestBuilder request = fakeRequest(routes.HomeController.readiness());
+    Result result = route(app, request);
+    assertThat(result.status()).isEqualTo(HttpConstants.OK);
+  }
 }
@@ -0,0 +1,33 @@
+package controllers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.Test;
+
+public class HttpCachePolicyTest {
+
+  @Test
+  public void matches_sameTag() {
+    assertThat(HttpCachePolicy.matches("W/\"abc\"", "W/\"abc\"")).isTrue();
+  }
+
+  @Test
+  public void matches_ignoresWeakness() {
+    assertThat(HttpCachePolicy.matches("\"abc\"", "W/\"abc\"")).isTrue();
+  }
+
+  @Test
+  public void matches_anyTagInList() {
+    assertThat(HttpCachePolicy.matches("W/\"xyz\", W/\"abc\"", "W/\"abc\"")).isTrue();
+  }
+
+  @Test
+  public void matches_wildcard() {
+    assertThat(HttpCachePolicy.matches("*", "W/\"abc\"")).isTrue();
+  }
+
+  @Test
+  public void matches_differentTag_isFalse() {
+    assertThat(HttpCachePolicy.matches("W/\"xyz\"", "W/\"abc\"")).isFalse();
+  }
+}
@@ -18,11 +18,14 @@ import org.junit.AfterClass;
 import org.junit.BeforeClass;
 import org.mockito.Mockito;
 import play.Application;
+import play.db.ebean.EbeanConfig;
 import play.inject.Injector;
 import play.inject.guice.GuiceApplicationBuilder;
 import play.mvc.Http;
 import play.test.Helpers;
 import support.ProgramBuilder;
+import support.QueryCounter;
+import support.QueryCountingEbeanConfig;
 import support.ResourceCreator;
 import support.TestConstants;
 import support.TestQuestionBank;
@@ -30,6 +33,7 @@ import support.TestQuestionBank;
 public class WithMockedProfiles {
 
   private static final ProfileUtils MOCK_UTILS = Mockito.mock(ProfileUtils.class);
+  private static final QueryCounter QUERY_COUNTER = new QueryCounter();
 
   private static TestQuestionBank testQuestionBank = new TestQuestionBank(true);
 
@@ -43,7 +47,10 @@ public class WithMockedProfiles {
     app =
         new GuiceApplicationBuilder()
             .configure(TestConstants.TEST_DATABASE_CONFIG)
-            .overrides(bind(ProfileUtils.class).toInstance(MOCK_UTILS))
+            .overrides(
+                bind(ProfileUtils.class).toInstance(MOCK_UTILS),
+                bind(QueryCounter.class).toInstance(QUERY_COUNTER),
+                bind(EbeanConfig.class).toProvider(QueryCountingEbeanConfig.class).eagerly())
             .build();
     injector = app.injector();
     resourceCreator = new ResourceCreator(injector);
@@ -64,6 +71,11 @@ public class WithMockedProfiles {
     return injector.instanceOf(clazz);
   }
 
+  /** Counts the application's SQL statements, see {@link QueryCounter}. */
+  protected QueryCounter queryCounter() {
+    return QUERY_COUNTER;
+  }
+
   protected ResourceCreator resourceCreator() {
     return resourceCreator;
   }
@@ -8,6 +8,7 @@ import static play.mvc.Http.Status.SEE_OTHER;
 import static play.test.Helpers.contentAsString;
 import static play.test.Helpers.fakeRequest;
 
+import akka.stream.Materializer;
 import com.google.common.collect.ImmutableMap;
 import models.Program;
 import models.Question;
@@ -15,7 +16,6 @@ import org.junit.Before;
 import org.junit.Test;
 import play.mvc.Http.Request;
 import play.mvc.Result;
-import play.test.Helpers;
 import repository.WithPostgresContainer;
 import services.program.ProgramDefinition;
 import services.question.QuestionService;
@@ -29,11 +29,13 @@ public class AdminProgramBlocksControllerTest extends WithPostgresContainer {
 
   private AdminProgramBlocksController controller;
   private QuestionService questionService;
+  private Materializer materializer;
 
   @Before
   public void setup() {
     controller = instanceOf(AdminProgramBlocksController.class);
     questionService = instanceOf(QuestionService.class);
+    materializer = instanceOf(Materializer.class);
   }
 
   @Test
@@ -103,7 +105,7 @@ public class AdminProgramBlocksControllerTest extends WithPostgresContainer {
     Result result = controller.edit(request, program.id, 1L);
 
     assertThat(result.status()).isEqualTo(OK);
-    assertThat(Helpers.contentAsString(result))
+    assertThat(contentAsString(result, materializer))
         .contains(appName.getQuestionDefinition().getDescription());
 
     QuestionDefinition questionDefinition =
@@ -116,9 +118,9 @@ public class AdminProgramBlocksControllerTest extends WithPostgresContainer {
     result = controller.edit(request, program.id, 1L);
 
     assertThat(result.status()).isEqualTo(OK);
-    assertThat(Helpers.contentAsString(result))
+    assertThat(contentAsString(result, materializer))
         .doesNotContain(appName.getQuestionDefinition().getDescription());
-    assertThat(Helpers.contentAsString(result)).contains(questionDefinition.getDescription());
+    assertThat(contentAsString(result, materializer)).contains(questionDefinition.getDescription());
   }
 
   @Test
@@ -169,7 +171,7 @@ public class AdminProgramBlocksControllerTest extends WithPostgresContainer {
             addCSRFToken(fakeRequest()).build(),
             program.id(),
             program.getBlockDefinitionByIndex(0).get().id());
-    assertThat(contentAsString(redirectResult)).contains("updated name");
+    assertThat(contentAsString(redirectResult, materializer)).contains("updated name");
   }
 
   @Test
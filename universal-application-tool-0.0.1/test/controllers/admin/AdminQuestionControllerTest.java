@@ -7,6 +7,7 @@ import static play.mvc.Http.Status.OK;
 import static play.mvc.Http.Status.SEE_OTHER;
 import static play.test.Helpers.contentAsString;
 
+import akka.stream.Materializer;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import java.util.Locale;
@@ -31,11 +32,13 @@ import views.html.helper.CSRF;
 public class AdminQuestionControllerTest extends WithPostgresContainer {
   private QuestionRepository questionRepo;
   private AdminQuestionController controller;
+  private Materializer materializer;
 
   @Before
   public void setup() {
     questionRepo = instanceOf(QuestionRepository.class);
     controller = instanceOf(AdminQuestionController.class);
+    materializer = instanceOf(Materializer.class);
   }
 
   @Test
@@ -163,8 +166,8 @@ public class AdminQuestionControllerTest extends WithPostgresContainer {
               assertThat(result.status()).isEqualTo(OK);
               assertThat(result.contentType()).hasValue("text/html");
               assertThat(result.charset()).hasValue("utf-8");
-              assertThat(contentAsString(result)).contains("Total Questions: 2");
-              assertThat(contentAsString(result)).contains("All Questions");
+              assertThat(contentAsString(result, materializer)).contains("Total Questions: 2");
+              assertThat(contentAsString(result, materializer)).contains("All Questions");
             })
         .toCompletableFuture()
         .join();
@@ -180,8 +183,8 @@ public class AdminQuestionControllerTest extends WithPostgresContainer {
               assertThat(result.status()).isEqualTo(OK);
               assertThat(result.contentType()).hasValue("text/html");
               assertThat(result.charset()).hasValue("utf-8");
-              assertThat(contentAsString(result)).contains("Total Questions: 0");
-              assertThat(contentAsString(result)).contains("All Questions");
+              assertThat(contentAsString(result, materializer)).contains("Total Questions: 0");
+              assertThat(contentAsString(result, materializer)).contains("All Questions");
             })
         .toCompletableFuture()
         .join();
@@ -197,7 +200,7 @@ public class AdminQuestionControllerTest extends WithPostgresContainer {
               assertThat(result.status()).isEqualTo(OK);
               assertThat(result.contentType()).hasValue("text/html");
               assertThat(result.charset()).hasValue("utf-8");
-              assertThat(contentAsString(result)).contains("has message");
+              assertThat(contentAsString(result, materializer)).contains("has message");
             })
         .toCompletableFuture()
         .join();
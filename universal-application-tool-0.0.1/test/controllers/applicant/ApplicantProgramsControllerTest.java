@@ -4,6 +4,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static play.api.test.CSRFTokenHelper.addCSRFToken;
 import static play.mvc.Http.Status.BAD_REQUEST;
 import static play.mvc.Http.Status.FOUND;
+import static play.mvc.Http.Status.NOT_MODIFIED;
 import static play.mvc.Http.Status.OK;
 import static play.mvc.Http.Status.UNAUTHORIZED;
 import static play.test.Helpers.contentAsString;
@@ -20,6 +21,7 @@ import org.junit.Test;
 import play.mvc.Http;
 import play.mvc.Http.Request;
 import play.mvc.Result;
+import repository.UserRepository;
 import services.Path;
 import services.applicant.ApplicantData;
 import services.question.types.QuestionDefinition;
@@ -27,6 +29,8 @@ import support.ProgramBuilder;
 import support.QuestionAnswerer;
 
 public class ApplicantProgramsControllerTest extends WithMockedProfiles {
+  /** The most SQL statements that listing an applicant's programs may run. */
+  private static final int INDEX_QUERY_BUDGET = 12;
 
   private Applicant currentApplicant;
   private ApplicantProgramsController controller;
@@ -83,6 +87,19 @@ public class ApplicantProgramsControllerTest extends WithMockedProfiles {
         .contains(routes.ApplicantProgramsController.view(currentApplicant.id, program.id).url());
   }
 
+  @Test
+  public void index_staysWithinQueryBudgetWhateverTheNumberOfPrograms() {
+    resourceCreator().insertActiveProgram("one");
+    int oneProgramQueries = countIndexQueries();
+    for (String name : new String[] {"two", "three", "four", "five"}) {
+      resourceCreator().insertActiveProgram(name);
+    }
+    int fiveProgramQueries = countIndexQueries();
+
+    assertThat(oneProgramQueries).isLessThanOrEqualTo(INDEX_QUERY_BUDGET);
+    assertThat(fiveProgramQueries).isEqualTo(oneProgramQueries);
+  }
+
   @Test
   public void index_usesMessagesForUserPreferredLocale() {
     // Set the PLAY_LANG cookie
@@ -115,6 +132,58 @@ public class ApplicantProgramsControllerTest extends WithMockedProfiles {
     assertThat(contentAsString(result)).contains("English program");
   }
 
+  @Test
+  public void index_withMatchingEntityTag_returnsNotModified() {
+    resourceCreator().insertActiveProgram("one");
+    Request request = addCSRFToken(fakeRequest().session("csrfToken", "token")).build();
+    Result first = controller.index(request, currentApplicant.id).toCompletableFuture().join();
+    assertThat(first.status()).isEqualTo(OK);
+    assertThat(first.headers()).containsKey(Http.HeaderNames.ETAG);
+
+    Request revalidation =
+        addCSRFToken(
+                fakeRequest()
+                    .session("csrfToken", "token")
+                    .header(
+                        Http.HeaderNames.IF_NONE_MATCH, first.headers().get(Http.HeaderNames.ETAG)))
+            .build();
+    Result second =
+        controller.index(revalidation, currentApplicant.id).toCompletableFuture().join();
+
+    assertThat(second.status()).isEqualTo(NOT_MODIFIED);
+    assertThat(second.headers().get(Http.HeaderNames.ETAG))
+        .isEqualTo(first.headers().get(Http.HeaderNames.ETAG));
+  }
+
+  @Test
+  public void index_afterNewProgramIsPublished_rendersPageAgain() {
+    Request request = addCSRFToken(fakeRequest().session("csrfToken", "token")).build();
+    Result first = controller.index(request, currentApplicant.id).toCompletableFuture().join();
+
+    resourceCreator().insertActiveProgram("new program");
+    Request revalidation =
+        addCSRFToken(
+                fakeRequest()
+                    .session("csrfToken", "token")
+                    .header(
+                        Http.HeaderNames.IF_NONE_MATCH, first.headers().get(Http.HeaderNames.ETAG)))
+            .build();
+    Result second =
+        controller.index(revalidation, currentApplicant.id).toCompletableFuture().join();
+
+    assertThat(second.status()).isEqualTo(OK);
+    assertThat(contentAsString(second)).contains("new program");
+  }
+
+  @Test
+  public void index_withoutSessionCsrfToken_hasNoEntityTag() {
+    Request request = addCSRFToken(fakeRequest()).build();
+    Result result = controller.index(request, currentApplicant.id).toCompletableFuture().join();
+
+    assertThat(result.status()).isEqualTo(OK);
+    assertThat(result.headers()).doesNotContainKey(Http.HeaderNames.ETAG);
+  }
+
   @Test
   public void view_includesApplyButton() {
     Program program = resourceCreator().insertActiveProgram("program");
@@ -221,4 +290,19 @@ public class ApplicantProgramsControllerTest extends WithMockedProfiles {
     assertThat(result.redirectLocation())
         .hasValue(routes.ApplicantProgramsController.index(currentApplicant.id).url());
   }
+
+  /**
+   * Returns how many statements listing the applicant's programs runs. Caches shared by all
+   * applicants are warmed first, but the applicant's own programs are looked up again.
+   */
+  private int countIndexQueries() {
+    Request request = addCSRFToken(fakeRequest()).build();
+    controller.index(request, currentApplicant.id).toCompletableFuture().join();
+    instanceOf(UserRepository.class).invalidateAllProgramsForApplicant();
+
+    queryCounter().reset();
+    Result result = controller.index(request, currentApplicant.id).toCompletableFuture().join();
+    assertThat(result.status()).isEqualTo(OK);
+    return queryCounter().count();
+  }
 }
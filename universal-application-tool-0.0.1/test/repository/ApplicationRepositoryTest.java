@@ -2,17 +2,27 @@ package repository;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import com.google.common.collect.ImmutableList;
+import com.google.common.math.Stats;
 import java.time.Instant;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 import models.Applicant;
 import models.Application;
 import models.LifecycleStage;
 import models.Program;
 import org.junit.Before;
 import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import services.Path;
+import services.WellKnownPaths;
 
 public class ApplicationRepositoryTest extends WithPostgresContainer {
+  private static final Logger LOG = LoggerFactory.getLogger(ApplicationRepositoryTest.class);
+
   private ApplicationRepository repo;
 
   @Before
@@ -68,6 +78,148 @@ public class ApplicationRepositoryTest extends WithPostgresContainer {
     assertThat(applicationTwo.getSubmitTime()).isAfter(initialSubmitTime);
   }
 
+  @Test
+  public void submitApplication_copiesAnswersSavedAfterDraft() {
+    Applicant applicant = saveApplicant("Alice");
+    Program program = saveProgram("Program");
+    Application draft = repo.createOrUpdateDraft(applicant, program).toCompletableFuture().join();
+    // Answers saved after the draft was last written, whose draft write was never flushed.
+    applicant.getApplicantData().putString(Path.create("applicant.color"), "blue");
+    applicant.save();
+
+    Application submitted =
+        repo.submitApplication(applicant.id, program.id, Optional.empty())
+            .toCompletableFuture()
+            .join()
+            .get();
+
+    assertThat(submitted.id).isEqualTo(draft.id);
+    assertThat(submitted.getLifecycleStage()).isEqualTo(LifecycleStage.ACTIVE);
+    assertThat(submitted.getApplicantData().readString(Path.create("applicant.color")))
+        .hasValue("blue");
+  }
+
+  @Test
+  public void submitApplication_concurrentSubmissionsBySameApplicant() {
+    int submissionCount = 10;
+    Applicant applicant = saveApplicant("Alice");
+    // Two versions of the same program, which share a name.
+    Program oldVersion = saveProgram("Program");
+    Program newVersion = saveProgram("Program");
+    repo.submitApplication(applicant, oldVersion, Optional.empty()).toCompletableFuture().join();
+    repo.createOrUpdateDraft(applicant, newVersion).toCompletableFuture().join();
+    long earlierSubmissions = repo.getSubmitLockHoldStats().count();
+
+    ImmutableList<CompletableFuture<Application>> submissions =
+        IntStream.range(0, submissionCount)
+            .mapToObj(
+                i ->
+                    repo.submitApplication(applicant, newVersion, Optional.empty())
+                        .toCompletableFuture())
+            .collect(ImmutableList.toImmutableList());
+    submissions.forEach(CompletableFuture::join);
+
+    // Every submission waited for the applicant lock, so each one's hold time adds to the others'
+    // latency.
+    Stats lockHoldMillis = repo.getSubmitLockHoldStats();
+    LOG.info(
+        "{} concurrent submissions by one applicant held its lock for {}ms on average, {}ms at"
+            + " most",
+        submissionCount,
+        lockHoldMillis.mean(),
+        lockHoldMillis.max());
+    assertThat(lockHoldMillis.count()).isEqualTo(earlierSubmissions + submissionCount);
+
+    ImmutableList<Application> applications = repo.getAllApplications();
+    // The earlier submission, the draft, and one new application for each submission but the one
+    // that submitted the draft.
+    assertThat(applications).hasSize(submissionCount + 1);
+    assertThat(applications)
+        .filteredOn(application -> application.getLifecycleStage() == LifecycleStage.ACTIVE)
+        .hasSize(1);
+    assertThat(applications)
+        .filteredOn(application -> application.getLifecycleStage() == LifecycleStage.OBSOLETE)
+        .hasSize(submissionCount);
+  }
+
+  @Test
+  public void getApplications_pagesByKeyset() {
+    Program program = saveProgram("Program");
+    ImmutableList<Long> ids =
+        Stream.of("Alice", "Bob", "Alina", "Carl", "Alfred")
+            .map(firstName -> submit(saveApplicant(firstName, "Doe"), program).id)
+            .collect(ImmutableList.toImmutableList());
+
+    assertThat(repo.countApplications(program.id)).isEqualTo(5);
+    ImmutableList<Application> firstPage = repo.getApplications(program.id, 0, 2);
+    assertThat(firstPage)
+        .extracting(application -> application.id)
+        .containsExactly(ids.get(0), ids.get(1));
+    ImmutableList<Application> secondPage =
+        repo.getApplicationsAfter(program.id, firstPage.get(1).id, 2);
+    assertThat(secondPage)
+        .extracting(application -> application.id)
+        .containsExactly(ids.get(2), ids.get(3));
+    assertThat(repo.getApplicationsBefore(program.id, secondPage.get(0).id, 2))
+        .extracting(application -> application.id)
+        .containsExactly(ids.get(0), ids.get(1));
+  }
+
+  @Test
+  public void searchApplications_matchesNamesByPrefixOrSubstring() {
+    Program program = saveProgram("Program");
+    Stream.of("Alice", "Bob", "Alina", "Carl", "Alfred")
+        .forEach(firstName -> submit(saveApplicant(firstName, "Doe"), program));
+
+    assertThat(repo.countSearchResults(program.id, "AL")).isEqualTo(3);
+    assertThat(repo.searchApplications(program.id, "AL", 0, 10))
+        .extracting(application -> application.getApplicantDisplayName().get())
+        .containsExactly("Doe, Alice", "Doe, Alina", "Doe, Alfred");
+    assertThat(repo.searchApplications(program.id, "AL", 2, 10))
+        .extracting(application -> application.getApplicantDisplayName().get())
+        .containsExactly("Doe, Alfred");
+  }
+
+  @Test
+  public void searchApplications_matchesAnswersAndRanksNamesFirst() {
+    Program program = saveProgram("Program");
+    Applicant livesOnMaple = saveApplicant("Alice", "Doe");
+    livesOnMaple
+        .getApplicantData()
+        .putString(Path.create("applicant.address.street"), "12 Maple Street");
+    livesOnMaple.save();
+    Application answerMatch = submit(livesOnMaple, program);
+    Application nameMatch = submit(saveApplicant("Maple", "Smith"), program);
+    submit(saveApplicant("Bob", "Doe"), program);
+
+    assertThat(repo.searchApplications(program.id, "mapl", 0, 10))
+        .extracting(application -> application.id)
+        .containsExactly(nameMatch.id, answerMatch.id);
+    assertThat(repo.searchApplications(program.id, "streets", 0, 10))
+        .extracting(application -> application.id)
+        .containsExactly(answerMatch.id);
+  }
+
+  @Test
+  public void searchApplications_matchesSubmitterEmail() {
+    Program program = saveProgram("Program");
+    Application application =
+        repo.submitApplication(
+                saveApplicant("Alice", "Doe"), program, Optional.of("ti@example.org"))
+            .toCompletableFuture()
+            .join();
+
+    assertThat(repo.searchApplications(program.id, "ti@example.org", 0, 10))
+        .extracting(found -> found.id)
+        .containsExactly(application.id);
+  }
+
+  private Application submit(Applicant applicant, Program program) {
+    return repo.submitApplication(applicant, program, Optional.empty())
+        .toCompletableFuture()
+        .join();
+  }
+
   private Applicant saveApplicant(String name) {
     Applicant applicant = new Applicant();
     applicant.getApplicantData().putString(Path.create("$.applicant.name"), name);
@@ -75,6 +227,14 @@ public class ApplicationRepositoryTest extends WithPostgresContainer {
     return applicant;
   }
 
+  private Applicant saveApplicant(String firstName, String lastName) {
+    Applicant applicant = new Applicant();
+    applicant.getApplicantData().putString(WellKnownPaths.APPLICANT_FIRST_NAME, firstName);
+    applicant.getApplicantData().putString(WellKnownPaths.APPLICANT_LAST_NAME, lastName);
+    applicant.save();
+    return applicant;
+  }
+
   private Program saveProgram(String name) {
     Program program = new Program(name, "desc", name, "desc", "");
     program.save();
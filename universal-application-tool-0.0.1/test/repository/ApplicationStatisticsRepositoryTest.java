@@ -0,0 +1,102 @@
+package repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Optional;
+import models.Applicant;
+import models.Application;
+import models.LifecycleStage;
+import models.Program;
+import org.junit.Before;
+import org.junit.Test;
+import services.program.ProgramApplicationStatistics;
+
+public class ApplicationStatisticsRepositoryTest extends WithPostgresContainer {
+
+  private ApplicationRepository applicationRepository;
+  private ApplicationStatisticsRepository repo;
+
+  @Before
+  public void setUp() {
+    applicationRepository = instanceOf(ApplicationRepository.class);
+    repo = instanceOf(ApplicationStatisticsRepository.class);
+  }
+
+  @Test
+  public void getStatisticsByProgramName_countsDraftsAndSubmissionsAsTheyHappen() {
+    Program program = saveProgram("Program");
+    Program otherProgram = saveProgram("OtherProgram");
+    Applicant one = saveApplicant();
+    Applicant two = saveApplicant();
+    Applicant three = saveApplicant();
+
+    createOrUpdateDraft(one, program);
+    createOrUpdateDraft(one, program);
+    createOrUpdateDraft(two, program);
+    submit(two, program);
+    submit(three, program);
+    submit(three, program);
+
+    assertThat(repo.getStatisticsByProgramName())
+        .containsEntry("Program", ProgramApplicationStatistics.create(1, 2, 3))
+        .containsEntry("OtherProgram", ProgramApplicationStatistics.empty());
+  }
+
+  @Test
+  public void getStatisticsByProgramName_sumsEveryVersionOfTheProgram() {
+    Program oldVersion = saveProgram("Program");
+    Program newVersion = saveProgram("Program");
+    Applicant applicant = saveApplicant();
+
+    submit(applicant, oldVersion);
+    createOrUpdateDraft(applicant, newVersion);
+
+    assertThat(repo.getStatisticsByProgramName())
+        .containsEntry("Program", ProgramApplicationStatistics.create(1, 1, 1));
+
+    submit(applicant, newVersion);
+
+    assertThat(repo.getStatisticsByProgramName())
+        .containsEntry("Program", ProgramApplicationStatistics.create(0, 1, 2));
+  }
+
+  @Test
+  public void reconcile_correctsApplicationsChangedOutsideTheRepository() {
+    Program program = saveProgram("Program");
+    Applicant one = saveApplicant();
+    Applicant two = saveApplicant();
+    submit(one, program);
+    new Application(two, program, LifecycleStage.DRAFT).save();
+
+    assertThat(repo.getStatisticsByProgramName())
+        .containsEntry("Program", ProgramApplicationStatistics.create(0, 1, 1));
+
+    repo.reconcile();
+
+    assertThat(repo.getStatisticsByProgramName())
+        .containsEntry("Program", ProgramApplicationStatistics.create(1, 1, 1));
+  }
+
+  private void createOrUpdateDraft(Applicant applicant, Program program) {
+    applicationRepository.createOrUpdateDraft(applicant, program).toCompletableFuture().join();
+  }
+
+  private void submit(Applicant applicant, Program program) {
+    applicationRepository
+        .submitApplication(applicant, program, Optional.empty())
+        .toCompletableFuture()
+        .join();
+  }
+
+  private Applicant saveApplicant() {
+    Applicant applicant = new Applicant();
+    applicant.save();
+    return applicant;
+  }
+
+  private Program saveProgram(String name) {
+    Program program = new Program(name, "desc", name, "desc", "");
+    program.save();
+    return program;
+  }
+}
@@ -1,7 +1,9 @@
 package repository;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
+import com.github.slugify.Slugify;
 import io.ebean.DB;
 import java.util.Locale;
 import java.util.Optional;
@@ -89,6 +91,29 @@ public class ProgramRepositoryTest extends WithPostgresContainer {
     assertThat(found.getProgramDefinition().adminDescription()).isEqualTo("Description");
   }
 
+  @Test
+  public void getProgramIdForSlug_withOldSchema_matchesSlugify() {
+    DB.sqlUpdate(
+            "insert into programs (name, description, block_definitions, export_definitions,"
+                + " legacy_localized_name, legacy_localized_description) values ('Café_Program',"
+                + " 'Description', '[]', '[]', '{\"en_us\": \"a\"}', '{\"en_us\": \"b\"}');")
+        .execute();
+    DB.sqlUpdate(
+            "insert into versions_programs (versions_id, programs_id) values ("
+                + "(select id from versions where lifecycle_stage = 'active'),"
+                + "(select id from programs where name = 'Café_Program'));")
+        .execute();
+    long programId =
+        DB.sqlQuery("select id from programs where name = 'Café_Program'").findOne().getLong("id");
+
+    long found =
+        repo.getProgramIdForSlug(new Slugify().slugify("Café_Program"))
+            .toCompletableFuture()
+            .join();
+
+    assertThat(found).isEqualTo(programId);
+  }
+
   @Test
   public void getForSlug_findsCorrectProgram() {
     Program program = resourceCreator.insertActiveProgram("Something With A Name");
@@ -98,6 +123,36 @@ public class ProgramRepositoryTest extends WithPostgresContainer {
     assertThat(found).isEqualTo(program);
   }
 
+  @Test
+  public void getForSlug_notActive_throws() {
+    resourceCreator.insertDraftProgram("Only A Draft");
+
+    assertThatThrownBy(() -> repo.getForSlug("only-a-draft").toCompletableFuture().join())
+        .hasRootCauseInstanceOf(ProgramNotFoundException.class);
+  }
+
+  @Test
+  public void getProgramIdForSlug_findsCorrectProgram() {
+    Program program = resourceCreator.insertActiveProgram("Deep Linked Program");
+
+    long found = repo.getProgramIdForSlug("deep-linked-program").toCompletableFuture().join();
+
+    assertThat(found).isEqualTo(program.id);
+  }
+
+  @Test
+  public void getProgramIdForSlug_resolvesNewVersionAfterPublish() {
+    Program active = resourceCreator.insertActiveProgram("Deep Linked Program");
+    assertThat(repo.getProgramIdForSlug("deep-linked-program").toCompletableFuture().join())
+        .isEqualTo(active.id);
+    Program draft = resourceCreator.insertDraftProgram("Deep Linked Program");
+
+    versionRepo.publishNewSynchronizedVersion();
+
+    assertThat(repo.getProgramIdForSlug("deep-linked-program").toCompletableFuture().join())
+        .isEqualTo(draft.id);
+  }
+
   @Test
   public void insertProgramSync() throws Exception {
     Program program = new Program("ProgramRepository", "desc", "name", "description", "");
@@ -2,11 +2,14 @@ package repository;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import com.google.common.collect.ImmutableList;
 import io.ebean.DB;
 import java.util.Locale;
 import java.util.Optional;
 import java.util.Set;
 import models.Question;
+import models.QuestionTag;
+import models.Version;
 import org.junit.Before;
 import org.junit.Test;
 import services.LocalizedStrings;
@@ -135,6 +138,99 @@ public class QuestionRepositoryTest extends WithPostgresContainer {
     assertThat(maybeConflict).contains(applicantName);
   }
 
+  @Test
+  public void findConflictingQuestion_matchesFullScan() throws Exception {
+    Question applicantAddress = testQuestionBank.applicantAddress();
+    Question applicantHouseholdMembers = testQuestionBank.applicantHouseholdMembers();
+    Question householdMemberName = testQuestionBank.applicantHouseholdMemberName();
+    ImmutableList<QuestionDefinition> candidates =
+        ImmutableList.of(
+            applicantAddress.getQuestionDefinition(),
+            new QuestionDefinitionBuilder(applicantAddress.getQuestionDefinition())
+                .clearId()
+                .setName("applicant address!")
+                .build(),
+            new QuestionDefinitionBuilder(applicantAddress.getQuestionDefinition())
+                .clearId()
+                .setName("applicant_address")
+                .setEnumeratorId(Optional.of(applicantHouseholdMembers.id))
+                .build(),
+            new QuestionDefinitionBuilder(householdMemberName.getQuestionDefinition())
+                .clearId()
+                .setName("household members name!")
+                .build(),
+            new QuestionDefinitionBuilder(householdMemberName.getQuestionDefinition())
+                .clearId()
+                .setName("household members name!")
+                .setEnumeratorId(Optional.empty())
+                .build(),
+            new QuestionDefinitionBuilder(applicantAddress.getQuestionDefinition())
+                .clearId()
+                .setName("a brand new question")
+                .build());
+
+    for (QuestionDefinition candidate : candidates) {
+      assertThat(repo.findConflictingQuestion(candidate))
+          .isEqualTo(repo.findConflictingQuestionByScan(candidate));
+    }
+  }
+
+  @Test
+  public void getAllQuestionsForTag_returnsActiveTaggedQuestionsSortedByName() {
+    VersionRepository versionRepository = instanceOf(VersionRepository.class);
+    Question zebra = resourceCreator.insertQuestion("zebra");
+    zebra.addTag(QuestionTag.DEMOGRAPHIC);
+    zebra.addVersion(versionRepository.getActiveVersion());
+    zebra.save();
+    Question aardvark = resourceCreator.insertQuestion("aardvark");
+    aardvark.addTag(QuestionTag.DEMOGRAPHIC);
+    aardvark.addVersion(versionRepository.getActiveVersion());
+    aardvark.save();
+    Question pii = resourceCreator.insertQuestion("pii");
+    pii.addTag(QuestionTag.DEMOGRAPHIC_PII);
+    pii.addVersion(versionRepository.getActiveVersion());
+    pii.save();
+    Question draftOnly = resourceCreator.insertQuestion("draft only");
+    draftOnly.addTag(QuestionTag.DEMOGRAPHIC);
+    draftOnly.addVersion(versionRepository.getDraftVersion());
+    draftOnly.save();
+
+    assertThat(repo.getAllQuestionsForTag(QuestionTag.DEMOGRAPHIC))
+        .containsExactly(aardvark.getQuestionDefinition(), zebra.getQuestionDefinition());
+    assertThat(repo.getAllQuestionsForTag(QuestionTag.DEMOGRAPHIC_PII))
+        .containsExactly(pii.getQuestionDefinition());
+    assertThat(repo.getAllQuestionsForTag(QuestionTag.NON_DEMOGRAPHIC)).isEmpty();
+  }
+
+  @Test
+  public void getAllQuestionsForTag_followsStoredIndexWithoutWritingIt() {
+    VersionRepository versionRepository = instanceOf(VersionRepository.class);
+    Version active = versionRepository.getActiveVersion();
+    Question zebra = resourceCreator.insertQuestion("zebra");
+    zebra.addTag(QuestionTag.DEMOGRAPHIC);
+    zebra.addVersion(active);
+    zebra.save();
+    Question aardvark = resourceCreator.insertQuestion("aardvark");
+    aardvark.addTag(QuestionTag.DEMOGRAPHIC);
+    aardvark.addVersion(active);
+    aardvark.save();
+
+    assertThat(repo.getAllQuestionsForTag(QuestionTag.DEMOGRAPHIC))
+        .containsExactly(aardvark.getQuestionDefinition(), zebra.getQuestionDefinition());
+    assertThat(versionRepository.getActiveVersion().getQuestionIdsForTag(QuestionTag.DEMOGRAPHIC))
+        .isEmpty();
+
+    versionRepository.refreshQuestionTagIndex(versionRepository.getActiveVersion());
+    // A question tagged after the index was built is not listed until the index is refreshed.
+    Question untracked = resourceCreator.insertQuestion("bee");
+    untracked.addTag(QuestionTag.DEMOGRAPHIC);
+    untracked.addVersion(versionRepository.getActiveVersion());
+    untracked.save();
+
+    assertThat(repo.getAllQuestionsForTag(QuestionTag.DEMOGRAPHIC))
+        .containsExactly(aardvark.getQuestionDefinition(), zebra.getQuestionDefinition());
+  }
+
   @Test
   public void insertQuestion() {
     QuestionDefinition questionDefinition =
@@ -0,0 +1,27 @@
+package repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Optional;
+import org.junit.Test;
+
+public class SearchQueriesTest {
+
+  @Test
+  public void isSearch_blankIsNotASearch() {
+    assertThat(SearchQueries.isSearch(Optional.empty())).isFalse();
+    assertThat(SearchQueries.isSearch(Optional.of("  "))).isFalse();
+    assertThat(SearchQueries.isSearch(Optional.of("a"))).isTrue();
+  }
+
+  @Test
+  public void containsPattern_escapesWildcards() {
+    assertThat(SearchQueries.containsPattern("Ab%_\\")).isEqualTo("%ab\\%\\_\\\\%");
+  }
+
+  @Test
+  public void prefixTsQuery_quotesEachTerm() {
+    assertThat(SearchQueries.prefixTsQuery("  maple  o'neil\\ "))
+        .isEqualTo("'maple':* & 'o''neil':*");
+  }
+}
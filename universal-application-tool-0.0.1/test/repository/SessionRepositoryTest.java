@@ -0,0 +1,92 @@
+package repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.ebean.DB;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import org.junit.Before;
+import org.junit.Test;
+
+public class SessionRepositoryTest extends WithPostgresContainer {
+  private static final byte[] DATA = "session".getBytes(StandardCharsets.UTF_8);
+  private static final byte[] OTHER_DATA = "other session".getBytes(StandardCharsets.UTF_8);
+
+  private SessionRepository repo;
+
+  @Before
+  public void setUp() {
+    repo = instanceOf(SessionRepository.class);
+    DB.sqlUpdate("delete from sessions").execute();
+  }
+
+  @Test
+  public void save_thenFindAndTouch_returnsData() {
+    repo.save("id", "v1", DATA);
+
+    assertThat(repo.findAndTouch("id")).hasValue(DATA);
+    assertThat(repo.findAndTouch("unknown")).isEmpty();
+  }
+
+  @Test
+  public void save_existingSession_replacesData() {
+    repo.save("id", "v1", DATA);
+
+    repo.save("id", "v2", OTHER_DATA);
+
+    assertThat(repo.findAndTouch("id")).hasValue(OTHER_DATA);
+    assertThat(repo.findVersion("id")).hasValue("v2");
+  }
+
+  @Test
+  public void findVersion_returnsSavedVersionOrEmpty() {
+    repo.save("id", "v1", DATA);
+
+    assertThat(repo.findVersion("id")).hasValue("v1");
+    assertThat(repo.findVersion("unknown")).isEmpty();
+
+    repo.delete("id");
+
+    assertThat(repo.findVersion("id")).isEmpty();
+  }
+
+  @Test
+  public void delete_removesSession() {
+    repo.save("id", "v1", DATA);
+    repo.save("other", "v1", OTHER_DATA);
+
+    repo.delete("id");
+
+    assertThat(repo.findAndTouch("id")).isEmpty();
+    assertThat(repo.findAndTouch("other")).hasValue(OTHER_DATA);
+  }
+
+  @Test
+  public void deleteIdleSince_deletesOnlyIdleSessions() {
+    repo.save("idle", "v1", DATA);
+    repo.save("active", "v1", OTHER_DATA);
+    DB.sqlUpdate(
+            "update sessions set last_access = current_timestamp - interval '2 days'"
+                + " where id = 'idle'")
+        .execute();
+
+    int deleted = repo.deleteIdleSince(Instant.now().minus(Duration.ofDays(1)));
+
+    assertThat(deleted).isEqualTo(1);
+    assertThat(repo.findAndTouch("idle")).isEmpty();
+    assertThat(repo.findAndTouch("active")).hasValue(OTHER_DATA);
+  }
+
+  @Test
+  public void findAndTouch_keepsSessionFromBeingIdle() {
+    repo.save("id", "v1", DATA);
+    DB.sqlUpdate("update sessions set last_access = current_timestamp - interval '2 days'")
+        .execute();
+
+    repo.findAndTouch("id");
+
+    assertThat(repo.deleteIdleSince(Instant.now().minus(Duration.ofDays(1)))).isEqualTo(0);
+    assertThat(repo.findAndTouch("id")).hasValue(DATA);
+  }
+}
@@ -2,13 +2,20 @@ package repository;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import forms.AddApplicantToTrustedIntermediaryGroupForm;
 import java.util.Optional;
 import java.util.Set;
 import models.Account;
 import models.Applicant;
+import models.LifecycleStage;
+import models.Program;
+import models.TrustedIntermediaryGroup;
 import org.junit.Before;
 import org.junit.Test;
 import services.Path;
+import services.applicant.ApplicantData;
 import services.program.ProgramDefinition;
 import support.ProgramBuilder;
 
@@ -101,6 +108,57 @@ public class UserRepositoryTest extends WithPostgresContainer {
     assertThat(found).hasValue(two);
   }
 
+  @Test
+  public void accountExists_missingAccount_returnsFalse() {
+    assertThat(repo.accountExists(Long.MAX_VALUE)).isFalse();
+  }
+
+  @Test
+  public void accountExists_cachesExistingAccountUntilInvalidated() {
+    Account account = new Account();
+    account.save();
+    assertThat(repo.accountExists(account.id)).isTrue();
+
+    account.delete();
+    assertThat(repo.accountExists(account.id)).isTrue();
+
+    repo.invalidateAllAccountExists();
+    assertThat(repo.accountExists(account.id)).isFalse();
+  }
+
+  @Test
+  public void getManagedAccounts_sortsPagesAndSearchesByApplicantName() throws Exception {
+    TrustedIntermediaryGroup group = repo.createNewTrustedIntermediaryGroup("group", "desc");
+    for (String firstName : ImmutableList.of("Carl", "Alice", "Bob", "Alina")) {
+      AddApplicantToTrustedIntermediaryGroupForm form =
+          new AddApplicantToTrustedIntermediaryGroupForm();
+      form.setFirstName(firstName);
+      form.setLastName("Doe");
+      repo.createNewApplicantForTrustedIntermediaryGroup(form, group);
+    }
+
+    assertThat(repo.countManagedAccounts(group.id, Optional.empty())).isEqualTo(4);
+    ImmutableList<Account> firstPage = repo.getManagedAccounts(group.id, Optional.empty(), 0, 2);
+    assertThat(firstPage)
+        .extracting(account -> account.getApplicantDisplayName().get())
+        .containsExactly("Doe, Alice", "Doe, Alina");
+    ImmutableList<Account> secondPage =
+        repo.getManagedAccountsAfter(
+            group.id, Optional.empty(), Optional.of(firstPage.get(1).id), 2);
+    assertThat(secondPage)
+        .extracting(account -> account.getApplicantDisplayName().get())
+        .containsExactly("Doe, Bob", "Doe, Carl");
+    assertThat(repo.getManagedAccountsBefore(group.id, Optional.empty(), secondPage.get(0).id, 2))
+        .extracting(account -> account.id)
+        .containsExactly(firstPage.get(0).id, firstPage.get(1).id);
+
+    assertThat(repo.countManagedAccounts(group.id, Optional.of("AL"))).isEqualTo(2);
+    assertThat(repo.getManagedAccountsAfter(group.id, Optional.of("al"), Optional.empty(), 10))
+        .extracting(account -> account.getApplicantDisplayName().get())
+        .containsExactly("Doe, Alice", "Doe, Alina");
+    assertThat(repo.countManagedAccounts(group.id, Optional.of("%"))).isEqualTo(0);
+  }
+
   @Test
   public void addAdministeredProgram_existingAccount_succeeds() {
     String email = "email@email.com";
@@ -175,6 +233,78 @@ public class UserRepositoryTest extends WithPostgresContainer {
         .doesNotContain(programName);
   }
 
+  @Test
+  public void updateApplicant_writesOnlyChangedAnswers() {
+    Applicant applicant = saveApplicant("Alice");
+    Applicant stale = repo.lookupApplicantSync(applicant.id).get();
+    // Another request saves an answer the stale copy doesn't know about.
+    applicant.getApplicantData().putString(Path.create("applicant.color"), "blue");
+    repo.updateApplicant(applicant).toCompletableFuture().join();
+
+    stale.getApplicantData().putString(Path.create("applicant.name"), "Bob");
+    stale.getApplicantData().putString(Path.create("applicant.children[0].name"), "Carol");
+    repo.updateApplicant(stale).toCompletableFuture().join();
+
+    ApplicantData found = repo.lookupApplicantSync(applicant.id).get().getApplicantData();
+    assertThat(found.readString(Path.create("applicant.name"))).hasValue("Bob");
+    assertThat(found.readString(Path.create("applicant.color"))).hasValue("blue");
+    assertThat(found.readString(Path.create("applicant.children[0].name"))).hasValue("Carol");
+    assertThat(stale.getApplicantData().getChangedPaths()).isEmpty();
+  }
+
+  @Test
+  public void programsForApplicant_reflectsNewDraftAndSubmission() {
+    Applicant applicant = saveApplicant("Alice");
+    Program program = ProgramBuilder.newActiveProgram("program").build();
+    ApplicationRepository applicationRepository = instanceOf(ApplicationRepository.class);
+
+    ImmutableMap<LifecycleStage, ImmutableList<ProgramDefinition>> before =
+        repo.programsForApplicant(applicant.id).toCompletableFuture().join();
+    applicationRepository.createOrUpdateDraft(applicant, program).toCompletableFuture().join();
+    ImmutableMap<LifecycleStage, ImmutableList<ProgramDefinition>> withDraft =
+        repo.programsForApplicant(applicant.id).toCompletableFuture().join();
+    applicationRepository
+        .submitApplication(applicant, program, Optional.empty())
+        .toCompletableFuture()
+        .join();
+    ImmutableMap<LifecycleStage, ImmutableList<ProgramDefinition>> afterSubmit =
+        repo.programsForApplicant(applicant.id).toCompletableFuture().join();
+
+    assertThat(before.get(LifecycleStage.DRAFT)).isEmpty();
+    assertThat(before.get(LifecycleStage.ACTIVE).stream().map(ProgramDefinition::id))
+        .containsExactly(program.id);
+    assertThat(withDraft.get(LifecycleStage.DRAFT).stream().map(ProgramDefinition::id))
+        .containsExactly(program.id);
+    assertThat(afterSubmit.get(LifecycleStage.DRAFT)).isEmpty();
+  }
+
+  @Test
+  public void programsForApplicant_invalidatedDuringLookup_doesNotCacheStaleResult() {
+    Applicant applicant = saveApplicant("Alice");
+    Program program = ProgramBuilder.newActiveProgram("program").build();
+    long generation = repo.getProgramsForApplicantGeneration();
+    ImmutableMap<LifecycleStage, ImmutableList<ProgramDefinition>> stale =
+        repo.programsForApplicant(applicant.id).toCompletableFuture().join();
+
+    // The draft is created, and the cache invalidated, before the earlier lookup is cached.
+    instanceOf(ApplicationRepository.class)
+        .createOrUpdateDraft(applicant, program)
+        .toCompletableFuture()
+        .join();
+    repo.cacheProgramsForApplicant(applicant.id, generation, stale);
+
+    assertThat(stale.get(LifecycleStage.DRAFT)).isEmpty();
+    assertThat(
+            repo
+                .programsForApplicant(applicant.id)
+                .toCompletableFuture()
+                .join()
+                .get(LifecycleStage.DRAFT)
+                .stream()
+                .map(ProgramDefinition::id))
+        .containsExactly(program.id);
+  }
+
   private Applicant saveApplicant(String name) {
     Applicant applicant = new Applicant();
     applicant.getApplicantData().putString(Path.create("$.applicant.name"), name);
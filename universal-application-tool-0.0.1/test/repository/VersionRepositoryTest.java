@@ -2,12 +2,14 @@ package repository;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 import io.ebean.DB;
 import io.ebean.Transaction;
 import models.LifecycleStage;
 import models.Program;
 import models.Question;
+import models.QuestionTag;
 import models.Version;
 import org.junit.Before;
 import org.junit.Test;
@@ -47,6 +49,21 @@ public class VersionRepositoryTest extends WithPostgresContainer {
     assertThat(oldDraft.getLifecycleStage()).isEqualTo(LifecycleStage.ACTIVE);
   }
 
+  @Test
+  public void testPublish_buildsQuestionTagIndex() {
+    Question tagged = resourceCreator.insertQuestion("tagged");
+    tagged.addTag(QuestionTag.DEMOGRAPHIC);
+    tagged.addVersion(versionRepository.getActiveVersion());
+    tagged.save();
+    resourceCreator.insertDraftProgram("foo");
+
+    this.versionRepository.publishNewSynchronizedVersion();
+
+    assertThat(
+            this.versionRepository.getActiveVersion().getQuestionIdsForTag(QuestionTag.DEMOGRAPHIC))
+        .hasValue(ImmutableList.of(tagged.id));
+  }
+
   @Test
   public void testSetLive() {
     resourceCreator.insertActiveProgram("foo");
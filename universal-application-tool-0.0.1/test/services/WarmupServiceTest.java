@@ -0,0 +1,75 @@
+package services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static play.mvc.Http.Status.OK;
+import static play.mvc.Http.Status.SERVICE_UNAVAILABLE;
+
+import auth.ProfileUtils;
+import controllers.HomeController;
+import org.junit.Before;
+import org.junit.Test;
+import play.Environment;
+import play.Mode;
+import play.i18n.Langs;
+import play.i18n.MessagesApi;
+import play.inject.ApplicationLifecycle;
+import play.libs.concurrent.HttpExecutionContext;
+import repository.DatabaseExecutionContext;
+import repository.WithPostgresContainer;
+import services.program.ProgramService;
+import services.question.QuestionService;
+import support.ProgramBuilder;
+import views.LoginForm;
+
+public class WarmupServiceTest extends WithPostgresContainer {
+
+  private WarmupService warmupService;
+
+  @Before
+  public void setUp() {
+    // Outside of test mode warm-up runs on the execution context, which does nothing here, so that
+    // the test decides when it runs.
+    warmupService =
+        new WarmupService(
+            mock(ApplicationLifecycle.class),
+            new Environment(Mode.PROD),
+            mock(DatabaseExecutionContext.class),
+            instanceOf(ProgramService.class),
+            instanceOf(QuestionService.class),
+            instanceOf(MessagesApi.class),
+            instanceOf(Langs.class));
+  }
+
+  @Test
+  public void warmup_reportsReadyOnceFinished() {
+    ProgramBuilder.newActiveProgram("program")
+        .withBlock()
+        .withRequiredQuestion(testQuestionBank.applicantName())
+        .build();
+    HomeController homeController =
+        new HomeController(
+            instanceOf(LoginForm.class),
+            instanceOf(ProfileUtils.class),
+            instanceOf(MessagesApi.class),
+            instanceOf(HttpExecutionContext.class),
+            warmupService);
+
+    assertThat(warmupService.isReady()).isFalse();
+    assertThat(homeController.readiness().status()).isEqualTo(SERVICE_UNAVAILABLE);
+
+    warmupService.warmup();
+
+    assertThat(warmupService.isReady()).isTrue();
+    assertThat(homeController.readiness().status()).isEqualTo(OK);
+  }
+
+  @Test
+  public void warmup_withoutPrograms_reportsReady() {
+    assertThat(warmupService.isReady()).isFalse();
+
+    warmupService.warmup();
+
+    assertThat(warmupService.isReady()).isTrue();
+  }
+}
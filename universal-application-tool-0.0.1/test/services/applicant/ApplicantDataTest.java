@@ -578,4 +578,50 @@ public class ApplicantDataTest {
     assertThat(data.evalPredicate(JsonPathPredicate.create("$.applicant[?(@.one in [\"other\"])]")))
         .isFalse();
   }
+
+  @Test
+  public void getChangedPaths_recordsOutermostNewPath() {
+    ApplicantData data = new ApplicantData("{\"applicant\":{\"name\":{\"first\":\"Alice\"}}}");
+
+    data.putString(Path.create("applicant.name.last"), "Smith");
+    data.putString(Path.create("applicant.address.street"), "123 Main St");
+    data.putString(Path.create("applicant.address.city"), "Seattle");
+
+    assertThat(data.getChangedPaths())
+        .containsExactly(Path.create("applicant.name.last"), Path.create("applicant.address"));
+  }
+
+  @Test
+  public void getChangedPaths_newArrayElementWidensToArray() {
+    ApplicantData data = new ApplicantData();
+    data.putRepeatedEntities(Path.create("applicant.children[]"), ImmutableList.of("a"));
+    data.clearChangedPaths();
+
+    data.putString(Path.create("applicant.children[0].name.first"), "Alice");
+    assertThat(data.getChangedPaths()).containsExactly(Path.create("applicant.children[0].name"));
+
+    data.putRepeatedEntities(Path.create("applicant.children[]"), ImmutableList.of("a", "b"));
+    assertThat(data.getChangedPaths()).containsExactly(Path.create("applicant.children"));
+  }
+
+  @Test
+  public void getChangedPaths_collapsesNestedChanges() {
+    ApplicantData data = new ApplicantData();
+    data.putString(Path.create("applicant.children[0].name"), "Alice");
+    data.putString(Path.create("applicant.children[1].name"), "Bob");
+    data.maybeDelete(Path.create("applicant.children[1].name"));
+
+    assertThat(data.getChangedPaths()).containsExactly(Path.create("applicant.children"));
+  }
+
+  @Test
+  public void getChangedPaths_recordsDeletes() {
+    ApplicantData data = new ApplicantData("{\"applicant\":{\"color\":{\"text\":\"blue\"}}}");
+
+    data.maybeDelete(Path.create("applicant.color.text"));
+
+    assertThat(data.getChangedPaths()).containsExactly(Path.create("applicant.color.text"));
+    assertThat(data.readJsonString(Path.create("applicant.color.text"))).isEmpty();
+    assertThat(data.readJsonString(Path.create("applicant.color"))).hasValue("{}");
+  }
 }
@@ -0,0 +1,150 @@
+package services.applicant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.ebean.Ebean;
+import io.ebean.EbeanServer;
+import java.util.Optional;
+import models.Applicant;
+import models.Application;
+import models.LifecycleStage;
+import models.Program;
+import org.junit.Before;
+import org.junit.Test;
+import play.db.ebean.EbeanConfig;
+import repository.WithPostgresContainer;
+import services.Path;
+import support.ProgramBuilder;
+
+public class DraftSnapshotServiceTest extends WithPostgresContainer {
+
+  private DraftSnapshotService subject;
+  private EbeanServer ebeanServer;
+
+  @Before
+  public void setUp() {
+    subject = instanceOf(DraftSnapshotService.class);
+    ebeanServer = Ebean.getServer(instanceOf(EbeanConfig.class).defaultServer());
+  }
+
+  @Test
+  public void recordSave_firstSave_createsDraftWithoutFlush() {
+    Applicant applicant = resourceCreator.insertApplicant();
+    applicant.getApplicantData().putString(Path.create("applicant.color"), "blue");
+    applicant.save();
+    Program program = ProgramBuilder.newActiveProgram().build();
+
+    subject.recordSave(applicant.id, program.id).toCompletableFuture().join();
+
+    Optional<Application> draft = findDraft(applicant, program);
+    assertThat(draft).isPresent();
+    assertThat(draft.get().getApplicantData().readString(Path.create("applicant.color")))
+        .hasValue("blue");
+  }
+
+  @Test
+  public void recordSave_laterSave_defersDraftUpdateUntilFlush() {
+    Applicant applicant = resourceCreator.insertApplicant();
+    Program program = ProgramBuilder.newActiveProgram().build();
+    subject.recordSave(applicant.id, program.id).toCompletableFuture().join();
+
+    applicant.getApplicantData().putString(Path.create("applicant.color"), "green");
+    applicant.save();
+    subject.recordSave(applicant.id, program.id).toCompletableFuture().join();
+
+    assertThat(
+            findDraft(applicant, program)
+                .get()
+                .getApplicantData()
+                .readString(Path.create("applicant.color")))
+        .isEmpty();
+    subject.flush(applicant.id).toCompletableFuture().join();
+    assertThat(
+            findDraft(applicant, program)
+                .get()
+                .getApplicantData()
+                .readString(Path.create("applicant.color")))
+        .hasValue("green");
+  }
+
+  @Test
+  public void flush_createsDraftWithPersistedAnswers() {
+    Applicant applicant = resourceCreator.insertApplicant();
+    applicant.getApplicantData().putString(Path.create("applicant.color"), "blue");
+    applicant.save();
+    Program program = ProgramBuilder.newActiveProgram().build();
+
+    subject.markDirty(applicant.id, program.id);
+    assertThat(findDraft(applicant, program)).isEmpty();
+    subject.flush(applicant.id).toCompletableFuture().join();
+
+    Optional<Application> draft = findDraft(applicant, program);
+    assertThat(draft).isPresent();
+    assertThat(draft.get().getApplicantData().readString(Path.create("applicant.color")))
+        .hasValue("blue");
+  }
+
+  @Test
+  public void flush_coalescesSavesIntoExistingDraft() {
+    Applicant applicant = resourceCreator.insertApplicant();
+    Program program = ProgramBuilder.newActiveProgram().build();
+    subject.markDirty(applicant.id, program.id);
+    subject.flush(applicant.id).toCompletableFuture().join();
+
+    applicant.getApplicantData().putString(Path.create("applicant.color"), "blue");
+    applicant.save();
+    subject.markDirty(applicant.id, program.id);
+    applicant.getApplicantData().putString(Path.create("applicant.color"), "green");
+    applicant.save();
+    subject.markDirty(applicant.id, program.id);
+    subject.flush(applicant.id).toCompletableFuture().join();
+
+    assertThat(
+            ebeanServer
+                .find(Application.class)
+                .where()
+                .eq("applicant.id", applicant.id)
+                .eq("lifecycle_stage", LifecycleStage.DRAFT)
+                .findCount())
+        .isEqualTo(1);
+    assertThat(
+            findDraft(applicant, program)
+                .get()
+                .getApplicantData()
+                .readString(Path.create("applicant.color")))
+        .hasValue("green");
+  }
+
+  @Test
+  public void flushAll_failedDraft_doesNotHoldBackOthersAndIsDropped() {
+    Applicant applicant = resourceCreator.insertApplicant();
+    Applicant otherApplicant = resourceCreator.insertApplicant();
+    Program program = ProgramBuilder.newActiveProgram().build();
+    subject.markDirty(applicant.id, program.id);
+    // The program does not exist, so this draft cannot be written.
+    subject.markDirty(otherApplicant.id, program.id + 1000);
+
+    subject.flushAll();
+
+    assertThat(findDraft(applicant, program)).isPresent();
+    // The failed draft was dropped rather than marked dirty again.
+    subject.flush(otherApplicant.id).toCompletableFuture().join();
+  }
+
+  @Test
+  public void flush_nothingDirty_completes() {
+    Applicant applicant = resourceCreator.insertApplicant();
+
+    subject.flush(applicant.id).toCompletableFuture().join();
+  }
+
+  private Optional<Application> findDraft(Applicant applicant, Program program) {
+    return ebeanServer
+        .find(Application.class)
+        .where()
+        .eq("applicant.id", applicant.id)
+        .eq("program.id", program.id)
+        .eq("lifecycle_stage", LifecycleStage.DRAFT)
+        .findOneOrEmpty();
+  }
+}
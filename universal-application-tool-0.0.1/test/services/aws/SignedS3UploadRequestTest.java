@@ -0,0 +1,92 @@
+package services.aws;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import org.junit.Test;
+import software.amazon.awssdk.utils.BinaryUtils;
+
+public class SignedS3UploadRequestTest {
+
+  @Test
+  public void getSigningKey_matchesAwsExample() {
+    // The example from the AWS Signature Version 4 documentation.
+    byte[] signingKey =
+        SignedS3UploadRequest.getSigningKey(
+            "AKIDEXAMPLE",
+            "wJalrXUtnFEMI/K7MDENG+bPxRfiCYEXAMPLEKEY",
+            "20120215",
+            "us-east-1",
+            "iam");
+
+    assertThat(BinaryUtils.toHex(signingKey))
+        .isEqualTo("f4780e2d9f65fa895f9c67b32ce1baf0b0d8a43505a000a1a9e090d414db404d");
+  }
+
+  @Test
+  public void build_signsPolicyWithTodaysSigningKey() throws Exception {
+    SignedS3UploadRequest request = newRequest();
+    // Build a second request so that the signing key is read from the cache.
+    SignedS3UploadRequest cachedKeyRequest = newRequest();
+
+    byte[] signingKey = hmac("AWS4secret", request.dateStamp());
+    for (String scope : new String[] {"us-west-2", "s3", "aws4_request"}) {
+      signingKey = hmac(signingKey, scope);
+    }
+    assertThat(request.signature())
+        .isEqualTo(BinaryUtils.toHex(hmac(signingKey, request.policy())));
+    assertThat(cachedKeyRequest.signature())
+        .isEqualTo(BinaryUtils.toHex(hmac(signingKey, cachedKeyRequest.policy())));
+  }
+
+  @Test
+  public void build_differentAccessKey_differentSignature() {
+    SignedS3UploadRequest first = newRequest();
+    SignedS3UploadRequest second =
+        newRequestBuilder().setAccessKey("other-access-key").setSecretKey("other-secret").build();
+
+    assertThat(second.signature()).isNotEqualTo(first.signature());
+  }
+
+  @Test
+  public void getSigningKey_sameAccessKeyWithDifferentSecret_derivesNewKey() {
+    byte[] first =
+        SignedS3UploadRequest.getSigningKey("local", "secret", "20120215", "us-west-2", "s3");
+    byte[] second =
+        SignedS3UploadRequest.getSigningKey("local", "other-secret", "20120215", "us-west-2", "s3");
+
+    assertThat(second).isNotEqualTo(first);
+    assertThat(
+            SignedS3UploadRequest.getSigningKey("local", "secret", "20120215", "us-west-2", "s3"))
+        .isEqualTo(first);
+  }
+
+  private static byte[] hmac(String key, String data) throws Exception {
+    return hmac(key.getBytes(StandardCharsets.UTF_8), data);
+  }
+
+  private static byte[] hmac(byte[] key, String data) throws Exception {
+    Mac mac = Mac.getInstance("HmacSHA256");
+    mac.init(new SecretKeySpec(key, "HmacSHA256"));
+    return mac.doFinal(data.getBytes(StandardCharsets.UTF_8));
+  }
+
+  private static SignedS3UploadRequest newRequest() {
+    return newRequestBuilder().build();
+  }
+
+  private static SignedS3UploadRequest.Builder newRequestBuilder() {
+    return SignedS3UploadRequest.builder()
+        .setActionLink("https://s3.example.com/bucket")
+        .setKey("applicant-1/program-2/block-3/${filename}")
+        .setSuccessActionRedirect("https://civiform.example.com/uploaded")
+        .setAccessKey("access-key")
+        .setSecretKey("secret")
+        .setExpirationDuration(Duration.ZERO)
+        .setBucket("bucket")
+        .setRegionName("us-west-2");
+  }
+}
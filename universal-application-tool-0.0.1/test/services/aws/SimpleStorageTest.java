@@ -0,0 +1,247 @@
+package services.aws;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+import akka.actor.ActorSystem;
+import com.google.common.cache.CacheStats;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.typesafe.config.Config;
+import com.typesafe.config.ConfigFactory;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import play.Environment;
+import play.inject.ApplicationLifecycle;
+
+public class SimpleStorageTest {
+  private static final String KEY = "applicant-1/program-2/block-3/${filename}";
+  private static final String REDIRECT = "http://localhost:9000/uploaded";
+  private static final String OTHER_APPLICANT_KEY = "applicant-2/program-2/block-3/id.pdf";
+
+  @Rule public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private Path directory;
+  private SimpleStorage storage;
+
+  @Before
+  public void setUp() throws Exception {
+    directory = temporaryFolder.newFolder("files").toPath();
+    Config config =
+        ConfigFactory.parseMap(
+            ImmutableMap.<String, Object>builder()
+                .put(SimpleStorage.STORAGE_BACKEND_CONF_PATH, SimpleStorage.LOCAL_STORAGE_BACKEND)
+                .put(SimpleStorage.LOCAL_STORAGE_DIRECTORY_CONF_PATH, directory.toString())
+                .put(SimpleStorage.AWS_S3_BUCKET_CONF_PATH, "local-bucket")
+                .put(AwsRegion.AWS_REGION_CONF_PATH, "us-west-2")
+                .put("base_url", "http://localhost:9000")
+                .put("play.http.secret.key", "test-secret")
+                .build());
+    storage =
+        new SimpleStorage(
+            new AwsRegion(config),
+            new Credentials(),
+            config,
+            Environment.simple(),
+            mock(ApplicationLifecycle.class),
+            mock(ActorSystem.class));
+  }
+
+  @Test
+  public void storeLocalUpload_storesFileAndRedirectsWithKey() throws Exception {
+    Map<String, String> fields = formFields(storage.getSignedUploadRequest(KEY, REDIRECT));
+
+    String redirect = storage.storeLocalUpload(fields, "id.pdf", uploadedFile("contents"));
+
+    String storedKey = "applicant-1/program-2/block-3/id.pdf";
+    assertThat(redirect)
+        .isEqualTo(
+            REDIRECT + "?bucket=local-bucket&key=applicant-1%2Fprogram-2%2Fblock-3%2Fid.pdf");
+    assertThat(storage.getLocalFile(storedKey)).isPresent();
+    assertThat(Files.readString(storage.getLocalFile(storedKey).get())).isEqualTo("contents");
+  }
+
+  @Test
+  public void storeLocalUpload_fieldChangedAfterSigning_isRejected() throws Exception {
+    Map<String, String> fields = formFields(storage.getSignedUploadRequest(KEY, REDIRECT));
+    fields.put("success_action_redirect", "https://example.com");
+
+    assertThatThrownBy(() -> storage.storeLocalUpload(fields, "id.pdf", uploadedFile("contents")))
+        .isInstanceOf(InvalidUploadException.class)
+        .hasMessageContaining("success_action_redirect");
+  }
+
+  @Test
+  public void storeLocalUpload_wrongSignature_isRejected() throws Exception {
+    Map<String, String> fields = formFields(storage.getSignedUploadRequest(KEY, REDIRECT));
+    fields.put("X-Amz-Signature", "0".repeat(64));
+
+    assertThatThrownBy(() -> storage.storeLocalUpload(fields, "id.pdf", uploadedFile("contents")))
+        .isInstanceOf(InvalidUploadException.class)
+        .hasMessageContaining("signature");
+  }
+
+  @Test
+  public void storeLocalUpload_filenameOutsideDirectory_isRejected() throws Exception {
+    Map<String, String> fields = formFields(storage.getSignedUploadRequest(KEY, REDIRECT));
+
+    assertThatThrownBy(
+            () ->
+                storage.storeLocalUpload(
+                    fields, "../../../../escaped.pdf", uploadedFile("contents")))
+        .isInstanceOf(InvalidUploadException.class);
+    assertThat(Files.exists(directory.resolveSibling("escaped.pdf"))).isFalse();
+  }
+
+  @Test
+  public void storeLocalUpload_keyLeadingToAnotherApplicant_isRejected() throws Exception {
+    storeOtherApplicantsFile();
+    Map<String, String> fields = formFields(storage.getSignedUploadRequest(KEY, REDIRECT));
+    // The policy only checks the key's prefix, so the form can add to the key after it.
+    fields.put("key", "applicant-1/program-2/block-3/../../../" + OTHER_APPLICANT_KEY);
+
+    assertThatThrownBy(() -> storage.storeLocalUpload(fields, "id.pdf", uploadedFile("replaced")))
+        .isInstanceOf(InvalidUploadException.class);
+    assertThat(Files.readString(storage.getLocalFile(OTHER_APPLICANT_KEY).get()))
+        .isEqualTo("other applicant's file");
+  }
+
+  @Test
+  public void storeLocalUpload_filenameLeadingToAnotherApplicant_isRejected() throws Exception {
+    storeOtherApplicantsFile();
+    Map<String, String> fields = formFields(storage.getSignedUploadRequest(KEY, REDIRECT));
+
+    assertThatThrownBy(
+            () ->
+                storage.storeLocalUpload(
+                    fields, "../../../" + OTHER_APPLICANT_KEY, uploadedFile("replaced")))
+        .isInstanceOf(InvalidUploadException.class);
+    assertThatThrownBy(
+            () -> storage.storeLocalUpload(fields, "..\\id.pdf", uploadedFile("replaced")))
+        .isInstanceOf(InvalidUploadException.class);
+    assertThat(Files.readString(storage.getLocalFile(OTHER_APPLICANT_KEY).get()))
+        .isEqualTo("other applicant's file");
+  }
+
+  @Test
+  public void getLocalFile_keyLeadingToAnotherApplicant_isEmpty() throws Exception {
+    storeOtherApplicantsFile();
+    String key = "applicant-1/program-2/block-3/../../../" + OTHER_APPLICANT_KEY;
+
+    assertThat(storage.getLocalFile(key)).isEmpty();
+    assertThat(storage.getLocalFile("applicant-1/program-2//../" + OTHER_APPLICANT_KEY)).isEmpty();
+    assertThat(storage.getLocalFile("./" + OTHER_APPLICANT_KEY)).isEmpty();
+    Map<String, String> query = queryParameters(storage.getPresignedUrl(key));
+    assertThat(
+            storage.getSignedLocalFile(
+                key, Long.parseLong(query.get("expires")), query.get("signature")))
+        .isEmpty();
+  }
+
+  @Test
+  public void getPresignedUrl_linksToLocalFile() throws Exception {
+    storage.storeLocalUpload(
+        formFields(storage.getSignedUploadRequest(KEY, REDIRECT)),
+        "id.pdf",
+        uploadedFile("contents"));
+    String storedKey = "applicant-1/program-2/block-3/id.pdf";
+
+    URL url = storage.getPresignedUrl(storedKey);
+
+    Map<String, String> query = queryParameters(url);
+    assertThat(url.toString()).startsWith("http://localhost:9000/");
+    assertThat(query.get("key")).isEqualTo(storedKey);
+    long expires = Long.parseLong(query.get("expires"));
+    assertThat(storage.getSignedLocalFile(storedKey, expires, query.get("signature"))).isPresent();
+    assertThat(storage.getSignedLocalFile(storedKey, expires + 1, query.get("signature")))
+        .isEmpty();
+    assertThat(storage.getSignedLocalFile(storedKey, 0, query.get("signature"))).isEmpty();
+  }
+
+  @Test
+  public void getPresignedUrl_withinCacheWindow_reusesUrl() {
+    String key = "applicant-1/program-2/block-3/id.pdf";
+
+    URL first = storage.getPresignedUrl(key);
+    URL second = storage.getPresignedUrl(key);
+
+    assertThat(second).isSameAs(first);
+    assertThat(storage.getPresignedUrl(OTHER_APPLICANT_KEY)).isNotEqualTo(first);
+  }
+
+  @Test
+  public void getPresignedUrls_returnsUrlForEveryKey() throws Exception {
+    String cachedKey = "applicant-1/program-2/block-3/id.pdf";
+    String uncachedKey = "applicant-1/program-2/block-4/license.pdf";
+    URL cachedUrl = storage.getPresignedUrl(cachedKey);
+
+    ImmutableMap<String, URL> urls =
+        storage.getPresignedUrls(ImmutableList.of(cachedKey, uncachedKey, OTHER_APPLICANT_KEY));
+
+    assertThat(urls.keySet()).containsExactly(cachedKey, uncachedKey, OTHER_APPLICANT_KEY);
+    assertThat(urls.get(cachedKey)).isSameAs(cachedUrl);
+    assertThat(queryParameters(urls.get(uncachedKey)).get("key")).isEqualTo(uncachedKey);
+    assertThat(queryParameters(urls.get(OTHER_APPLICANT_KEY)).get("key"))
+        .isEqualTo(OTHER_APPLICANT_KEY);
+  }
+
+  @Test
+  public void getPresignedUrlCacheStats_recordsHitsAndMisses() {
+    String key = "applicant-1/program-2/block-3/id.pdf";
+
+    storage.getPresignedUrl(key);
+    storage.getPresignedUrl(key);
+    storage.getPresignedUrls(ImmutableList.of(key, OTHER_APPLICANT_KEY));
+
+    CacheStats stats = storage.getPresignedUrlCacheStats();
+    assertThat(stats.hitCount()).isEqualTo(2);
+    assertThat(stats.missCount()).isEqualTo(2);
+  }
+
+  private void storeOtherApplicantsFile() throws Exception {
+    storage.storeLocalUpload(
+        formFields(
+            storage.getSignedUploadRequest("applicant-2/program-2/block-3/${filename}", REDIRECT)),
+        "id.pdf",
+        uploadedFile("other applicant's file"));
+  }
+
+  /** Returns the fields that the upload form would send, besides the file. */
+  private static Map<String, String> formFields(SignedS3UploadRequest request) {
+    Map<String, String> fields = new HashMap<>();
+    fields.put("key", request.key());
+    fields.put("success_action_redirect", request.successActionRedirect());
+    fields.put("X-Amz-Credential", request.credential());
+    fields.put("X-Amz-Algorithm", request.algorithm());
+    fields.put("X-Amz-Date", request.date());
+    fields.put("Policy", request.policy());
+    fields.put("X-Amz-Signature", request.signature());
+    return fields;
+  }
+
+  private Path uploadedFile(String contents) throws Exception {
+    Path file = temporaryFolder.newFile().toPath();
+    Files.writeString(file, contents);
+    return file;
+  }
+
+  private static Map<String, String> queryParameters(URL url) throws Exception {
+    Map<String, String> parameters = new HashMap<>();
+    for (String parameter : new URI(url.toString()).getRawQuery().split("&")) {
+      String[] nameAndValue = parameter.split("=", 2);
+      parameters.put(nameAndValue[0], URLDecoder.decode(nameAndValue[1], StandardCharsets.UTF_8));
+    }
+    return parameters;
+  }
+}
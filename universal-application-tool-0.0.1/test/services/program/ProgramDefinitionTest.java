@@ -4,6 +4,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
+import com.google.common.collect.ImmutableList;
 import java.util.Locale;
 import java.util.Optional;
 import models.Question;
@@ -433,6 +434,42 @@ public class ProgramDefinitionTest extends WithPostgresContainer {
     assertThat(result.getBlockDefinitionByIndex(3).get().isRepeated()).isFalse();
   }
 
+  @Test
+  public void orderBlockDefinitions_placesNestedRepeatedBlocksAfterTheirEnumerators() {
+    ProgramDefinition programDefinition =
+        ProgramBuilder.newActiveProgram()
+            .withBlock()
+            .withRequiredQuestion(testQuestionBank.applicantHouseholdMembers())
+            .withRepeatedBlock()
+            .withRequiredQuestion(testQuestionBank.applicantHouseholdMemberJobs())
+            .withBlock()
+            .withRequiredQuestion(testQuestionBank.applicantFavoriteColor())
+            .build()
+            .getProgramDefinition();
+    BlockDefinition nestedRepeatedBlock =
+        BlockDefinition.builder()
+            .setName("nested repeated screen")
+            .setDescription("nested repeated screen")
+            .setId(4L)
+            .setEnumeratorId(Optional.of(2L))
+            .build();
+    ProgramDefinition unordered =
+        programDefinition.toBuilder()
+            .setBlockDefinitions(
+                ImmutableList.<BlockDefinition>builder()
+                    .add(nestedRepeatedBlock)
+                    .addAll(programDefinition.blockDefinitions().reverse())
+                    .build())
+            .build();
+
+    ProgramDefinition ordered = unordered.orderBlockDefinitions();
+
+    assertThat(unordered.hasOrderedBlockDefinitions()).isFalse();
+    assertThat(ordered.hasOrderedBlockDefinitions()).isTrue();
+    assertThat(ordered.blockDefinitions().stream().map(BlockDefinition::id))
+        .containsExactly(1L, 2L, 4L, 3L);
+  }
+
   @Test
   public void moveBlock_up() throws Exception {
     ProgramDefinition programDefinition =
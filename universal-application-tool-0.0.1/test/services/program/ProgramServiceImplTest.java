@@ -90,6 +90,26 @@ public class ProgramServiceImplTest extends WithPostgresContainer {
     assertThat(found).isInstanceOf(NameQuestionDefinition.class);
   }
 
+  @Test
+  public void getActiveAndDraftPrograms_isSharedUntilProgramsChange() throws Exception {
+    ProgramDefinition program =
+        ProgramBuilder.newDraftProgram("program", "description").buildDefinition();
+    ActiveAndDraftPrograms programs = ps.getActiveAndDraftPrograms();
+
+    assertThat(ps.getActiveAndDraftPrograms()).isSameAs(programs);
+
+    ps.updateProgramDefinition(
+        program.id(), Locale.US, "new description", "name", "description", "");
+
+    assertThat(ps.getActiveAndDraftPrograms()).isNotSameAs(programs);
+    assertThat(
+            ps.getActiveAndDraftPrograms()
+                .getDraftProgramDefinition("program")
+                .get()
+                .adminDescription())
+        .isEqualTo("new description");
+  }
+
   @Test
   public void createProgram_setsId() {
     assertThat(ps.getActiveAndDraftPrograms().getActiveSize()).isEqualTo(0);
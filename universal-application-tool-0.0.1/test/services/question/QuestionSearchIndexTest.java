@@ -0,0 +1,80 @@
+package services.question;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.google.common.collect.ImmutableList;
+import java.util.Locale;
+import java.util.Optional;
+import org.junit.Before;
+import org.junit.Test;
+import repository.WithPostgresContainer;
+import services.LocalizedStrings;
+import services.PaginationInfo;
+import services.question.types.QuestionDefinition;
+import services.question.types.TextQuestionDefinition;
+
+public class QuestionSearchIndexTest extends WithPostgresContainer {
+
+  private QuestionSearchIndex questionSearchIndex;
+
+  @Before
+  public void setUp() {
+    questionSearchIndex = instanceOf(QuestionSearchIndex.class);
+    testQuestionBank.applicantAddress();
+    testQuestionBank.applicantFavoriteColor();
+    testQuestionBank.applicantName();
+  }
+
+  @Test
+  public void search_emptyQuery_returnsEveryQuestionByName() {
+    assertThat(names(questionSearchIndex.search("", question -> true, 10, 1)))
+        .containsExactly("applicant address", "applicant favorite color", "applicant name");
+  }
+
+  @Test
+  public void search_matchesEveryWordIgnoringCase() {
+    assertThat(names(questionSearchIndex.search("APPLICANT  color", question -> true, 10, 1)))
+        .containsExactly("applicant favorite color");
+  }
+
+  @Test
+  public void search_matchesQuestionTextAndType() {
+    assertThat(names(questionSearchIndex.search("your address", question -> true, 10, 1)))
+        .containsExactly("applicant address");
+    assertThat(names(questionSearchIndex.search("text", question -> true, 10, 1)))
+        .contains("applicant favorite color");
+  }
+
+  @Test
+  public void search_appliesFilterAndPaginates() {
+    PaginationInfo<QuestionDefinition> results =
+        questionSearchIndex.search(
+            "applicant", question -> !question.getName().contains("name"), 1, 2);
+
+    assertThat(names(results)).containsExactly("applicant favorite color");
+    assertThat(results.getPageCount()).isEqualTo(2);
+  }
+
+  @Test
+  public void search_findsQuestionsCreatedAfterTheIndexWasBuilt() {
+    questionSearchIndex.search("", question -> true, 10, 1);
+
+    instanceOf(QuestionService.class)
+        .create(
+            new TextQuestionDefinition(
+                "new question",
+                Optional.empty(),
+                "description",
+                LocalizedStrings.of(Locale.US, "Sobre la pregunta?"),
+                LocalizedStrings.empty()));
+
+    assertThat(names(questionSearchIndex.search("pregunta", question -> true, 10, 1)))
+        .containsExactly("new question");
+  }
+
+  private static ImmutableList<String> names(PaginationInfo<QuestionDefinition> results) {
+    return results.getPageItems().stream()
+        .map(QuestionDefinition::getName)
+        .collect(ImmutableList.toImmutableList());
+  }
+}
@@ -0,0 +1,81 @@
+package support;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.sql.DataSource;
+
+/**
+ * Counts the SQL statements run through a wrapped {@link DataSource}, including those Ebean runs
+ * for lazy loading, so that tests can hold a request to a query budget.
+ *
+ * <p>The count is for the whole application, so a test scopes it to a request by calling {@link
+ * #reset} before the request and {@link #count} once it has finished. Tests run one request at a
+ * time and background jobs do not run in test mode, so nothing else adds to the count.
+ */
+public final class QueryCounter {
+  private final AtomicInteger count = new AtomicInteger();
+
+  /** Returns the number of statements run since the last {@link #reset}. */
+  public int count() {
+    return count.get();
+  }
+
+  public void reset() {
+    count.set(0);
+  }
+
+  /** Returns a data source whose connections count the statements they run. */
+  public DataSource wrap(DataSource dataSource) {
+    return proxy(
+        DataSource.class,
+        dataSource,
+        (method, result) ->
+            method.getName().equals("getConnection")
+                ? proxy(Connection.class, (Connection) result, this::wrapStatement)
+                : result);
+  }
+
+  private Object wrapStatement(Method method, Object result) {
+    switch (method.getName()) {
+      case "createStatement":
+        return proxy(Statement.class, (Statement) result, this::countExecutions);
+      case "prepareStatement":
+        return proxy(PreparedStatement.class, (PreparedStatement) result, this::countExecutions);
+      case "prepareCall":
+        return proxy(CallableStatement.class, (CallableStatement) result, this::countExecutions);
+      default:
+        return result;
+    }
+  }
+
+  private Object countExecutions(Method method, Object result) {
+    if (method.getName().startsWith("execute")) {
+      count.incrementAndGet();
+    }
+    return result;
+  }
+
+  /** What a proxy returns for a call to the object it wraps, given what that object returned. */
+  private interface ResultWrapper {
+    Object wrap(Method method, Object result);
+  }
+
+  private static <T> T proxy(Class<T> type, T delegate, ResultWrapper wrapper) {
+    InvocationHandler handler =
+        (proxy, method, args) -> {
+          try {
+            return wrapper.wrap(method, method.invoke(delegate, args));
+          } catch (InvocationTargetException e) {
+            throw e.getCause();
+          }
+        };
+    return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, handler));
+  }
+}
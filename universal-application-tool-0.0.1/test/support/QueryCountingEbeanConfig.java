@@ -0,0 +1,36 @@
+package support;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import javax.inject.Inject;
+import javax.inject.Provider;
+import play.db.ebean.DefaultEbeanConfig;
+import play.db.ebean.EbeanConfig;
+
+/**
+ * Provides the usual Ebean configuration, with each server's data source wrapped by a {@link
+ * QueryCounter}. Bind it in place of play-ebean's own provider to count an application's queries.
+ */
+public final class QueryCountingEbeanConfig implements Provider<EbeanConfig> {
+  private final DefaultEbeanConfig.EbeanConfigParser parser;
+  private final QueryCounter queryCounter;
+
+  @Inject
+  public QueryCountingEbeanConfig(
+      DefaultEbeanConfig.EbeanConfigParser parser, QueryCounter queryCounter) {
+    this.parser = checkNotNull(parser);
+    this.queryCounter = checkNotNull(queryCounter);
+  }
+
+  @Override
+  public EbeanConfig get() {
+    EbeanConfig config = parser.get();
+    config
+        .serverConfigs()
+        .values()
+        .forEach(
+            serverConfig ->
+                serverConfig.setDataSource(queryCounter.wrap(serverConfig.getDataSource())));
+    return config;
+  }
+}
@@ -0,0 +1,54 @@
+package views;
+
+import static j2html.TagCreator.div;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Before;
+import org.junit.Test;
+import repository.WithPostgresContainer;
+
+public class FragmentCacheTest extends WithPostgresContainer {
+
+  private FragmentCache fragmentCache;
+  private AtomicInteger renderCount;
+
+  @Before
+  public void setUp() {
+    fragmentCache = instanceOf(FragmentCache.class);
+    fragmentCache.invalidateAll();
+    renderCount = new AtomicInteger();
+  }
+
+  @Test
+  public void get_rendersFragmentOncePerLocale() {
+    assertThat(get("fragment", Locale.US)).isEqualTo("<div>1</div>");
+    assertThat(get("fragment", Locale.US)).isEqualTo("<div>1</div>");
+    assertThat(get("fragment", Locale.forLanguageTag("es-US"))).isEqualTo("<div>2</div>");
+    assertThat(get("other-fragment", Locale.US)).isEqualTo("<div>3</div>");
+    assertThat(renderCount.get()).isEqualTo(3);
+  }
+
+  @Test
+  public void get_doesNotEscapeRenderedHtmlAgain() {
+    String rendered = fragmentCache.get("fragment", Locale.US, () -> div("<script>")).render();
+
+    assertThat(rendered).isEqualTo("<div>&lt;script&gt;</div>");
+  }
+
+  @Test
+  public void invalidateAll_rendersFragmentsAgain() {
+    get("fragment", Locale.US);
+
+    fragmentCache.invalidateAll();
+
+    assertThat(get("fragment", Locale.US)).isEqualTo("<div>2</div>");
+  }
+
+  private String get(String fragment, Locale locale) {
+    return fragmentCache
+        .get(fragment, locale, () -> div(String.valueOf(renderCount.incrementAndGet())))
+        .render();
+  }
+}
@@ -3,11 +3,30 @@ package views;
 import static j2html.TagCreator.div;
 import static org.assertj.core.api.Assertions.assertThat;
 
+import akka.actor.ActorSystem;
+import akka.stream.Materializer;
+import akka.stream.javadsl.Sink;
+import akka.util.ByteString;
+import java.util.List;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
 import org.junit.Test;
 import play.twirl.api.Content;
 
 public class HtmlBundleTest {
 
+  private static ActorSystem actorSystem;
+
+  @BeforeClass
+  public static void createActorSystem() {
+    actorSystem = ActorSystem.create();
+  }
+
+  @AfterClass
+  public static void terminateActorSystem() {
+    actorSystem.terminate();
+  }
+
   @Test
   public void testSetTitle() {
     HtmlBundle bundle = new HtmlBundle();
@@ -38,4 +57,38 @@ public class HtmlBundleTest {
     Content content = bundle.render();
     assertThat(content.body()).contains("<main><div>One</div><div>Two</div></main>");
   }
+
+  @Test
+  public void chunks_matchBody() {
+    HtmlBundle bundle = new HtmlBundle().setTitle("My title");
+    bundle.addBodyStyles("body-style");
+    bundle.addMainContent(div("One"), div("Two"));
+    ChunkedContent content = bundle.render();
+
+    String streamed =
+        content
+            .chunks()
+            .runFold(ByteString.emptyByteString(), ByteString::concat, materializer())
+            .toCompletableFuture()
+            .join()
+            .utf8String();
+
+    assertThat(streamed).isEqualTo(content.body());
+  }
+
+  @Test
+  public void chunks_sendHeadFirst() {
+    HtmlBundle bundle = new HtmlBundle().setTitle("My title");
+    bundle.addMainContent(div("One"));
+
+    List<ByteString> chunks =
+        bundle.render().chunks().runWith(Sink.seq(), materializer()).toCompletableFuture().join();
+
+    assertThat(chunks.get(0).utf8String()).contains("<title>My title</title>").endsWith("<body>");
+    assertThat(chunks).extracting(ByteString::utf8String).contains("<div>One</div>");
+  }
+
+  private static Materializer materializer() {
+    return Materializer.matFromSystem(actorSystem);
+  }
 }